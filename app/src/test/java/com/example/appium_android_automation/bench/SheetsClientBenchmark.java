@@ -0,0 +1,45 @@
+package com.example.appium_android_automation.bench;
+
+import com.example.appium_android_automation.reporting.GoogleSheetsClient;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.services.sheets.v4.Sheets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Google Sheets 클라이언트 생성 비용 - TC마다 생성(기존) vs 공유 클라이언트 재사용
+ * - newTransport: 전송 계층(신뢰 인증서 저장소 로드)만, 인증 키 파일 없이 측정 가능
+ * - createService / shared: 인증 키 파일 필요 (app/src/test/resources/credentials)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SheetsClientBenchmark {
+
+    @Benchmark
+    public NetHttpTransport newTransport() throws Exception {
+        return GoogleSheetsClient.newTransport();
+    }
+
+    @Benchmark
+    public Sheets createService() throws Exception {
+        return GoogleSheetsClient.createSheetsService();
+    }
+
+    @Benchmark
+    public Sheets shared() throws Exception {
+        return GoogleSheetsClient.shared();
+    }
+}
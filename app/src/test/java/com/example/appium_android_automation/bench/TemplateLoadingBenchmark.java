@@ -0,0 +1,75 @@
+package com.example.appium_android_automation.bench;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.marker.GrayImage;
+import com.example.appium_android_automation.marker.TemplateRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 템플릿 로딩 비용 - ImageAssert가 AppiumBy.image()에 넘기는 Base64 / 로컬 매칭용 흑백 템플릿
+ * - cold*: 캐시 없이 매번 리소스 읽기 + 인코딩/디코딩 (TemplateRegistry 도입 전 방식)
+ * - registry*: TemplateRegistry 캐시 조회 (현재 방식)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateLoadingBenchmark {
+
+    @Param({AppiumConfig.DOWNLOAD_COMPLETE_BUTTON_RESOURCE, AppiumConfig.LOGOUT_CONFIRM_BUTTON_RESOURCE})
+    public String resource;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        bytes = readResource(resource);
+        TemplateRegistry.gray(resource);  // 캐시 예열
+    }
+
+    @Benchmark
+    public String coldBase64() throws IOException {
+        return Base64.getEncoder().encodeToString(readResource(resource));
+    }
+
+    @Benchmark
+    public String registryBase64() {
+        return TemplateRegistry.base64(resource);
+    }
+
+    @Benchmark
+    public GrayImage coldGray() {
+        return GrayImage.decode(bytes);
+    }
+
+    @Benchmark
+    public GrayImage registryGray() {
+        return TemplateRegistry.gray(resource);
+    }
+
+    private static byte[] readResource(String resourcePath) throws IOException {
+        try (InputStream in = TemplateLoadingBenchmark.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new IllegalStateException("리소스 없음: " + resourcePath);
+            }
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.appium_android_automation.bench;
+
+import com.example.appium_android_automation.marker.GrayImage;
+import com.example.appium_android_automation.marker.ImageMatch;
+import com.example.appium_android_automation.marker.TemplateMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 템플릿 매칭(ZNCC) 비용 - build/reports/evidence 에 저장된 실제 스크린샷 기준
+ * - 증거 스크린샷이 없으면 같은 크기의 잡음 화면으로 대체 (최악 조건)
+ * - 템플릿: 화면 우하단(버튼 위치)에서 잘라낸 영역 → 항상 찾을 수 있는 입력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateMatchBenchmark {
+
+    private static final Path EVIDENCE_DIR = Path.of("build", "reports", "evidence");
+    private static final int MAX_SCREENS = 5;
+
+    private byte[][] pngs;
+    private GrayImage[] screens;
+    private GrayImage[] templates;
+    private GrayImage[] regions;   // 선언 영역(우하단 1/4) 잘라낸 화면
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Path> files = evidenceScreenshots();
+        int n = files.isEmpty() ? 1 : files.size();
+        pngs = new byte[n][];
+        screens = new GrayImage[n];
+        templates = new GrayImage[n];
+        regions = new GrayImage[n];
+        for (int i = 0; i < n; i++) {
+            if (files.isEmpty()) {
+                screens[i] = noiseScreen(1560, 720);
+            } else {
+                pngs[i] = Files.readAllBytes(files.get(i));
+                screens[i] = GrayImage.decode(pngs[i]);
+            }
+            int w = screens[i].getWidth();
+            int h = screens[i].getHeight();
+            templates[i] = screens[i].crop(w * 5 / 8, h * 5 / 8, w / 8, h / 8);
+            regions[i] = screens[i].crop(w / 2, h / 2, w - w / 2, h - h / 2);
+        }
+        System.out.println("[Bench] 매칭 입력: " + (files.isEmpty() ? "잡음 화면 1장" : "증거 스크린샷 " + n + "장"));
+    }
+
+    @Benchmark
+    public ImageMatch fullScreen() {
+        int i = nextIndex();
+        return TemplateMatcher.bestMatch(screens[i], templates[i]);
+    }
+
+    @Benchmark
+    public ImageMatch declaredRegion() {
+        int i = nextIndex();
+        return TemplateMatcher.bestMatch(regions[i], templates[i]);
+    }
+
+    // 스크린샷 PNG 디코딩 (폴링 1회당 고정 비용)
+    @Benchmark
+    public GrayImage decodeScreenshot() {
+        int i = nextIndex();
+        return pngs[i] != null ? GrayImage.decode(pngs[i]) : screens[i];
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % screens.length;
+        return next;
+    }
+
+    // 증거 폴더(디바이스 하위 폴더, 중복 제거 blobs 포함)의 PNG, 최대 MAX_SCREENS장
+    private static List<Path> evidenceScreenshots() throws IOException {
+        if (!Files.isDirectory(EVIDENCE_DIR)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(EVIDENCE_DIR)) {
+            return files.filter(p -> p.toString().endsWith(".png"))
+                    .filter(p -> !p.toString().contains("flight"))
+                    .sorted()
+                    .limit(MAX_SCREENS)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static GrayImage noiseScreen(int w, int h) {
+        Random random = new Random(42);
+        float[] px = new float[w * h];
+        for (int i = 0; i < px.length; i++) {
+            px[i] = random.nextInt(256);
+        }
+        return new GrayImage(w, h, px);
+    }
+}
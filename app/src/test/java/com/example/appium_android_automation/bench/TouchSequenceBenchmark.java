@@ -0,0 +1,105 @@
+package com.example.appium_android_automation.bench;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.infra.GestureBatch;
+import com.example.appium_android_automation.infra.GestureTemplate;
+import com.example.appium_android_automation.infra.TouchActionHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * W3C 터치 시퀀스 생성 비용 - TouchActionHelper.tap / dragAndDrop 이 perform 전에 만드는 객체
+ * - *Encoded: perform 직전 JSON 직렬화 입력(Map)까지 포함
+ * - tapBatch3: 탭 3회를 시퀀스 1개로 (perform 1회), template*: 고정 시퀀스 재사용
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TouchSequenceBenchmark {
+
+    private int x = 100;
+
+    // perform 시 드라이버가 하는 직렬화만 수행 (전송 없음)
+    private static final class EncodingSink implements Interactive {
+        Map<String, Object> last;
+
+        @Override
+        public void perform(Collection<Sequence> actions) {
+            for (Sequence sequence : actions) {
+                last = sequence.encode();
+            }
+        }
+
+        @Override
+        public void resetInputState() {
+        }
+    }
+
+    private final EncodingSink sink = new EncodingSink();
+
+    private final GestureTemplate template = GestureBatch.create()
+            .tap(500, 360).pause(300).tap(900, 360).pause(300).tap(1300, 360)
+            .template();
+
+    @Benchmark
+    public Sequence tap() {
+        return TouchActionHelper.tapSequence(nextX(), 360);
+    }
+
+    @Benchmark
+    public Map<String, Object> tapEncoded() {
+        return TouchActionHelper.tapSequence(nextX(), 360).encode();
+    }
+
+    @Benchmark
+    public Sequence drag() {
+        int startX = nextX();
+        return TouchActionHelper.dragSequence(startX, 360, startX - 300, 360, AppiumConfig.CHEEK_DRAG_DURATION_MS);
+    }
+
+    @Benchmark
+    public Map<String, Object> dragEncoded() {
+        int startX = nextX();
+        return TouchActionHelper.dragSequence(startX, 360, startX - 300, 360, AppiumConfig.CHEEK_DRAG_DURATION_MS).encode();
+    }
+
+    @Benchmark
+    public Sequence tapBatch3() {
+        return GestureBatch.create()
+                .tap(nextX(), 360).pause(300).tap(nextX(), 360).pause(300).tap(nextX(), 360)
+                .toSequence();
+    }
+
+    @Benchmark
+    public Map<String, Object> tapBatch3Encoded() {
+        return tapBatch3().encode();
+    }
+
+    @Benchmark
+    public Map<String, Object> templateEncoded() {
+        template.perform(sink);
+        return sink.last;
+    }
+
+    // 좌표를 바꿔 상수 폴딩 방지
+    private int nextX() {
+        x = (x + 7) % 1000 + 400;
+        return x;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.appium_android_automation.flow;
+
+import com.example.appium_android_automation.infra.TouchActionHelper;
+import com.example.appium_android_automation.marker.Evidence;
+import com.example.appium_android_automation.marker.FlightRecorder;
+import com.example.appium_android_automation.marker.ImageAssert;
+import com.example.appium_android_automation.marker.ImageMatch;
+import com.example.appium_android_automation.marker.ScreenWaiter;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.Point;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 디바이스 화면 (ImageAssert/TouchActionHelper/ScreenWaiter/Evidence 위임)
+ */
+public class DriverFlowScreen implements FlowScreen {
+
+    private final AndroidDriver driver;
+
+    public DriverFlowScreen(AndroidDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public boolean waitFor(String marker, int timeoutSec) {
+        return ImageAssert.waitUntilImageVisible(driver, marker, timeoutSec);
+    }
+
+    @Override
+    public Set<String> visible(Collection<String> markers) {
+        Set<String> found = new LinkedHashSet<>();
+        for (ImageMatch match : ImageAssert.detectScreen(driver, markers)) {
+            found.add(match.getResourcePath());
+        }
+        return found;
+    }
+
+    @Override
+    public Set<String> waitForAny(Collection<String> markers, int timeoutSec) {
+        Set<String> found = new LinkedHashSet<>();
+        for (ImageMatch match : ImageAssert.waitForAnyImage(driver, markers, timeoutSec)) {
+            found.add(match.getResourcePath());
+        }
+        return found;
+    }
+
+    @Override
+    public Point find(String marker, int timeoutSec) {
+        return ImageAssert.findImageCenter(driver, marker, timeoutSec);
+    }
+
+    @Override
+    public void tap(Point point) {
+        TouchActionHelper.tap(driver, point);
+    }
+
+    @Override
+    public void settle(int maxWaitMs) {
+        ScreenWaiter.afterAction(driver, maxWaitMs);
+    }
+
+    @Override
+    public void capture(String name) {
+        try {
+            String debugPath = Evidence.saveScreenshot(driver, "DEBUG_" + name);
+            System.out.println("   📸 디버깅 캡처: " + debugPath);
+        } catch (Exception e) {
+            System.out.println("   ⚠️ 디버깅 캡처 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void checkpoint() {
+        FlightRecorder.checkpoint(driver);
+    }
+}
@@ -3,16 +3,29 @@ package com.example.appium_android_automation.flow;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Point;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
 
+import com.example.appium_android_automation.infra.AdbShellChannel;
 import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.infra.AsyncDriver;
+import com.example.appium_android_automation.infra.DeviceShell;
 import com.example.appium_android_automation.infra.TouchActionHelper;
+import com.example.appium_android_automation.marker.AdaptivePoller;
 import com.example.appium_android_automation.marker.Evidence;
 import com.example.appium_android_automation.marker.ImageAssert;
+import com.example.appium_android_automation.marker.ImageMatch;
+import com.example.appium_android_automation.marker.PerceptualHash;
+import com.example.appium_android_automation.marker.ScreenWaiter;
+import com.example.appium_android_automation.reporting.Metrics;
+import com.example.appium_android_automation.reporting.RunHistoryStore;
 
 /**
  * 앱 최초 실행 시 필요한 전체 초기화 플로우를 담당합니다.
@@ -21,17 +34,20 @@ import com.example.appium_android_automation.marker.ImageAssert;
  * 1) 앱 데이터 완전 초기화 (pm clear)
  * 2) 앱 재실행 및 Native 권한 팝업 처리
  * 3) Unity 다운로드 팝업에서 '다운로드' 버튼 터치
- * 4) 리소스 다운로드 완료까지 스마트 대기 (Polling 방식)
+ * 4) 리소스 다운로드 완료까지 스마트 대기 (과거 이력 기반 적응형 폴링)
  * 5) 완료 후 게임 시작 버튼 터치
  * 6) 이용약관 동의 처리
  *
  * 기술적 특징:
  * - Native UI: By.id() 직접 접근 (권한 팝업)
  * - Unity UI: OpenCV 이미지 매칭 + 좌표 터치
- * - 효율적 대기: 5분 무작정 대기 대신 10초마다 완료 상태 확인
+ * - 효율적 대기: 5분 무작정 대기 대신 과거 완료 시간 기반 적응형 폴링
  */
 public class FirstLaunchFlow {
 
+    // 단계 이력 키 접두사 (build/reports/history/steps.csv)
+    private static final String HISTORY_PREFIX = "FirstLaunchFlow.";
+
     private final AndroidDriver driver;
 
     public FirstLaunchFlow(AndroidDriver driver) {
@@ -46,42 +62,29 @@ public class FirstLaunchFlow {
     public boolean run() {
         System.out.println("🚀 [FirstLaunchFlow] === 최초 실행 플로우 시작 ===");
 
-        // [1단계] 앱 데이터 완전 초기화
-        if (!clearAppDataAndRestart()) {
-            System.out.println("❌ [FirstLaunchFlow] 1단계 실패: 앱 데이터 초기화");
-            return false;
-        }
-
-        // [2단계] Native 권한 팝업 처리 (Inspector ID 사용)
-        if (!handleNativePermissions()) {
-            System.out.println("❌ [FirstLaunchFlow] 2단계 실패: 권한 팝업 처리");
-            return false;
-        }
-
-        // [3단계] Unity 다운로드 팝업 처리 (이미지 매칭)
-        if (!initiateResourceDownload()) {
-            System.out.println("❌ [FirstLaunchFlow] 3단계 실패: 다운로드 시작");
-            return false;
-        }
-
-        // [4단계] 리소스 다운로드 완료까지 스마트 대기 (Polling)
-        if (!waitForDownloadCompletion()) {
-            System.out.println("❌ [FirstLaunchFlow] 4단계 실패: 다운로드 완료 대기");
+        // 중간 실패 후 재실행 시: 이용약관 화면이 떠 있으면 초기화/다운로드를 건너뛰고 6단계부터 재개
+        FlowEngine engine = new FlowEngine("FirstLaunchFlow", new DriverFlowScreen(driver));
+        boolean success = engine.run(List.of(
+                // [1단계] 앱 데이터 완전 초기화
+                FlowStep.action("clearAppDataAndRestart", this::clearAppDataAndRestart),
+                // [2단계] Native 권한 팝업 처리 (Inspector ID 사용)
+                FlowStep.action("handleNativePermissions", this::handleNativePermissions),
+                // [3단계] Unity 다운로드 팝업 처리 (이미지 매칭)
+                FlowStep.action("initiateResourceDownload", this::initiateResourceDownload),
+                // [4단계] 리소스 다운로드 완료까지 스마트 대기 (Polling) - 자체 타임아웃이 길어 재시도 안 함
+                FlowStep.action("waitForDownloadCompletion", this::waitForDownloadCompletion)
+                        .attempts(1),
+                // [5단계] 다운로드 완료 후 게임 시작 버튼 터치 → 이용약관 화면
+                FlowStep.action("proceedToTermsScreen", this::proceedToTermsScreen)
+                        .expect(AppiumConfig.TERMS_SCREEN_MARKER_RESOURCE, AppiumConfig.MAIN_MARKER_TIMEOUT_SEC),
+                // [6단계] 이용약관 동의 처리
+                FlowStep.action("handleTermsAgreement", this::handleTermsAgreement)
+        ));
+
+        if (!success) {
+            System.out.println("❌ [FirstLaunchFlow] === 최초 실행 플로우 실패 ===");
             return false;
         }
-
-        // [5단계] 다운로드 완료 후 게임 시작 버튼 터치
-        if (!proceedToTermsScreen()) {
-            System.out.println("❌ [FirstLaunchFlow] 5단계 실패: 게임 시작 버튼");
-            return false;
-        }
-
-        // [6단계] 이용약관 동의 처리
-        if (!handleTermsAgreement()) {
-            System.out.println("❌ [FirstLaunchFlow] 6단계 실패: 이용약관 동의");
-            return false;
-        }
-
         System.out.println("✅ [FirstLaunchFlow] === 최초 실행 플로우 완료 ===");
         return true;
     }
@@ -99,30 +102,26 @@ public class FirstLaunchFlow {
         System.out.println("🧹 [1/6] 앱 데이터 완전 초기화 중...");
 
         try {
-            // pm clear 명령어 실행
-            String command = String.format("adb shell pm clear %s", AppiumConfig.APP_PACKAGE);
-            Process process = Runtime.getRuntime().exec(command);
-            int exitCode = process.waitFor();
+            // pm clear 명령어 실행 (디바이스 셸 채널 재사용, adb 프로세스 생성 없음)
+            AdbShellChannel.Result result = DeviceShell.current().run("pm clear " + AppiumConfig.APP_PACKAGE);
 
-            if (exitCode != 0) {
-                System.out.println("   ❌ pm clear 명령어 실패 (exitCode: " + exitCode + ")");
+            if (!result.isSuccess() || !result.stdout.contains("Success")) {
+                System.out.println("   ❌ pm clear 명령어 실패 (" + result + ")");
                 return false;
             }
 
             System.out.println("   ✓ 앱 데이터 초기화 완료");
 
-            // 초기화 후 잠시 대기
-            Thread.sleep(3000);
-
-            // 앱 재실행
+            // 앱 재실행 후 Unity 엔진 로딩(화면 전환 후 안정화)까지 대기 - 최대 8초
             System.out.println("   📱 앱 재실행 중...");
+            Long baseline = ScreenWaiter.captureBaseline(driver);
             driver.activateApp(AppiumConfig.APP_PACKAGE);
-            Thread.sleep(5000); // Unity 엔진 로딩 대기
+            ScreenWaiter.afterAction(driver, baseline, 8000);
 
             System.out.println("   ✓ 앱 재실행 완료");
             return true;
 
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException | java.util.concurrent.TimeoutException e) {  // Selenium TimeoutException과 구분
             System.out.println("   ❌ 앱 초기화 중 예외 발생: " + e.getMessage());
             return false;
         }
@@ -141,21 +140,18 @@ public class FirstLaunchFlow {
         System.out.println("🛡️ [2/6] Native 권한 팝업 확인 중...");
 
         try {
-            // 짧은 대기시간으로 권한 팝업 찾기
-            driver.manage().timeouts().implicitlyWait(
-                    Duration.ofSeconds(AppiumConfig.PERMISSION_POPUP_TIMEOUT_SEC)
-            );
-
-            WebElement allowButton = driver.findElement(
-                    By.id(AppiumConfig.NOTIFICATION_ALLOW_BUTTON_ID)
-            );
+            // 짧은 명시적 대기로 권한 팝업 찾기 (세션 암시적 대기는 건드리지 않음)
+            WebDriverWait wait = new WebDriverWait(driver,
+                    Duration.ofSeconds(timeout("handleNativePermissions", AppiumConfig.PERMISSION_POPUP_TIMEOUT_SEC)));
+            WebElement allowButton = Metrics.time("wait.permissionPopup", () -> wait.until(
+                    ExpectedConditions.presenceOfElementLocated(By.id(AppiumConfig.NOTIFICATION_ALLOW_BUTTON_ID))));
 
             allowButton.click();
             System.out.println("   ✓ 알림 권한 '허용' 버튼 터치 완료");
 
             // 🆕 Unity 화면 전환 및 다운로드 팝업 로딩 대기
             System.out.println("   ⏳ Unity 화면 전환 대기 중... (5초)");
-            Thread.sleep(5000);  // Native → Unity 컨텍스트 전환 시간 확보
+            Metrics.sleep("sleep.fixed", 5000);  // Native → Unity 컨텍스트 전환 시간 확보
 
             return true;
 
@@ -166,7 +162,7 @@ public class FirstLaunchFlow {
             // 팝업이 없어도 앱 초기 로딩 시간은 필요
             try {
                 System.out.println("   ⏳ 앱 초기 로딩 대기 중... (3초)");
-                Thread.sleep(3000);
+                Metrics.sleep("sleep.fixed", 3000);
             } catch (InterruptedException ie) {
                 System.out.println("   ⚠️ 대기 중 인터럽트 발생");
             }
@@ -176,12 +172,6 @@ public class FirstLaunchFlow {
         } catch (InterruptedException e) {  // Thread.sleep 예외 처리
             System.out.println("   ❌ 대기 중 인터럽트 발생: " + e.getMessage());
             return false;
-
-        } finally {
-            // 암시적 대기시간 원래 값으로 복구
-            driver.manage().timeouts().implicitlyWait(
-                    Duration.ofSeconds(AppiumConfig.IMPLICIT_WAIT_SEC)
-            );
         }
     }
 
@@ -200,7 +190,7 @@ public class FirstLaunchFlow {
         boolean isDownloadButtonVisible = ImageAssert.waitUntilImageVisible(
                 driver,
                 AppiumConfig.FIRST_DOWNLOAD_BUTTON_RESOURCE,
-                AppiumConfig.MAIN_MARKER_TIMEOUT_SEC
+                timeout("initiateResourceDownload", AppiumConfig.MAIN_MARKER_TIMEOUT_SEC)
         );
 
         if (!isDownloadButtonVisible) {
@@ -231,84 +221,57 @@ public class FirstLaunchFlow {
     /**
      * 리소스 다운로드 완료를 효율적으로 감지합니다.
      *
-     * 전략: 5분 무작정 대기 대신 Polling 방식 사용
-     * - 10초마다 "다운로드 완료 마커 이미지" 확인
-     * - 완료되면 즉시 다음 단계로 진행 (시간 절약)
-     * - 최대 6분까지 대기 (여유시간 포함)
+     * 전략: 고정 대기 대신 적응형 폴링 (AdaptivePoller)
+     * - 과거 완료 시간 중앙값(RunHistoryStore)을 예상 시간으로 사용 (이력이 없으면 DOWNLOAD_EXPECTED_SEC)
+     * - 예상 시간의 절반 시점부터 검사 시작, 예상 시각 근처에서 촘촘하게 검사
+     * - 검사 프레임 사이에 화면 변화가 있으면 즉시 짧은 간격으로 재검사
+     * - 최대 RESOURCE_DOWNLOAD_TIMEOUT_SEC까지 대기
      */
     private boolean waitForDownloadCompletion() {
         System.out.println("⏳ [4/6] 리소스 다운로드 완료 대기 중...");
 
-        // [Phase 1] 오탐지 방지를 위한 최소 안전 대기 (5분)
-        int minWaitSeconds = 270;  // 다운로드가 절대 이보다 빠를 수 없음
-        System.out.printf("   🛡️ 오탐지 방지: %d초간 무조건 대기합니다...%n", minWaitSeconds);
-
-        long phaseStartTime = System.currentTimeMillis();
-
-        try {
-            // 30초마다 진행 상황 출력
-            for (int i = 0; i < minWaitSeconds / 30; i++) {
-                Thread.sleep(30000);
-                int elapsed = (i + 1) * 30;
-                System.out.printf("   ⏱️ 다운로드 진행 중... (%d초 / %d초)%n", elapsed, minWaitSeconds);
-            }
-        } catch (InterruptedException e) {
-            System.out.println("   ❌ 최소 대기 중 인터럽트 발생");
-            return false;
-        }
-
-        System.out.println("   ✅ 최소 대기 완료. 이제부터 완료 마커 검사 시작");
-
-        // [Phase 2] 실제 완료 여부 검사 (남은 시간 동안)
-        long remainingTimeoutSec = AppiumConfig.RESOURCE_DOWNLOAD_TIMEOUT_SEC - minWaitSeconds;
-        long endTime = System.currentTimeMillis() + (remainingTimeoutSec * 1000L);
-        int checkCount = 0;
-
-        while (System.currentTimeMillis() < endTime) {
-            checkCount++;
-
-            // 다운로드 완료 마커 확인
-            boolean isCompleted = ImageAssert.isImageVisible(
-                    driver,
-                    AppiumConfig.DOWNLOAD_COMPLETE_BUTTON_RESOURCE
-            );
-
-            if (isCompleted) {
-                long totalElapsed = (System.currentTimeMillis() - phaseStartTime) / 1000;
-                System.out.printf("   ✅ 다운로드 완료 감지! (총 소요시간: %d초, 검사횟수: %d회)%n",
-                        totalElapsed, checkCount);
-
-                // 🆕 완료 시점 디버깅 캡처 (검증용)
-                try {
-                    String debugPath = Evidence.saveScreenshot(driver,
-                            "DEBUG_download_complete_verified_" + totalElapsed + "sec");
-                    System.out.println("   📸 완료 시점 화면 캡처: " + debugPath);
-                } catch (Exception e) {
-                    System.out.println("   ⚠️ 디버깅 캡처 실패: " + e.getMessage());
-                }
-
-                return true;
-            }
+        // 예상 소요시간: 이 디바이스의 과거 성공 이력 중앙값 (없으면 기존 고정 대기값)
+        long expectedMs = RunHistoryStore.percentileMs(HISTORY_PREFIX + "waitForDownloadCompletion", 50,
+                AppiumConfig.DOWNLOAD_EXPECTED_SEC * 1000L);
+        // 타임아웃은 설정값 고정 (네트워크 상태에 따라 소요시간 편차가 커서 이력으로 단축하지 않음)
+        int timeoutSec = AppiumConfig.RESOURCE_DOWNLOAD_TIMEOUT_SEC;
+        AdaptivePoller poller = new AdaptivePoller(expectedMs, timeoutSec * 1000L);
+        System.out.printf("   📈 예상 소요시간 %d초 → %d초 시점부터 완료 마커 검사%n",
+                expectedMs / 1000, poller.firstCheckAtMs() / 1000);
+
+        Long[] lastHash = {null};
+        AdaptivePoller.Result result = poller.poll(
+                () -> {
+                    boolean done = !ImageAssert.detectScreen(driver,
+                            List.of(AppiumConfig.DOWNLOAD_COMPLETE_BUTTON_RESOURCE)).isEmpty();
+                    System.out.print(done ? "\n" : ".");
+                    return done;
+                },
+                () -> {
+                    // 직전 검사 프레임과 비교 (추가 스크린샷 없음)
+                    Long hash = ImageAssert.recentFrameHash(AppiumConfig.SCREEN_BASELINE_MAX_AGE_MS);
+                    boolean changed = hash != null && lastHash[0] != null
+                            && PerceptualHash.distance(hash, lastHash[0]) >= AppiumConfig.SCREEN_CHANGE_DISTANCE;
+                    lastHash[0] = hash;
+                    return changed;
+                });
+
+        long totalElapsed = result.getElapsedMs() / 1000;
+        if (result.isCompleted()) {
+            System.out.println("   ✅ 다운로드 완료 감지! (" + result + ")");
+
+            // 🆕 완료 시점 디버깅 캡처 (검증용) - 비동기로 받으며 바로 다음 단계(시작 버튼 터치) 진행
+            AsyncDriver.of(driver)
+                    .saveEvidence("DEBUG_download_complete_verified_" + totalElapsed + "sec")
+                    .whenComplete((debugPath, e) -> System.out.println(e == null
+                            ? "   📸 완료 시점 화면 캡처: " + debugPath
+                            : "   ⚠️ 디버깅 캡처 실패: " + e.getMessage()));
 
-            // 진행 표시
-            if (checkCount % 6 == 0) {
-                long totalElapsed = (System.currentTimeMillis() - phaseStartTime) / 1000;
-                System.out.printf("   🔍 완료 검사 중... (%d초 경과)%n", totalElapsed);
-            } else {
-                System.out.print(".");
-            }
-
-            try {
-                Thread.sleep(AppiumConfig.DOWNLOAD_CHECK_INTERVAL_SEC * 1000L);
-            } catch (InterruptedException e) {
-                System.out.println("   ❌ 검사 대기 중 인터럽트 발생");
-                return false;
-            }
+            return true;
         }
 
         // 타임아웃 발생
-        long totalElapsed = (System.currentTimeMillis() - phaseStartTime) / 1000;
-        System.out.printf("   ❌ 다운로드 완료 타임아웃 (총 %d초 경과)%n", totalElapsed);
+        System.out.println("   ❌ 다운로드 완료 타임아웃 (" + result + ")");
 
         // 🆕 타임아웃 시점 디버깅 캡처
         try {
@@ -339,9 +302,9 @@ public class FirstLaunchFlow {
             );
             System.out.println("   ✓ 게임 시작 버튼 터치 완료");
 
-            // 🆕 이용약관 화면 로딩 대기 증가
-            System.out.println("   ⏳ 이용약관 화면 전환 대기 중... (5초)");
-            Thread.sleep(10000);  // 10초 대기
+            // 이용약관 화면 전환 대기 (화면이 멈추면 즉시 진행, 최대 10초)
+            System.out.println("   ⏳ 이용약관 화면 전환 대기 중...");
+            ScreenWaiter.afterAction(driver, 10000);
             return true;
 
         } catch (Exception e) {
@@ -361,40 +324,15 @@ public class FirstLaunchFlow {
     private boolean handleTermsAgreement() {
         System.out.println("📋 [6/6] 이용약관 동의 처리 중...");
 
-        // 이용약관 화면 로딩 대기
-        boolean isTermsScreenVisible = ImageAssert.waitUntilImageVisible(
-                driver,
-                AppiumConfig.TERMS_SCREEN_MARKER_RESOURCE,
-                AppiumConfig.MAIN_MARKER_TIMEOUT_SEC
-        );
-
-        if (!isTermsScreenVisible) {
-            System.out.println("   ⚠️ 이용약관 화면 마커를 찾지 못했지만 동의 버튼 직접 시도");
-
-            // 🆕 현재 화면 상태 캡처 (디버깅용)
-            try {
-                String debugPath = Evidence.saveScreenshot(driver, "DEBUG_terms_screen_not_found");
-                System.out.println("   📸 현재 화면 캡처: " + debugPath);
-            } catch (Exception e) {
-                // 무시
-            }
-        } else {
-            // 🆕 화면 완전 로딩 대기
-            try {
-                System.out.println("   ⏳ 이용약관 UI 완성 대기 (2초)");
-                Thread.sleep(2000);
-            } catch (InterruptedException ignored) {}
-        }
-
-        // "모두 동의하고 시작" 버튼 찾기 및 터치
-        boolean isAgreeButtonVisible = ImageAssert.waitUntilImageVisible(
+        // 이용약관 마커/동의 버튼을 한 프레임에서 동시에 판별 (순차 대기 없이 분기)
+        List<ImageMatch> matches = ImageAssert.waitForAnyImage(
                 driver,
-                AppiumConfig.TERMS_AGREE_ALL_BUTTON_RESOURCE,
-                AppiumConfig.MAIN_MARKER_TIMEOUT_SEC
+                List.of(AppiumConfig.TERMS_SCREEN_MARKER_RESOURCE, AppiumConfig.TERMS_AGREE_ALL_BUTTON_RESOURCE),
+                timeout("handleTermsAgreement", AppiumConfig.MAIN_MARKER_TIMEOUT_SEC)
         );
 
-        if (!isAgreeButtonVisible) {
-            System.out.println("   ❌ '모두 동의하고 시작' 버튼을 찾을 수 없습니다");
+        if (matches.isEmpty()) {
+            System.out.println("   ❌ 이용약관 화면/동의 버튼을 모두 찾을 수 없습니다");
 
             // 🆕 현재 화면 캡처 (디버깅용)
             try {
@@ -408,15 +346,38 @@ public class FirstLaunchFlow {
             return false;
         }
 
-        try {
-            TouchActionHelper.tapOnImageCenter(
+        ImageMatch agreeButton = ImageAssert.findIn(matches, AppiumConfig.TERMS_AGREE_ALL_BUTTON_RESOURCE);
+        Point agreeCenter;
+
+        if (agreeButton != null) {
+            // 동의 버튼이 이미 보이면 같은 프레임의 좌표로 바로 터치
+            agreeCenter = agreeButton.getCenter();
+        } else {
+            // 마커만 보이는 경우: UI 완성(버튼 등장)까지 대기
+            System.out.println("   ⏳ 이용약관 화면 확인, 동의 버튼 등장 대기");
+            agreeCenter = ImageAssert.findImageCenter(
                     driver,
-                    AppiumConfig.TERMS_AGREE_ALL_BUTTON_RESOURCE
+                    AppiumConfig.TERMS_AGREE_ALL_BUTTON_RESOURCE,
+                    timeout("handleTermsAgreement", AppiumConfig.MAIN_MARKER_TIMEOUT_SEC)
             );
+            if (agreeCenter == null) {
+                System.out.println("   ❌ '모두 동의하고 시작' 버튼을 찾을 수 없습니다");
+                try {
+                    String debugPath = Evidence.saveScreenshot(driver, "DEBUG_terms_agree_button_not_found");
+                    System.out.println("   📸 현재 화면 캡처: " + debugPath);
+                } catch (Exception e) {
+                    // 무시
+                }
+                return false;
+            }
+        }
+
+        try {
+            TouchActionHelper.tap(driver, agreeCenter);
             System.out.println("   ✓ 이용약관 동의 완료");
 
             // 최종 화면 전환 대기
-            Thread.sleep(3000);
+            ScreenWaiter.afterAction(driver, 3000);
             return true;
 
         } catch (Exception e) {
@@ -424,4 +385,9 @@ public class FirstLaunchFlow {
             return false;
         }
     }
+
+    // 이력 기반 단계 타임아웃 (이력 부족 시 설정값 그대로)
+    private static int timeout(String name, int configuredSec) {
+        return RunHistoryStore.timeoutSec(HISTORY_PREFIX + name, configuredSec);
+    }
 }
@@ -0,0 +1,89 @@
+package com.example.appium_android_automation.flow;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.reporting.RunHistoryStore;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * 플로우 진행 체크포인트 (build/reports/checkpoints/{device}.properties)
+ * - 키: 플로우 이름, 값: "마지막 완료 단계,기록 시각(ms)"
+ * - 플로우가 끝까지 성공하면 삭제 → 중간 실패 후 다음 실행에서만 이어서 시작
+ * - FLOW_CHECKPOINT_MAX_AGE_MIN보다 오래된 기록은 무시
+ */
+public class FlowCheckpoint {
+
+    private final Path file;
+
+    public FlowCheckpoint(Path file) {
+        this.file = file;
+    }
+
+    // 현재 스레드 디바이스의 체크포인트 파일
+    public static FlowCheckpoint forCurrentDevice() {
+        return new FlowCheckpoint(Path.of("build", "reports", "checkpoints",
+                RunHistoryStore.getDevice().replaceAll("[^a-zA-Z0-9._-]", "_") + ".properties"));
+    }
+
+    /**
+     * @return 마지막으로 완료한 단계 이름 (없거나 만료되었으면 null)
+     */
+    public synchronized String load(String flow) {
+        String value = read().getProperty(flow);
+        if (value == null) {
+            return null;
+        }
+        int comma = value.lastIndexOf(',');
+        try {
+            long savedAt = Long.parseLong(value.substring(comma + 1));
+            if (System.currentTimeMillis() - savedAt > AppiumConfig.FLOW_CHECKPOINT_MAX_AGE_MIN * 60_000L) {
+                return null;
+            }
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            return null;
+        }
+        return value.substring(0, comma);
+    }
+
+    public synchronized void save(String flow, String step) {
+        Properties props = read();
+        props.setProperty(flow, step + "," + System.currentTimeMillis());
+        write(props);
+    }
+
+    public synchronized void clear(String flow) {
+        Properties props = read();
+        if (props.remove(flow) != null) {
+            write(props);
+        }
+    }
+
+    private Properties read() {
+        Properties props = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                props.load(reader);
+            } catch (IOException e) {
+                System.err.println("[Flow] 체크포인트 읽기 실패: " + e.getMessage());
+            }
+        }
+        return props;
+    }
+
+    private void write(Properties props) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                props.store(writer, "flow checkpoints");
+            }
+        } catch (IOException e) {
+            System.err.println("[Flow] 체크포인트 기록 실패: " + e.getMessage());
+        }
+    }
+}
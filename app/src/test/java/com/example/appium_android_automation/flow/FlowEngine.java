@@ -0,0 +1,143 @@
+package com.example.appium_android_automation.flow;
+
+import com.example.appium_android_automation.reporting.RunHistoryStore;
+
+import java.util.List;
+
+/**
+ * 선언형 플로우 실행기
+ * - 단계를 순서대로 실행: 사전 조건 대기 → 동작 → 사후 조건 대기
+ * - 실패한 단계만 재시도 (재시도 전에 사후 조건이 이미 보이면 동작 생략 → 중복 터치 방지)
+ * - 단계 성공마다 체크포인트 기록, 다음 실행은 마지막 완료 단계 다음부터 이어서 시작
+ *   (이어갈 단계의 진입 마커가 지금 화면에 보일 때만, 아니면 처음부터)
+ * - 단계 소요시간/결과는 RunHistoryStore에 "{플로우}.{단계}"로 기록, 사후 조건 타임아웃은 이력 기반
+ */
+public class FlowEngine {
+
+    private final String flowName;
+    private final FlowScreen screen;
+    private final FlowCheckpoint checkpoint;
+
+    public FlowEngine(String flowName, FlowScreen screen) {
+        this(flowName, screen, FlowCheckpoint.forCurrentDevice());
+    }
+
+    public FlowEngine(String flowName, FlowScreen screen, FlowCheckpoint checkpoint) {
+        this.flowName = flowName;
+        this.screen = screen;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * @return 모든 단계 성공 시 true, 재시도 후에도 실패한 단계가 있으면 false (체크포인트 유지)
+     */
+    public boolean run(List<FlowStep> steps) {
+        int start = resumeIndex(steps);
+        for (int i = start; i < steps.size(); i++) {
+            FlowStep step = steps.get(i);
+            System.out.println("   ▶ [" + flowName + " " + (i + 1) + "/" + steps.size() + "] " + step.getName());
+            if (!runStep(step)) {
+                System.out.println("   ❌ [" + flowName + "] " + step.getName() + " 실패 (" + step.getMaxAttempts() + "회 시도)");
+                screen.capture(flowName + "_" + step.getName());
+                return false;
+            }
+            checkpoint.save(flowName, step.getName());
+        }
+        checkpoint.clear(flowName);
+        return true;
+    }
+
+    /**
+     * 이어서 시작할 단계 번호 (체크포인트가 없거나 화면이 맞지 않으면 0)
+     */
+    int resumeIndex(List<FlowStep> steps) {
+        String done = checkpoint.load(flowName);
+        if (done == null) {
+            return 0;
+        }
+        int last = indexOf(steps, done);
+        if (last < 0 || last + 1 >= steps.size()) {
+            return 0;
+        }
+
+        String entry = steps.get(last + 1).entryMarker();
+        if (entry == null) {
+            entry = steps.get(last).getPostcondition();
+        }
+        if (entry == null) {
+            System.out.println("   ⚠️ [" + flowName + "] 체크포인트 " + done + " - 진입 화면을 확인할 마커 없음 → 처음부터");
+            return 0;
+        }
+        if (!screen.visible(List.of(entry)).contains(entry)) {
+            System.out.println("   ⚠️ [" + flowName + "] 체크포인트 " + done + " - 현재 화면 불일치 → 처음부터");
+            return 0;
+        }
+        System.out.println("   ⏩ [" + flowName + "] 체크포인트 " + done + " 이후부터 재개 (" + (last + 1) + "단계 생략)");
+        return last + 1;
+    }
+
+    // 단계 1개 실행 (실패 시 이 단계만 최대 시도 횟수까지 재시도)
+    private boolean runStep(FlowStep step) {
+        for (int attempt = 1; attempt <= step.getMaxAttempts(); attempt++) {
+            screen.checkpoint();  // 블랙박스: 직전 동작 이후 화면 (테스트 스레드에서 촬영)
+            // 직전 시도의 동작은 반영되었지만 전환이 늦었던 경우 - 동작을 안 했으므로 이력에 기록하지 않음
+            if (attempt > 1 && postconditionVisible(step)) {
+                System.out.println("   ✅ 사후 조건 이미 충족 → 동작 생략: " + step.getPostcondition());
+                return true;
+            }
+            if (RunHistoryStore.timed(flowName + "." + step.getName(), () -> attempt(step))) {
+                return true;
+            }
+            if (attempt < step.getMaxAttempts()) {
+                System.out.println("   🔁 [" + flowName + "] " + step.getName() + " 재시도 (" + (attempt + 1) + "/" + step.getMaxAttempts() + ")");
+            }
+        }
+        return false;
+    }
+
+    private boolean postconditionVisible(FlowStep step) {
+        String post = step.getPostcondition();
+        try {
+            return post != null && screen.visible(List.of(post)).contains(post);
+        } catch (Exception e) {
+            System.out.println("   ❌ " + step.getName() + " 사후 조건 확인 예외: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean attempt(FlowStep step) {
+        String pre = step.getPrecondition();
+        String post = step.getPostcondition();
+        try {
+            if (pre != null && !screen.waitFor(pre, step.getPreTimeoutSec())) {
+                System.out.println("   ❌ 사전 조건 미충족: " + pre);
+                return false;
+            }
+            if (!step.runAction(screen)) {
+                return false;
+            }
+            if (post != null && !screen.waitFor(post, timeout(step, step.getPostTimeoutSec()))) {
+                System.out.println("   ❌ 사후 조건 미충족: " + post);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            System.out.println("   ❌ " + step.getName() + " 예외: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 이력 기반 단계 타임아웃 (이력 부족 시 설정값 그대로)
+    private int timeout(FlowStep step, int configuredSec) {
+        return RunHistoryStore.timeoutSec(flowName + "." + step.getName(), configuredSec);
+    }
+
+    private static int indexOf(List<FlowStep> steps, String name) {
+        for (int i = 0; i < steps.size(); i++) {
+            if (steps.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
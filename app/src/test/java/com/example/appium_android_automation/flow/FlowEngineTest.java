@@ -0,0 +1,235 @@
+package com.example.appium_android_automation.flow;
+
+import com.example.appium_android_automation.reporting.RunHistoryStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.Point;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.appium_android_automation.infra.AppiumConfig.*;
+import static org.junit.Assert.*;
+
+/**
+ * FlowEngine 검증 - LogoutFlow 단계를 시나리오 가짜 화면으로 실행 (디바이스 불필요)
+ */
+public class FlowEngineTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private FlowCheckpoint checkpoint;
+    private ScriptedScreen screen;
+
+    @Before
+    public void setUp() {
+        RunHistoryStore.setDevice("flow-engine-test");
+        checkpoint = new FlowCheckpoint(tmp.getRoot().toPath().resolve("checkpoint.properties"));
+        screen = new ScriptedScreen("lobby");
+        screen.state("lobby", GAME_STARTED_MARKER_RESOURCE, MENU_BUTTON_RESOURCE)
+                .state("menu", MENU_POPUP_MARKER_RESOURCE, SETTINGS_BUTTON_RESOURCE)
+                .state("settings", SETTINGS_POPUP_MARKER_RESOURCE, ETC_BUTTON_RESOURCE)
+                .state("etc", LOGOUT_BUTTON_RESOURCE)
+                .state("confirm", LOGOUT_CONFIRM_POPUP_RESOURCE, LOGOUT_CONFIRM_BUTTON_RESOURCE)
+                .state("terms", TERMS_SCREEN_MARKER_RESOURCE)
+                .on("lobby", MENU_BUTTON_RESOURCE, "menu")
+                .on("menu", SETTINGS_BUTTON_RESOURCE, "settings")
+                .on("settings", ETC_BUTTON_RESOURCE, "etc")
+                .on("etc", LOGOUT_BUTTON_RESOURCE, "confirm")
+                .on("confirm", LOGOUT_CONFIRM_BUTTON_RESOURCE, "terms");
+    }
+
+    @After
+    public void tearDown() {
+        RunHistoryStore.setDevice("default");
+    }
+
+    @Test
+    public void stepsRunInOrderAndCheckpointIsClearedOnSuccess() {
+        assertTrue(engine().run(LogoutFlow.steps()));
+
+        assertEquals("terms", screen.current);
+        assertEquals(List.of(MENU_BUTTON_RESOURCE, SETTINGS_BUTTON_RESOURCE, ETC_BUTTON_RESOURCE,
+                LOGOUT_BUTTON_RESOURCE, LOGOUT_CONFIRM_BUTTON_RESOURCE), screen.taps);
+        assertNull(checkpoint.load("LogoutFlow"));
+        assertEquals(0, screen.captures);
+    }
+
+    @Test
+    public void onlyTheFailingStepIsRetried() {
+        screen.ignoreTaps(ETC_BUTTON_RESOURCE, 1);
+
+        assertTrue(engine().run(LogoutFlow.steps()));
+
+        assertEquals("재시도는 기타 탭만", List.of(MENU_BUTTON_RESOURCE, SETTINGS_BUTTON_RESOURCE,
+                ETC_BUTTON_RESOURCE, ETC_BUTTON_RESOURCE, LOGOUT_BUTTON_RESOURCE,
+                LOGOUT_CONFIRM_BUTTON_RESOURCE), screen.taps);
+        assertEquals("단계 경계 = 시도마다 1회", LogoutFlow.steps().size() + 1, screen.checkpoints);
+    }
+
+    @Test
+    public void failedRunKeepsCheckpointAndNextRunResumesAfterIt() {
+        screen.ignoreTaps(ETC_BUTTON_RESOURCE, FLOW_STEP_MAX_ATTEMPTS);
+
+        assertFalse(engine().run(LogoutFlow.steps()));
+        assertEquals("step3_OpenSettingsPopup", checkpoint.load("LogoutFlow"));
+        assertEquals("실패 시점 캡처", 1, screen.captures);
+
+        screen.taps.clear();
+        assertTrue(engine().run(LogoutFlow.steps()));
+
+        assertEquals("메뉴/설정 터치 없이 기타 탭부터 재개",
+                List.of(ETC_BUTTON_RESOURCE, LOGOUT_BUTTON_RESOURCE, LOGOUT_CONFIRM_BUTTON_RESOURCE), screen.taps);
+        assertNull(checkpoint.load("LogoutFlow"));
+    }
+
+    @Test
+    public void checkpointIsIgnoredWhenScreenDoesNotMatch() {
+        checkpoint.save("LogoutFlow", "step3_OpenSettingsPopup");
+
+        assertEquals("설정 팝업이 아닌 로비 → 처음부터", 0, engine().resumeIndex(LogoutFlow.steps()));
+        assertTrue(engine().run(LogoutFlow.steps()));
+        assertEquals(MENU_BUTTON_RESOURCE, screen.taps.get(0));
+    }
+
+    @Test
+    public void lateTransitionIsNotTappedTwice() {
+        RunHistoryStore.setDevice("flow-engine-test-" + System.nanoTime());
+        screen.delayTransition(MENU_BUTTON_RESOURCE);
+
+        assertTrue(engine().run(LogoutFlow.steps()));
+
+        assertEquals("사후 조건이 재시도 시점에 충족 → 메뉴 버튼 1회만 터치", 1,
+                screen.taps.stream().filter(MENU_BUTTON_RESOURCE::equals).count());
+        assertNull("동작을 생략한 시도는 성공 이력(≈0ms)으로 남기지 않음",
+                RunHistoryStore.stats("LogoutFlow.step2_OpenMenuPopup"));
+        assertNotNull(RunHistoryStore.stats("LogoutFlow.step3_OpenSettingsPopup"));
+    }
+
+    private FlowEngine engine() {
+        return new FlowEngine("LogoutFlow", screen, checkpoint);
+    }
+
+    /**
+     * 상태별 보이는 마커 + "상태|터치한 마커" → 다음 상태 전이표로 움직이는 가짜 화면
+     */
+    private static class ScriptedScreen implements FlowScreen {
+
+        private final Map<String, Set<String>> markers = new HashMap<>();
+        private final Map<String, String> transitions = new HashMap<>();
+        private final Map<String, Integer> ignoredTaps = new HashMap<>();
+        private final Map<String, Boolean> delayed = new HashMap<>();
+        private final List<String> pointOwners = new ArrayList<>();
+        private final List<String> taps = new ArrayList<>();
+        private String current;
+        private String pending;
+        private int captures;
+        private int checkpoints;
+
+        ScriptedScreen(String initial) {
+            this.current = initial;
+        }
+
+        ScriptedScreen state(String name, String... visible) {
+            markers.put(name, new LinkedHashSet<>(List.of(visible)));
+            return this;
+        }
+
+        ScriptedScreen on(String state, String marker, String next) {
+            transitions.put(state + "|" + marker, next);
+            return this;
+        }
+
+        // 터치가 n회 무시됨 (화면 미반응)
+        void ignoreTaps(String marker, int times) {
+            ignoredTaps.put(marker, times);
+        }
+
+        // 전환이 첫 사후 조건 대기가 끝난 뒤에야 반영됨
+        void delayTransition(String marker) {
+            delayed.put(marker, true);
+        }
+
+        @Override
+        public boolean waitFor(String marker, int timeoutSec) {
+            if (markers.get(current).contains(marker)) {
+                return true;
+            }
+            if (pending != null) {
+                current = pending;
+                pending = null;
+            }
+            return false;
+        }
+
+        @Override
+        public Set<String> visible(Collection<String> candidates) {
+            Set<String> found = new LinkedHashSet<>();
+            for (String marker : candidates) {
+                if (markers.get(current).contains(marker)) {
+                    found.add(marker);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public Set<String> waitForAny(Collection<String> candidates, int timeoutSec) {
+            return visible(candidates);
+        }
+
+        @Override
+        public Point find(String marker, int timeoutSec) {
+            if (!markers.get(current).contains(marker)) {
+                return null;
+            }
+            if (!pointOwners.contains(marker)) {
+                pointOwners.add(marker);
+            }
+            return new Point(pointOwners.indexOf(marker), 0);
+        }
+
+        @Override
+        public void tap(Point point) {
+            String marker = pointOwners.get(point.getX());
+            taps.add(marker);
+            int ignored = ignoredTaps.getOrDefault(marker, 0);
+            if (ignored > 0) {
+                ignoredTaps.put(marker, ignored - 1);
+                return;
+            }
+            String next = transitions.get(current + "|" + marker);
+            if (next == null) {
+                return;
+            }
+            if (delayed.remove(marker) != null) {
+                pending = next;
+            } else {
+                current = next;
+            }
+        }
+
+        @Override
+        public void settle(int maxWaitMs) {
+        }
+
+        @Override
+        public void capture(String name) {
+            captures++;
+        }
+
+        @Override
+        public void checkpoint() {
+            checkpoints++;
+        }
+    }
+}
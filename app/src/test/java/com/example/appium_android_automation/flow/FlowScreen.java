@@ -0,0 +1,35 @@
+package com.example.appium_android_automation.flow;
+
+import org.openqa.selenium.Point;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * FlowEngine이 사용하는 화면 조작 (실행 시: 디바이스, 테스트 시: 시나리오 가짜 화면)
+ */
+public interface FlowScreen {
+
+    // 마커가 나타날 때까지 대기 (나타나면 true)
+    boolean waitFor(String marker, int timeoutSec);
+
+    // 스크린샷 1장으로 보이는 마커만 판별 (대기 없음)
+    Set<String> visible(Collection<String> markers);
+
+    // 마커 중 하나라도 보일 때까지 대기 (처음 발견된 프레임의 보이는 마커, 타임아웃 시 빈 집합)
+    Set<String> waitForAny(Collection<String> markers, int timeoutSec);
+
+    // 마커 중앙 좌표 (미발견 시 null)
+    Point find(String marker, int timeoutSec);
+
+    void tap(Point point);
+
+    // 터치 후 화면 전환/안정화 대기 (최대 maxWaitMs)
+    void settle(int maxWaitMs);
+
+    // 실패 시점 디버깅 캡처
+    void capture(String name);
+
+    // 단계 경계 (블랙박스 프레임이 한동안 없었으면 1장 보충)
+    void checkpoint();
+}
@@ -0,0 +1,121 @@
+package com.example.appium_android_automation.flow;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import org.openqa.selenium.Point;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 선언형 플로우 단계 = 사전 조건 마커 → 동작 → 사후 조건 마커
+ * - verify: 동작 없이 마커 확인만
+ * - tap: 버튼 마커를 찾아 터치 후 화면 안정화 대기
+ * - action: 기존 단계 메서드 그대로 (초기화, 다운로드 대기 등)
+ *
+ * 예) FlowStep.tap("OpenMenu", MENU_BUTTON, 30, 1500).expect(MENU_POPUP_MARKER, 10)
+ */
+public final class FlowStep {
+
+    /** 단계 동작 (성공 여부 반환) */
+    @FunctionalInterface
+    interface Action {
+        boolean run(FlowScreen screen) throws Exception;
+    }
+
+    private final String name;
+    private final Action action;
+    private final String tapTarget;
+
+    private String precondition;
+    private int preTimeoutSec;
+    private String postcondition;
+    private int postTimeoutSec;
+    private int maxAttempts = AppiumConfig.FLOW_STEP_MAX_ATTEMPTS;
+
+    private FlowStep(String name, String tapTarget, Action action) {
+        this.name = name;
+        this.tapTarget = tapTarget;
+        this.action = action;
+    }
+
+    // 동작 없이 마커 확인
+    public static FlowStep verify(String name, String marker, int timeoutSec) {
+        return new FlowStep(name, null, screen -> true).expect(marker, timeoutSec);
+    }
+
+    // 버튼 마커 중앙 터치 → 최대 settleMs 화면 안정화 대기
+    public static FlowStep tap(String name, String buttonMarker, int findTimeoutSec, int settleMs) {
+        return new FlowStep(name, buttonMarker, screen -> {
+            Point center = screen.find(buttonMarker, findTimeoutSec);
+            if (center == null) {
+                System.out.println("   ❌ 버튼 미발견: " + buttonMarker);
+                return false;
+            }
+            screen.tap(center);
+            screen.settle(settleMs);
+            return true;
+        });
+    }
+
+    // 임의 동작 (기존 단계 메서드)
+    public static FlowStep action(String name, BooleanSupplier body) {
+        return new FlowStep(name, null, screen -> body.getAsBoolean());
+    }
+
+    // 동작 전에 보여야 하는 마커
+    public FlowStep requires(String marker, int timeoutSec) {
+        this.precondition = marker;
+        this.preTimeoutSec = timeoutSec;
+        return this;
+    }
+
+    // 동작 후 보여야 하는 마커 (재시도 시 이미 보이면 동작 생략)
+    public FlowStep expect(String marker, int timeoutSec) {
+        this.postcondition = marker;
+        this.postTimeoutSec = timeoutSec;
+        return this;
+    }
+
+    // 최대 시도 횟수 (1 = 재시도 안 함)
+    public FlowStep attempts(int maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPrecondition() {
+        return precondition;
+    }
+
+    public int getPreTimeoutSec() {
+        return preTimeoutSec;
+    }
+
+    public String getPostcondition() {
+        return postcondition;
+    }
+
+    public int getPostTimeoutSec() {
+        return postTimeoutSec;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    // 이 단계를 시작할 수 있는 화면인지 판별할 마커 (사전 조건, 없으면 터치 대상, 둘 다 없으면 null)
+    String entryMarker() {
+        return precondition != null ? precondition : tapTarget;
+    }
+
+    boolean runAction(FlowScreen screen) throws Exception {
+        return action.run(screen);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
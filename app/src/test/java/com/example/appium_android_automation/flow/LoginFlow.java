@@ -9,11 +9,16 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
 
 import com.example.appium_android_automation.infra.AppiumConfig;
 import com.example.appium_android_automation.infra.TouchActionHelper;
 import com.example.appium_android_automation.marker.ImageAssert;
+import com.example.appium_android_automation.marker.ImageMatch;
 import com.example.appium_android_automation.marker.Evidence;
+import com.example.appium_android_automation.marker.ScreenWaiter;
+import com.example.appium_android_automation.reporting.RunHistoryStore;
 
 /**
  * 구글 계정 로그인 플로우
@@ -30,6 +35,9 @@ import com.example.appium_android_automation.marker.Evidence;
  */
 public class LoginFlow {
 
+    // 단계 이력 키 접두사 (build/reports/history/steps.csv)
+    private static final String HISTORY_PREFIX = "LoginFlow.";
+
     private final AndroidDriver driver;
 
     public LoginFlow(AndroidDriver driver) {
@@ -47,19 +55,19 @@ public class LoginFlow {
         System.out.println("   📧 대상 계정: " + targetEmail);
 
         // [1단계] Google로그인 버튼 찾기 및 터치 (Unity UI)
-        if (!tapGoogleLoginButton()) {
+        if (!step("tapGoogleLoginButton", this::tapGoogleLoginButton)) {
             System.out.println("❌ [LoginFlow] 1단계 실패: Google로그인 버튼");
             return false;
         }
 
         // [2단계] 구글 계정 선택 화면 대기 및 처리 (Native UI)
-        if (!selectGoogleAccount(targetEmail)) {
+        if (!step("selectGoogleAccount", () -> selectGoogleAccount(targetEmail))) {
             System.out.println("❌ [LoginFlow] 2단계 실패: 계정 선택");
             return false;
         }
 
         // [3단계] 로그인 완료 및 메인 화면 진입 확인 (Unity UI)
-        if (!verifyLoginSuccess()) {
+        if (!step("verifyLoginSuccess", this::verifyLoginSuccess)) {
             System.out.println("❌ [LoginFlow] 3단계 실패: 로그인 완료 확인");
             return false;
         }
@@ -77,21 +85,17 @@ public class LoginFlow {
         System.out.println("🔐 [LoginFlow] === 구글 재로그인 시작 (세션 활용) ===");
 
         // [1단계] Google로그인 버튼 터치
-        if (!tapGoogleLoginButton()) {
+        if (!step("tapGoogleLoginButton", this::tapGoogleLoginButton)) {
             System.out.println("❌ [LoginFlow] 재로그인 실패: Google로그인 버튼");
             return false;
         }
 
-        // [2단계] 자동 로그인 처리 대기 (계정 선택 화면 생략됨)
-        try {
-            System.out.println("   ⏳ 자동 로그인 처리 대기 중... (5초)");
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            System.out.println("   ⚠️ 대기 중 인터럽트 발생");
-        }
+        // [2단계] 자동 로그인 처리 대기 (계정 선택 화면 생략됨, 최대 5초)
+        System.out.println("   ⏳ 자동 로그인 처리 대기 중...");
+        ScreenWaiter.afterAction(driver, 5000);
 
         // [3단계] 로그인 완료 확인
-        if (!verifyLoginSuccess()) {
+        if (!step("verifyLoginSuccess", this::verifyLoginSuccess)) {
             System.out.println("❌ [LoginFlow] 재로그인 실패: 로그인 완료 확인");
             return false;
         }
@@ -115,7 +119,7 @@ public class LoginFlow {
         boolean buttonVisible = ImageAssert.waitUntilImageVisible(
                 driver,
                 AppiumConfig.GOOGLE_LOGIN_BUTTON_RESOURCE,
-                AppiumConfig.MAIN_MARKER_TIMEOUT_SEC
+                timeout("tapGoogleLoginButton", AppiumConfig.MAIN_MARKER_TIMEOUT_SEC)
         );
 
         if (!buttonVisible) {
@@ -142,7 +146,7 @@ public class LoginFlow {
             System.out.println("   ✅ Google로그인 버튼 터치 완료");
 
             // 계정 선택 화면 전환 대기
-            Thread.sleep(3000);
+            ScreenWaiter.afterAction(driver, 3000);
             return true;
 
         } catch (Exception e) {
@@ -171,7 +175,7 @@ public class LoginFlow {
         try {
             // Native UI 요소 대기 (WebDriverWait 사용)
             WebDriverWait wait = new WebDriverWait(driver,
-                    Duration.ofSeconds(AppiumConfig.ACCOUNT_SELECTION_TIMEOUT_SEC));
+                    Duration.ofSeconds(timeout("selectGoogleAccount", AppiumConfig.ACCOUNT_SELECTION_TIMEOUT_SEC)));
 
             // XPath로 정확한 이메일 텍스트 매칭
             String xpath = String.format("//android.widget.TextView[@text='%s']", targetEmail);
@@ -181,11 +185,12 @@ public class LoginFlow {
             );
 
             System.out.println("   ✅ 타겟 계정 발견: " + accountElement.getText());
+            Long baseline = ScreenWaiter.captureBaseline(driver);
             accountElement.click();
             System.out.println("   ✅ 계정 선택 완료");
 
-            // 로그인 처리 대기
-            Thread.sleep(5000);
+            // 로그인 처리 대기 (Unity 화면 복귀 후 안정화, 최대 5초)
+            ScreenWaiter.afterAction(driver, baseline, 5000);
             return true;
 
         } catch (TimeoutException e) {
@@ -233,15 +238,15 @@ public class LoginFlow {
     private boolean verifyLoginSuccess() {
         System.out.println("   🔍 [3/3] 로그인 완료 확인 중...");
 
-        // 메인 화면 마커 확인 (기존 TC02의 로고나 메뉴 버튼 재사용)
-        boolean mainScreenVisible = ImageAssert.waitUntilImageVisible(
+        // 메인 화면 로고 또는 로비 메뉴 중 먼저 보이는 쪽으로 판정 (한 프레임에서 동시 판별)
+        List<ImageMatch> matches = ImageAssert.waitForAnyImage(
                 driver,
-                AppiumConfig.TARGET_LOGO_RESOURCE,
-                AppiumConfig.LOGIN_PROCESSING_TIMEOUT_SEC
+                List.of(AppiumConfig.TARGET_LOGO_RESOURCE, AppiumConfig.GAME_STARTED_MARKER_RESOURCE),
+                timeout("verifyLoginSuccess", AppiumConfig.LOGIN_PROCESSING_TIMEOUT_SEC)
         );
 
-        if (mainScreenVisible) {
-            System.out.println("   ✅ 로그인 완료: 메인 화면 진입 확인");
+        if (!matches.isEmpty()) {
+            System.out.println("   ✅ 로그인 완료: 메인 화면 진입 확인 (" + matches.get(0).getResourcePath() + ")");
             return true;
         } else {
             System.out.println("   ❌ 로그인 실패: 메인 화면 마커 미발견");
@@ -261,4 +266,14 @@ public class LoginFlow {
             System.out.println("   ⚠️ 디버깅 캡처 실패: " + e.getMessage());
         }
     }
+
+    // 단계 실행 + 소요시간/결과 이력 기록 (RunHistoryStore)
+    private boolean step(String name, BooleanSupplier body) {
+        return RunHistoryStore.timed(HISTORY_PREFIX + name, body);
+    }
+
+    // 이력 기반 단계 타임아웃 (이력 부족 시 설정값 그대로)
+    private static int timeout(String name, int configuredSec) {
+        return RunHistoryStore.timeoutSec(HISTORY_PREFIX + name, configuredSec);
+    }
 }
@@ -0,0 +1,130 @@
+package com.example.appium_android_automation.flow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 화면 상태 그래프 = 상태(ScreenState) + 전이(FlowStep 동작)
+ * - identify: 보이는 상태 마커로 현재 상태 결정 (우선순위 = enum 선언 순서)
+ * - path: 현재 상태 → 목표 상태 최단 동작 경로 (BFS, 전이 1개 = 비용 1)
+ */
+public class ScreenGraph {
+
+    /** 전이 1개 (동작의 사후 조건 = 도착 상태 마커) */
+    public static final class Edge {
+        private final ScreenState from;
+        private final ScreenState to;
+        private final FlowStep step;
+
+        private Edge(ScreenState from, ScreenState to, FlowStep step) {
+            this.from = from;
+            this.to = to;
+            this.step = step;
+        }
+
+        public ScreenState getFrom() {
+            return from;
+        }
+
+        public ScreenState getTo() {
+            return to;
+        }
+
+        public FlowStep getStep() {
+            return step;
+        }
+
+        @Override
+        public String toString() {
+            return from + " -(" + step.getName() + ")-> " + to;
+        }
+    }
+
+    private final Map<ScreenState, List<Edge>> edges = new EnumMap<>(ScreenState.class);
+
+    /**
+     * 전이 추가 (선언 순서 = 같은 길이 경로 중 우선)
+     *
+     * @param arriveTimeoutSec 동작 후 도착 상태 마커 대기시간
+     */
+    public ScreenGraph edge(ScreenState from, ScreenState to, FlowStep step, int arriveTimeoutSec) {
+        step.expect(to.getMarker(), arriveTimeoutSec);
+        edges.computeIfAbsent(from, s -> new ArrayList<>()).add(new Edge(from, to, step));
+        return this;
+    }
+
+    public List<Edge> edgesFrom(ScreenState state) {
+        return edges.getOrDefault(state, Collections.emptyList());
+    }
+
+    // 모든 상태 식별 마커 (판별 우선순위 순)
+    public List<String> markers() {
+        List<String> markers = new ArrayList<>();
+        for (ScreenState state : ScreenState.values()) {
+            markers.add(state.getMarker());
+        }
+        return markers;
+    }
+
+    /**
+     * 스크린샷 1장으로 현재 상태 판별 (대기 없음)
+     *
+     * @return 현재 화면 상태 (어떤 마커도 보이지 않으면 null)
+     */
+    public ScreenState identify(FlowScreen screen) {
+        return identify(screen.visible(markers()));
+    }
+
+    // 보이는 마커 집합 → 우선순위가 가장 높은 상태 (없으면 null)
+    public ScreenState identify(Set<String> visible) {
+        for (ScreenState state : ScreenState.values()) {
+            if (visible.contains(state.getMarker())) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return from → to 최단 전이 목록 (같은 상태면 빈 목록, 도달 불가면 null)
+     */
+    public List<Edge> path(ScreenState from, ScreenState to) {
+        if (from == to) {
+            return Collections.emptyList();
+        }
+        Map<ScreenState, Edge> cameBy = new EnumMap<>(ScreenState.class);
+        Deque<ScreenState> queue = new ArrayDeque<>();
+        queue.add(from);
+        cameBy.put(from, null);
+
+        while (!queue.isEmpty()) {
+            ScreenState state = queue.poll();
+            for (Edge edge : edgesFrom(state)) {
+                if (cameBy.containsKey(edge.to)) {
+                    continue;
+                }
+                cameBy.put(edge.to, edge);
+                if (edge.to == to) {
+                    return trace(cameBy, to);
+                }
+                queue.add(edge.to);
+            }
+        }
+        return null;
+    }
+
+    private static List<Edge> trace(Map<ScreenState, Edge> cameBy, ScreenState to) {
+        List<Edge> path = new ArrayList<>();
+        for (Edge edge = cameBy.get(to); edge != null; edge = cameBy.get(edge.from)) {
+            path.add(edge);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
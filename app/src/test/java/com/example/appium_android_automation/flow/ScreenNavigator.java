@@ -0,0 +1,147 @@
+package com.example.appium_android_automation.flow;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.infra.TouchActionHelper;
+import com.example.appium_android_automation.marker.ScreenWaiter;
+import com.example.appium_android_automation.reporting.RunHistoryStore;
+import io.appium.java_client.android.AndroidDriver;
+
+import java.util.List;
+
+/**
+ * 화면 상태 기반 이동 - TC 전제조건을 "선행 TC 완료" 대신 "목표 화면"으로 충족
+ * - 현재 화면을 마커로 판별 → 목표 화면까지 최단 경로 실행 (이미 목표 화면이면 동작 없음)
+ * - 전이 도착 실패 시 현재 화면을 다시 판별해 그 위치에서 경로 재계산 (최대 SCREEN_NAV_MAX_REPLANS회)
+ *
+ * 예) new ScreenNavigator(driver).goTo(ScreenState.LOBBY)
+ */
+public class ScreenNavigator {
+
+    private static final String HISTORY_PREFIX = "ScreenNavigator.";
+
+    private final FlowScreen screen;
+    private final ScreenGraph graph;
+
+    public ScreenNavigator(AndroidDriver driver) {
+        this(new DriverFlowScreen(driver), standardGraph(driver));
+    }
+
+    ScreenNavigator(FlowScreen screen, ScreenGraph graph) {
+        this.screen = screen;
+        this.graph = graph;
+    }
+
+    /**
+     * 앱 화면 전이 (팝업 닫기는 Android Back 버튼)
+     */
+    static ScreenGraph standardGraph(AndroidDriver driver) {
+        int popup = AppiumConfig.POPUP_TRANSITION_TIMEOUT_SEC;
+        return new ScreenGraph()
+                .edge(ScreenState.TERMS, ScreenState.TITLE,
+                        FlowStep.tap("agreeTerms", AppiumConfig.TERMS_AGREE_ALL_BUTTON_RESOURCE, popup, 3000),
+                        AppiumConfig.MAIN_MARKER_TIMEOUT_SEC)
+                .edge(ScreenState.TITLE, ScreenState.MAIN,
+                        FlowStep.action("reLogin", () -> new LoginFlow(driver).runReLogin()),
+                        AppiumConfig.LOGIN_PROCESSING_TIMEOUT_SEC)
+                .edge(ScreenState.MAIN, ScreenState.LOBBY,
+                        FlowStep.action("dragCheek", () -> {
+                            TouchActionHelper.dragCheekAdaptive(driver);
+                            return true;
+                        }),
+                        AppiumConfig.GAME_START_VERIFY_TIMEOUT_SEC)
+                .edge(ScreenState.LOBBY, ScreenState.MENU_POPUP,
+                        FlowStep.tap("openMenu", AppiumConfig.MENU_BUTTON_RESOURCE, popup, 1500), popup)
+                .edge(ScreenState.MENU_POPUP, ScreenState.SETTINGS_POPUP,
+                        FlowStep.tap("openSettings", AppiumConfig.SETTINGS_BUTTON_RESOURCE, popup, 1500), popup)
+                .edge(ScreenState.SETTINGS_POPUP, ScreenState.SETTINGS_ETC,
+                        FlowStep.tap("openEtcTab", AppiumConfig.ETC_BUTTON_RESOURCE, popup, 1000), popup)
+                .edge(ScreenState.SETTINGS_ETC, ScreenState.LOGOUT_CONFIRM,
+                        FlowStep.tap("tapLogout", AppiumConfig.LOGOUT_BUTTON_RESOURCE, popup, 1000), popup)
+                .edge(ScreenState.LOGOUT_CONFIRM, ScreenState.TERMS,
+                        FlowStep.tap("confirmLogout", AppiumConfig.LOGOUT_CONFIRM_BUTTON_RESOURCE, popup, 3000),
+                        AppiumConfig.LOGOUT_VERIFICATION_TIMEOUT_SEC)
+                // 팝업 닫기 (한 단계 뒤로)
+                .edge(ScreenState.MENU_POPUP, ScreenState.LOBBY, back(driver), popup)
+                .edge(ScreenState.SETTINGS_POPUP, ScreenState.MENU_POPUP, back(driver), popup)
+                .edge(ScreenState.SETTINGS_ETC, ScreenState.MENU_POPUP, back(driver), popup)
+                .edge(ScreenState.LOGOUT_CONFIRM, ScreenState.SETTINGS_ETC, back(driver), popup);
+    }
+
+    private static FlowStep back(AndroidDriver driver) {
+        return FlowStep.action("back", () -> {
+            Long baseline = ScreenWaiter.baselineBeforeAction(driver);
+            driver.navigate().back();
+            ScreenWaiter.afterAction(driver, baseline, 1500);
+            return true;
+        });
+    }
+
+    /**
+     * 현재 화면 판별 - 상태 마커 중 하나라도 보일 때까지 최대 SCREEN_IDENTIFY_TIMEOUT_SEC 대기
+     * (콜드 스타트 스플래시/로딩 화면은 멈춰 있어도 마커가 없으므로 시도 횟수가 아닌 시간으로 대기)
+     *
+     * @return 현재 화면 상태 (시간 내에 어떤 마커도 보이지 않으면 null)
+     */
+    public ScreenState current() {
+        ScreenState state = graph.identify(screen.waitForAny(graph.markers(), AppiumConfig.SCREEN_IDENTIFY_TIMEOUT_SEC));
+        if (state == null) {
+            System.out.println("   ❓ [ScreenNavigator] 현재 화면 판별 불가 (" + AppiumConfig.SCREEN_IDENTIFY_TIMEOUT_SEC + "초)");
+        }
+        return state;
+    }
+
+    /**
+     * 목표 화면으로 이동
+     *
+     * @return 목표 화면 도착 시 true (판별 불가/경로 없음/재계산 초과 시 false)
+     */
+    public boolean goTo(ScreenState target) {
+        ScreenState from = current();
+        for (int plan = 0; from != null; plan++) {
+            if (from == target) {
+                System.out.println("   📍 [ScreenNavigator] 현재 화면 " + target + " (이동 불필요)");
+                return true;
+            }
+            if (plan > AppiumConfig.SCREEN_NAV_MAX_REPLANS) {
+                System.out.println("   ❌ [ScreenNavigator] 경로 재계산 한도 초과 (" + from + " → " + target + ")");
+                return false;
+            }
+            List<ScreenGraph.Edge> path = graph.path(from, target);
+            if (path == null) {
+                System.out.println("   ❌ [ScreenNavigator] " + from + " → " + target + " 경로 없음");
+                return false;
+            }
+            System.out.println("   🧭 [ScreenNavigator] " + from + " → " + target + " (" + path.size() + "단계)");
+            from = follow(path, target);
+        }
+        return false;
+    }
+
+    // 경로 실행 → 끝까지 가면 목표 상태, 중간 전이 실패 시 다시 판별한 현재 상태
+    private ScreenState follow(List<ScreenGraph.Edge> path, ScreenState target) {
+        for (ScreenGraph.Edge edge : path) {
+            System.out.println("   ▶ " + edge);
+            String key = HISTORY_PREFIX + edge.getFrom() + ">" + edge.getTo();
+            if (!RunHistoryStore.timed(key, () -> traverse(edge, key))) {
+                ScreenState now = current();
+                System.out.println("   ⚠️ " + edge.getTo() + " 미도착 → 현재 " + now + " 기준 재계산");
+                return now;
+            }
+        }
+        return target;
+    }
+
+    private boolean traverse(ScreenGraph.Edge edge, String key) {
+        FlowStep step = edge.getStep();
+        try {
+            if (!step.runAction(screen)) {
+                return false;
+            }
+        } catch (Exception e) {
+            System.out.println("   ❌ " + step.getName() + " 예외: " + e.getMessage());
+            return false;
+        }
+        return screen.waitFor(step.getPostcondition(),
+                RunHistoryStore.timeoutSec(key, step.getPostTimeoutSec()));
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.appium_android_automation.flow;
+
+import com.example.appium_android_automation.reporting.RunHistoryStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.Point;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.example.appium_android_automation.infra.AppiumConfig.*;
+import static org.junit.Assert.*;
+
+/**
+ * ScreenGraph/ScreenNavigator 검증 - 앱 화면 그래프를 가짜 화면으로 이동 (디바이스 불필요)
+ */
+public class ScreenNavigatorTest {
+
+    private final ScreenGraph graph = ScreenNavigator.standardGraph(null);
+    private FakeScreen screen;
+
+    @Before
+    public void setUp() {
+        RunHistoryStore.setDevice("screen-navigator-test");
+        screen = new FakeScreen();
+    }
+
+    @After
+    public void tearDown() {
+        RunHistoryStore.setDevice("default");
+    }
+
+    @Test
+    public void shortestPathPrefersClosingPopupsOverLoggingOut() {
+        assertEquals(List.of("back", "back", "back"),
+                names(graph.path(ScreenState.LOGOUT_CONFIRM, ScreenState.LOBBY)));
+        assertEquals(List.of("openMenu", "openSettings", "openEtcTab", "tapLogout", "confirmLogout"),
+                names(graph.path(ScreenState.LOBBY, ScreenState.TERMS)));
+        assertTrue(graph.path(ScreenState.MAIN, ScreenState.MAIN).isEmpty());
+    }
+
+    @Test
+    public void popupWinsOverScreenBehindIt() {
+        screen.show(GAME_STARTED_MARKER_RESOURCE, MENU_BUTTON_RESOURCE, MENU_POPUP_MARKER_RESOURCE);
+
+        assertEquals(ScreenState.MENU_POPUP, graph.identify(screen));
+    }
+
+    @Test
+    public void startsFromCurrentScreenInsteadOfFromScratch() {
+        screen.show(GAME_STARTED_MARKER_RESOURCE, SETTINGS_POPUP_MARKER_RESOURCE, ETC_BUTTON_RESOURCE)
+                .onTap(ETC_BUTTON_RESOURCE, GAME_STARTED_MARKER_RESOURCE, SETTINGS_POPUP_MARKER_RESOURCE,
+                        LOGOUT_BUTTON_RESOURCE)
+                .onTap(LOGOUT_BUTTON_RESOURCE, LOGOUT_CONFIRM_POPUP_RESOURCE, LOGOUT_CONFIRM_BUTTON_RESOURCE)
+                .onTap(LOGOUT_CONFIRM_BUTTON_RESOURCE, TERMS_SCREEN_MARKER_RESOURCE);
+
+        assertTrue(navigator().goTo(ScreenState.TERMS));
+
+        assertEquals(List.of(ETC_BUTTON_RESOURCE, LOGOUT_BUTTON_RESOURCE, LOGOUT_CONFIRM_BUTTON_RESOURCE), screen.taps);
+    }
+
+    @Test
+    public void alreadyOnTargetDoesNothing() {
+        screen.show(GAME_STARTED_MARKER_RESOURCE, MENU_BUTTON_RESOURCE);
+
+        assertTrue(navigator().goTo(ScreenState.LOBBY));
+
+        assertTrue(screen.taps.isEmpty());
+        assertEquals("판별 스크린샷 1장", 1, screen.frames);
+    }
+
+    @Test
+    public void unexpectedArrivalReplansFromWhereItLanded() {
+        // 메뉴 버튼이 마지막으로 연 설정 팝업을 바로 띄우는 경우
+        screen.show(GAME_STARTED_MARKER_RESOURCE, MENU_BUTTON_RESOURCE)
+                .onTap(MENU_BUTTON_RESOURCE, GAME_STARTED_MARKER_RESOURCE, SETTINGS_POPUP_MARKER_RESOURCE,
+                        ETC_BUTTON_RESOURCE)
+                .onTap(ETC_BUTTON_RESOURCE, SETTINGS_POPUP_MARKER_RESOURCE, LOGOUT_BUTTON_RESOURCE);
+
+        assertTrue(navigator().goTo(ScreenState.SETTINGS_ETC));
+
+        assertEquals(List.of(MENU_BUTTON_RESOURCE, ETC_BUTTON_RESOURCE), screen.taps);
+    }
+
+    @Test
+    public void unknownScreenFailsWithoutTapping() {
+        screen.show();
+
+        assertFalse(navigator().goTo(ScreenState.LOBBY));
+
+        assertTrue(screen.taps.isEmpty());
+        assertEquals("판별은 시간 기준 대기", SCREEN_IDENTIFY_TIMEOUT_SEC, screen.waitedSec);
+    }
+
+    @Test
+    public void coldStartLoadingScreenIsWaitedOut() {
+        // 스플래시/로딩 화면은 멈춰 있어 안정화 대기는 즉시 끝남 → 마커가 뜰 때까지 시간으로 대기
+        screen.show().appearsAfterSec(10, TARGET_LOGO_RESOURCE);
+
+        assertTrue(navigator().goTo(ScreenState.MAIN));
+
+        assertTrue(screen.taps.isEmpty());
+    }
+
+    private ScreenNavigator navigator() {
+        return new ScreenNavigator(screen, graph);
+    }
+
+    private static List<String> names(List<ScreenGraph.Edge> path) {
+        return path.stream().map(edge -> edge.getStep().getName()).collect(Collectors.toList());
+    }
+
+    /**
+     * 보이는 마커 집합 + "터치한 마커 → 다음에 보이는 마커" 표로 움직이는 가짜 화면
+     */
+    private static class FakeScreen implements FlowScreen {
+
+        private final Map<String, Set<String>> afterTap = new HashMap<>();
+        private final List<String> pointOwners = new ArrayList<>();
+        private final List<String> taps = new ArrayList<>();
+        private Set<String> showing = new LinkedHashSet<>();
+        private Set<String> late = new LinkedHashSet<>();
+        private int lateAfterSec;
+        private int frames;
+        private int waitedSec;
+
+        FakeScreen show(String... markers) {
+            showing = new LinkedHashSet<>(List.of(markers));
+            return this;
+        }
+
+        // sec초 이상 기다리면 markers가 보임 (로딩 화면 흉내)
+        FakeScreen appearsAfterSec(int sec, String... markers) {
+            lateAfterSec = sec;
+            late = new LinkedHashSet<>(List.of(markers));
+            return this;
+        }
+
+        FakeScreen onTap(String marker, String... next) {
+            afterTap.put(marker, new LinkedHashSet<>(List.of(next)));
+            return this;
+        }
+
+        @Override
+        public boolean waitFor(String marker, int timeoutSec) {
+            return showing.contains(marker);
+        }
+
+        @Override
+        public Set<String> visible(Collection<String> markers) {
+            frames++;
+            Set<String> found = new LinkedHashSet<>(markers);
+            found.retainAll(showing);
+            return found;
+        }
+
+        @Override
+        public Set<String> waitForAny(Collection<String> markers, int timeoutSec) {
+            waitedSec = timeoutSec;
+            if (!late.isEmpty() && timeoutSec >= lateAfterSec) {
+                showing = late;
+                late = new LinkedHashSet<>();
+            }
+            return visible(markers);
+        }
+
+        @Override
+        public Point find(String marker, int timeoutSec) {
+            if (!showing.contains(marker)) {
+                return null;
+            }
+            if (!pointOwners.contains(marker)) {
+                pointOwners.add(marker);
+            }
+            return new Point(pointOwners.indexOf(marker), 0);
+        }
+
+        @Override
+        public void tap(Point point) {
+            String marker = pointOwners.get(point.getX());
+            taps.add(marker);
+            if (afterTap.containsKey(marker)) {
+                showing = afterTap.get(marker);
+            }
+        }
+
+        @Override
+        public void settle(int maxWaitMs) {
+        }
+
+        @Override
+        public void capture(String name) {
+        }
+
+        @Override
+        public void checkpoint() {
+        }
+    }
+}
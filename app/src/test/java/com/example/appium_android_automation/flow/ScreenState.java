@@ -0,0 +1,31 @@
+package com.example.appium_android_automation.flow;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+
+/**
+ * 앱 화면 상태 (상태마다 식별 마커 1개)
+ *
+ * 선언 순서 = 판별 우선순위: 팝업은 뒤에 깔린 화면의 마커도 함께 보이므로
+ * 위에 겹쳐 뜨는 화면부터 선언 (예: 설정 팝업이 보이면 로비 마커가 보여도 SETTINGS_POPUP)
+ */
+public enum ScreenState {
+
+    LOGOUT_CONFIRM(AppiumConfig.LOGOUT_CONFIRM_POPUP_RESOURCE),   // 로그아웃 확인 팝업
+    SETTINGS_ETC(AppiumConfig.LOGOUT_BUTTON_RESOURCE),           // 설정 팝업 > 기타 탭 (로그아웃 버튼 노출)
+    SETTINGS_POPUP(AppiumConfig.SETTINGS_POPUP_MARKER_RESOURCE), // 설정 팝업
+    MENU_POPUP(AppiumConfig.MENU_POPUP_MARKER_RESOURCE),         // 메뉴 팝업
+    LOBBY(AppiumConfig.GAME_STARTED_MARKER_RESOURCE),            // 게임 로비
+    TERMS(AppiumConfig.TERMS_SCREEN_MARKER_RESOURCE),            // 이용약관 (최초 실행/로그아웃 직후)
+    TITLE(AppiumConfig.GOOGLE_LOGIN_BUTTON_RESOURCE),            // 타이틀 (로그인 전)
+    MAIN(AppiumConfig.TARGET_LOGO_RESOURCE);                     // 메인 로고 화면 (로그인 후, 볼 당기기 전)
+
+    private final String marker;
+
+    ScreenState(String marker) {
+        this.marker = marker;
+    }
+
+    public String getMarker() {
+        return marker;
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.appium_android_automation.infra;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * adb 서버 소켓(기본 127.0.0.1:5037)에 직접 연결한 디바이스 셸 채널 1개
+ * - adb 프로세스를 띄우지 않음: host:transport:{serial} → shell,v2,raw: (대화형, pty 없음)
+ * - 한 번 연결한 셸에 명령을 계속 보내 재사용 (명령 끝은 종료 코드를 담은 표식 줄로 판별)
+ * - 리더 스레드가 stdout/stderr 패킷을 계속 비우므로 출력이 많아도 막히지 않음
+ * - stdout은 패킷마다 새로 받은 부분만 디코딩/검사 (출력 크기에 비례하는 비용)
+ *
+ * shell v2 패킷: [id 1바이트][길이 4바이트 LE][데이터] (0=stdin, 1=stdout, 2=stderr, 3=exit)
+ */
+public class AdbShellChannel implements AutoCloseable {
+
+    private static final int ID_STDIN = 0;
+    private static final int ID_STDOUT = 1;
+    private static final int ID_STDERR = 2;
+    private static final int ID_EXIT = 3;
+
+    private static final String MARKER_PREFIX = "__ADB_END_";
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+
+    /** 명령 실행 결과 */
+    public static final class Result {
+        public final int exitCode;
+        public final String stdout;
+        public final String stderr;
+
+        Result(int exitCode, String stdout, String stderr) {
+            this.exitCode = exitCode;
+            this.stdout = stdout;
+            this.stderr = stderr;
+        }
+
+        public boolean isSuccess() {
+            return exitCode == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "exit=" + exitCode + " stdout=" + stdout.trim() + (stderr.isEmpty() ? "" : " stderr=" + stderr.trim());
+        }
+    }
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final Thread reader;
+
+    // 리더 스레드가 채우는 출력 버퍼 (this 잠금) - stdout은 받는 즉시 문자로 누적
+    private final StringBuilder stdout = new StringBuilder();
+    private final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private ByteBuffer undecoded = ByteBuffer.allocate(0);  // 패킷 경계에서 잘린 UTF-8 바이트
+    private Consumer<String> listener;
+    private int listened;
+    private int lineSearched;  // 줄바꿈을 찾아본 위치 (긴 줄을 패킷마다 처음부터 다시 찾지 않음)
+    private volatile boolean closed;
+    private volatile String closeReason;
+
+    private int seq;
+
+    private AdbShellChannel(Socket socket) throws IOException {
+        this.socket = socket;
+        this.out = socket.getOutputStream();
+        this.reader = new Thread(this::readLoop, "adb-shell-" + THREAD_SEQ.incrementAndGet());
+        this.reader.setDaemon(true);
+    }
+
+    /**
+     * adb 서버를 통해 디바이스 셸을 엽니다.
+     *
+     * @param serial 디바이스 시리얼 (null이면 연결된 단일 디바이스)
+     */
+    public static AdbShellChannel open(String host, int port, String serial, int connectTimeoutMs) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), connectTimeoutMs);
+            socket.setTcpNoDelay(true);
+            request(socket, serial != null ? "host:transport:" + serial : "host:transport-any");
+            request(socket, "shell,v2,raw:");
+            AdbShellChannel channel = new AdbShellChannel(socket);
+            channel.reader.start();
+            return channel;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 명령 1개 실행 (같은 셸 세션 재사용)
+     * - 시간 초과 시 채널을 닫고 TimeoutException (셸 상태를 알 수 없으므로 재사용하지 않음)
+     */
+    public Result exec(String command, long timeoutMs) throws IOException, TimeoutException {
+        return exec(command, timeoutMs, null);
+    }
+
+    /**
+     * @param onLine stdout 줄 단위 실시간 전달 (리더 스레드에서 호출, null 가능)
+     */
+    public synchronized Result exec(String command, long timeoutMs, Consumer<String> onLine)
+            throws IOException, TimeoutException {
+        ensureOpen();
+        stdout.setLength(0);
+        stderr.reset();
+        decoder.reset();
+        undecoded = ByteBuffer.allocate(0);
+        listener = onLine;
+        listened = 0;
+        lineSearched = 0;
+
+        // 명령 출력이 줄바꿈 없이 끝나도 표식이 별도 줄이 되도록 앞에 \n 추가 (결과에서 제거)
+        String marker = MARKER_PREFIX + (++seq) + "__";
+        Pattern end = Pattern.compile("\n" + marker + " (\\d+)\n");
+        int markerLineMax = marker.length() + 6;  // \n + 표식 + 공백 + 종료 코드(최대 3자리) + \n
+        int scanned = 0;
+        writePacket(ID_STDIN, (command + "\nprintf '\\n%s %d\\n' '" + marker + "' $?\n").getBytes(StandardCharsets.UTF_8));
+
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try {
+            while (true) {
+                // 지난 검사 이후 받은 부분만 검사 (경계에 걸친 표식 줄을 위해 표식 줄 길이만큼 겹침)
+                Matcher m = end.matcher(stdout).region(Math.max(0, scanned - markerLineMax), stdout.length());
+                if (m.find()) {
+                    return new Result(Integer.parseInt(m.group(1)), stdout.substring(0, m.start()),
+                            stderr.toString(StandardCharsets.UTF_8));
+                }
+                scanned = stdout.length();
+                if (closed) {
+                    throw new EOFException("셸 채널 종료: " + closeReason);
+                }
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) {
+                    close();
+                    throw new TimeoutException("셸 명령 시간 초과 (" + timeoutMs + "ms): " + command);
+                }
+                wait(left);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IOException("셸 명령 대기 중 인터럽트", e);
+        } finally {
+            listener = null;
+        }
+    }
+
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 이미 끊긴 소켓
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new EOFException("셸 채널 종료: " + closeReason);
+        }
+    }
+
+    private void writePacket(int id, byte[] data) throws IOException {
+        byte[] header = {(byte) id, (byte) data.length, (byte) (data.length >>> 8),
+                (byte) (data.length >>> 16), (byte) (data.length >>> 24)};
+        out.write(header);
+        out.write(data);
+        out.flush();
+    }
+
+    // 패킷 수신 → 버퍼에 추가 후 대기 중인 exec 깨움
+    private void readLoop() {
+        try (DataInputStream in = new DataInputStream(socket.getInputStream())) {
+            byte[] header = new byte[5];
+            while (true) {
+                in.readFully(header);
+                int len = (header[1] & 0xFF) | (header[2] & 0xFF) << 8 | (header[3] & 0xFF) << 16 | (header[4] & 0xFF) << 24;
+                byte[] data = new byte[len];
+                in.readFully(data);
+                synchronized (this) {
+                    if (header[0] == ID_STDOUT) {
+                        appendStdout(data, len);
+                        deliverLines();
+                    } else if (header[0] == ID_STDERR) {
+                        stderr.write(data, 0, len);
+                    } else if (header[0] == ID_EXIT) {
+                        closeReason = "셸 종료 (exit=" + (len > 0 ? data[0] & 0xFF : -1) + ")";
+                        break;
+                    }
+                    notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            closeReason = closed ? "close() 호출" : e.getMessage();
+        } finally {
+            synchronized (this) {
+                closed = true;
+                notifyAll();
+            }
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 종료 중
+            }
+        }
+    }
+
+    // 새 패킷 바이트를 문자로 변환해 추가 (잘린 멀티바이트 문자는 다음 패킷과 합쳐 변환)
+    private void appendStdout(byte[] data, int len) {
+        ByteBuffer in = ByteBuffer.allocate(undecoded.remaining() + len);
+        in.put(undecoded).put(data, 0, len).flip();
+        CharBuffer chars = CharBuffer.allocate(in.remaining());
+        decoder.decode(in, chars, false);
+        stdout.append(chars.flip());
+        undecoded = in;
+    }
+
+    // 완성된 stdout 줄을 실시간 리스너로 전달 (표식과 표식 앞에 붙인 빈 줄 제외)
+    private void deliverLines() {
+        if (listener == null) {
+            return;
+        }
+        int nl;
+        while ((nl = stdout.indexOf("\n", Math.max(listened, lineSearched))) >= 0) {
+            if (markerAt(listened) > 0 || (nl == listened && markerAt(nl + 1) > 0)) {
+                listened = stdout.length();
+                return;
+            }
+            if (nl == listened && markerAt(nl + 1) == 0) {
+                return;  // 표식 앞 빈 줄인지 아직 알 수 없음 → 다음 패킷에서 판단
+            }
+            String line = stdout.substring(listened, nl);
+            listened = nl + 1;
+            listener.accept(line);
+        }
+        lineSearched = stdout.length();
+    }
+
+    // pos부터 표식 접두어 비교: 1 = 표식, 0 = 받은 부분까지는 접두어와 같음(판단 보류), -1 = 표식 아님
+    private int markerAt(int pos) {
+        int n = Math.min(MARKER_PREFIX.length(), stdout.length() - pos);
+        for (int i = 0; i < n; i++) {
+            if (stdout.charAt(pos + i) != MARKER_PREFIX.charAt(i)) {
+                return -1;
+            }
+        }
+        return n == MARKER_PREFIX.length() ? 1 : 0;
+    }
+
+    // adb 스마트 소켓 요청: 4자리 16진수 길이 + 본문 → OKAY / FAIL{len}{msg}
+    private static void request(Socket socket, String service) throws IOException {
+        byte[] body = service.getBytes(StandardCharsets.UTF_8);
+        OutputStream os = socket.getOutputStream();
+        os.write(String.format("%04x", body.length).getBytes(StandardCharsets.US_ASCII));
+        os.write(body);
+        os.flush();
+
+        InputStream is = socket.getInputStream();
+        String status = new String(readExactly(is, 4), StandardCharsets.US_ASCII);
+        if ("OKAY".equals(status)) {
+            return;
+        }
+        String message = status;
+        if ("FAIL".equals(status)) {
+            int len = Integer.parseInt(new String(readExactly(is, 4), StandardCharsets.US_ASCII), 16);
+            message = new String(readExactly(is, len), StandardCharsets.UTF_8);
+        }
+        throw new IOException("adb 요청 실패 (" + service + "): " + message);
+    }
+
+    private static byte[] readExactly(InputStream is, int n) throws IOException {
+        byte[] buf = new byte[n];
+        new DataInputStream(is).readFully(buf);
+        return buf;
+    }
+}
@@ -1,4 +1,9 @@
 package com.example.appium_android_automation.infra;
+
+import com.example.appium_android_automation.marker.EvidenceWriter;
+
+import java.util.Map;
+
 /**
  * 테스트 환경 설정 중앙 관리
  * - Appium 서버, 앱 정보, 타임아웃, 이미지 리소스 경로
@@ -9,14 +14,93 @@ public class AppiumConfig {
     public static final String APP_PACKAGE = "com.epidgames.trickcalrevive";
     public static final String APP_ACTIVITY = "com.google.firebase.MessagingUnityPlayerActivity";
 
+    // 멀티 디바이스 병렬 실행 (DevicePool) - 디바이스 i번: Appium 포트 BASE+i, systemPort BASE+i
+    public static final String DEVICES_PROPERTY = "devices";       // -Ddevices=udid1,udid2 (미지정 시 adb devices 탐색)
+    public static final String APPIUM_HOST = "http://127.0.0.1";
+    public static final int APPIUM_BASE_PORT = 4723;
+    public static final int SYSTEM_PORT_BASE = 8200;               // UiAutomator2 systemPort (디바이스마다 달라야 함)
+
+    // 디바이스 셸 (DeviceShell) - adb 서버 소켓에 직접 연결해 디바이스당 셸 1개 재사용
+    public static final String ADB_SERVER_HOST = "127.0.0.1";
+    public static final int ADB_SERVER_PORT = 5037;
+    public static final int SHELL_CONNECT_TIMEOUT_MS = 3000;
+    public static final int SHELL_COMMAND_TIMEOUT_MS = 15000;
+
+    // 구글 시트 비동기 일괄 기록 (AsyncSheetsWriter) - false면 TC마다 즉시 update 호출 (기존 방식)
+    public static final boolean SHEETS_ASYNC_REPORTING = true;
+    public static final int SHEETS_BATCH_MAX = 20;                 // 이 개수가 모이면 즉시 전송
+    public static final int SHEETS_FLUSH_INTERVAL_MS = 2000;       // 첫 결과 후 이 시간이 지나면 전송
+    public static final int SHEETS_MAX_RETRIES = 4;                // 전송 실패 시 재시도 횟수
+    public static final int SHEETS_RETRY_BACKOFF_MS = 1000;        // 첫 재시도 대기 (이후 2배씩)
+    public static final int SHEETS_SHUTDOWN_FLUSH_MS = 30000;      // flush/종료 시 최대 대기
+
+    // 비동기 증거 저장 (EvidenceWriter) - false면 테스트 스레드에서 바로 파일 복사 (기존 방식)
+    public static final boolean ASYNC_EVIDENCE = true;
+    public static final int EVIDENCE_WRITER_THREADS = 2;           // 축소/압축/기록 워커 수
+    public static final int EVIDENCE_QUEUE_CAPACITY = 32;          // 대기 가능한 스크린샷 수 (초과 시 DropPolicy)
+    public static final EvidenceWriter.DropPolicy EVIDENCE_DROP_POLICY = EvidenceWriter.DropPolicy.BLOCK;
+    public static final int EVIDENCE_MAX_LONG_SIDE = 0;            // 저장 시 긴 변 상한(px), 0 = 원본 해상도
+    public static final int EVIDENCE_PNG_COMPRESSION = 9;          // PNG deflate 레벨 0~9, -1 = 재압축 안 함
+    public static final int EVIDENCE_FLUSH_TIMEOUT_MS = 30000;     // tearDown/종료 시 기록 완료 최대 대기
+    public static final boolean EVIDENCE_DEDUP = true;             // 같은 화면은 blob 1개 + manifest 항목 (EvidenceStore)
+    public static final int EVIDENCE_DEDUP_DISTANCE = -1;          // 시각적 동일로 볼 dHash 거리 (-1 = 정확 일치만, dHash는 글자/작은 위젯 변화를 못 봄)
+    public static final int EVIDENCE_DEDUP_PIXEL_TOLERANCE = 8;    // 시각적 일치 확정: 모든 픽셀 밝기 차이가 이 값 이하 (0~255)
+
+    // 화면 블랙박스 (FlightRecorder) - 최근 프레임을 메모리에 보관, Fail/Block 시에만 evidence/flight 에 저장
+    public static final boolean FLIGHT_RECORDER = true;
+    public static final int FLIGHT_RECORDER_FRAMES = 30;           // 보관 프레임 수
+    public static final int FLIGHT_RECORDER_MAX_WIDTH = 480;       // 축소 후 최대 크기 (힙 = 프레임 수 × 가로 × 세로 바이트)
+    public static final int FLIGHT_RECORDER_MAX_HEIGHT = 270;
+    public static final int FLIGHT_RECORDER_INTERVAL_MS = 1000;    // 단계 경계에서 이 시간 동안 기록이 없었으면 테스트 스레드에서 1장 캡처
+
+    // 지연시간 측정 (Metrics) - 단계/Appium 명령/매칭/대기/시트 기록 히스토그램 → build/reports/metrics
+    public static final boolean METRICS_ENABLED = true;
+
+    // 비동기 명령 (AsyncDriver) - JDK 21+는 가상 스레드, 그 외에는 전 디바이스 공유 고정 풀 크기
+    public static final int ASYNC_DRIVER_THREADS = 8;
+
+    // 세션 재사용 (SessionPool) - false면 테스트마다 새 세션 생성/종료 (기존 방식)
+    public static final boolean REUSE_SESSIONS = true;
+
+    // 선언형 플로우 (FlowEngine) - 실패 단계만 재시도, 중간 실패 후 재실행 시 체크포인트부터 재개
+    public static final int FLOW_STEP_MAX_ATTEMPTS = 2;            // 단계당 기본 최대 시도 횟수
+    public static final int FLOW_CHECKPOINT_MAX_AGE_MIN = 60;      // 이보다 오래된 체크포인트는 무시
+
+    // 화면 상태 이동 (ScreenNavigator) - 현재 화면 판별 후 목표 화면까지 최단 경로 실행
+    public static final int SCREEN_IDENTIFY_TIMEOUT_SEC = 15;      // 상태 마커가 하나라도 보일 때까지 대기 (콜드 스타트 로딩 포함, 기존 로고 대기 10초 이상)
+    public static final int SCREEN_NAV_MAX_REPLANS = 3;            // 전이 실패 시 경로 재계산 최대 횟수
+
     // 이미지 검증 타임아웃(초)
     public static final int MAIN_MARKER_TIMEOUT_SEC = 30;          // 메인 화면 로고 대기
     public static final int GAME_START_VERIFY_TIMEOUT_SEC = 15;    // 다음 화면 진입 대기
     public static final int EXIT_BUTTON_TIMEOUT_SEC = 10;          // 종료 버튼 탐지 대기
     public static final int EXIT_VERIFICATION_WAIT_MS = 3000;      // 앱 종료 확인 대기
 
-    //권한 팝업 처리용
-    public static final int IMPLICIT_WAIT_SEC = 10;                // 기본 암시적 대기시간
+    // 로컬 이미지 매칭 (JVM 내부 ZNCC) - false면 Appium 서버 AppiumBy.image() 사용
+    public static final boolean USE_LOCAL_IMAGE_MATCHING = true;
+    public static final double IMAGE_MATCH_THRESHOLD = 0.4;       // Appium images 플러그인 기본값과 동일
+    public static final int IMAGE_POLL_INTERVAL_MS = 500;          // 스크린샷 재촬영 간격
+
+    // 템플릿 이미지를 캡처한 기준 해상도의 긴 변(px) - 레거시 드래그 좌표(3120x1440 기준)와 동일 단말
+    public static final int TEMPLATE_REFERENCE_LONG_SIDE = 3120;
+    public static final int TEMPLATE_REFERENCE_SHORT_SIDE = 1440;   // 기준 해상도 짧은 변 (DeviceGeometry.fromReference)
+    // 다른 해상도 단말에서 캡처한 템플릿의 긴 변(px) - 미지정 템플릿은 TEMPLATE_REFERENCE_LONG_SIDE
+    public static final Map<String, Integer> TEMPLATE_REFERENCE_LONG_SIDES = Map.of();
+    // 해상도가 다른 단말에서 기준 배율 주변으로 추가 탐색할 상대 배율 (가까운 순)
+    public static final double[] TEMPLATE_SCALE_STEPS = {1.0, 0.9, 1.1, 0.8, 1.2};
+    // 배율 캐시에 기록할 최소 점수 (오탐 배율이 고정되는 것 방지)
+    public static final double SCALE_CACHE_MIN_SCORE = 0.8;
+    // 탐색 영역 학습: 최소 성공 횟수 / 학습 영역 여백(템플릿 크기 대비)
+    public static final int REGION_LEARN_MIN_SAMPLES = 3;
+    public static final double REGION_LEARN_MARGIN = 0.5;
+    public static final int REGION_WIDEN_AFTER_MISSES = 5;         // 학습 영역에서 연속 이만큼 못 찾으면 1회 선언 영역/전체 화면 탐색
+
+    // 화면 전환 대기 (지각 해시 비교) - 고정 sleep 대체
+    public static final int SCREEN_SETTLE_POLL_MS = 200;           // 프레임 비교 간격
+    public static final int SCREEN_STABLE_FRAMES = 2;              // 연속 몇 프레임 동일하면 안정화로 판단
+    public static final int SCREEN_STABLE_DISTANCE = 2;            // 동일 화면으로 보는 해시 거리 (64bit 중)
+    public static final int SCREEN_CHANGE_DISTANCE = 5;            // 화면 전환으로 보는 해시 거리
+    public static final int SCREEN_BASELINE_MAX_AGE_MS = 5000;     // 기준 화면으로 재사용할 직전 프레임 유효시간
 
 
     // 이미지 매칭용 참조 파일 경로
@@ -30,8 +114,22 @@ public class AppiumConfig {
     public static final int RESOURCE_DOWNLOAD_TIMEOUT_SEC = 360;
     /** 권한 팝업 대기시간 */
     public static final int PERMISSION_POPUP_TIMEOUT_SEC = 10;
-    /** 다운로드 완료 확인 주기 (Polling 간격) */
+    /** 다운로드 완료 확인 최대 주기 (적응형 폴링 backoff 상한) */
     public static final int DOWNLOAD_CHECK_INTERVAL_SEC = 10;
+    /** 이력이 없을 때 다운로드 예상 소요시간 (기존 고정 최소 대기값) */
+    public static final int DOWNLOAD_EXPECTED_SEC = 270;
+
+    // 적응형 폴링 (AdaptivePoller) - 과거 완료 시간 기반 검사 스케줄
+    public static final double POLL_EARLY_START_RATIO = 0.5;       // 예상 시간의 몇 배 시점부터 검사 시작
+    public static final double POLL_DISTANCE_RATIO = 0.25;         // 검사 간격 = 예상 시각까지 남은(지난) 시간 × 비율
+    public static final int POLL_MIN_INTERVAL_MS = 2000;           // 최소 검사 간격
+    public static final int POLL_BURST_CHECKS = 3;                 // 화면 변화 감지 후 최소 간격으로 검사할 횟수
+
+    // 단계 이력 기반 타임아웃 (RunHistoryStore) - build/reports/history/steps.csv
+    public static final int HISTORY_WINDOW_SIZE = 50;              // 디바이스/단계별로 유지할 최근 성공 이력 수
+    public static final int HISTORY_MIN_SAMPLES = 10;              // 이력 타임아웃을 적용할 최소 성공 횟수
+    public static final double HISTORY_TIMEOUT_MARGIN = 1.5;       // 타임아웃 = p99 × 여유 배율
+    public static final int HISTORY_MIN_TIMEOUT_SEC = 3;           // 이력 타임아웃 하한
 
     // Native UI 식별자 (Inspector 정보 기반)
     /** Android 표준 알림 권한 허용 버튼 ID */
@@ -97,10 +195,24 @@ public class AppiumConfig {
     /** 로그아웃 완료 확인 대기시간 */
     public static final int LOGOUT_VERIFICATION_TIMEOUT_SEC = 15;
 
-    // 레거시: 고정 좌표 드래그 (특정 해상도 전용, 사용 비권장)
+    // 레거시: 고정 좌표 드래그 (3120x1440 기준 좌표, 실행 시 현재 해상도로 변환)
     public static final int CHEEK_DRAG_START_X = 1560;
     public static final int CHEEK_DRAG_START_Y = 720;
     public static final int CHEEK_DRAG_END_X = 936;
     public static final int CHEEK_DRAG_END_Y = 720;
 
+    // ========== 템플릿 탐색 영역 힌트 ==========
+
+    /**
+     * 템플릿별 탐색 영역 (화면 비율 기준, 가로 화면)
+     * - {x, y, 가로, 세로} 비율 0.0~1.0 (marker.SearchRegion 으로 변환)
+     * - 지정된 템플릿은 스크린샷을 해당 영역으로 잘라낸 뒤 매칭 (영역 밖은 탐색하지 않음)
+     * - 미지정 템플릿은 전체 화면 탐색 후 성공 위치로 영역을 학습
+     */
+    public static final Map<String, double[]> TEMPLATE_SEARCH_REGIONS = Map.of(
+            DOWNLOAD_COMPLETE_BUTTON_RESOURCE, new double[]{0.5, 0.5, 0.5, 0.5},   // 우측 하단
+            EXIT_CONFIRM_BUTTON_RESOURCE, new double[]{0.2, 0.25, 0.6, 0.6},      // 팝업 중앙
+            TERMS_AGREE_ALL_BUTTON_RESOURCE, new double[]{0.0, 0.5, 1.0, 0.5},    // 하단
+            MENU_BUTTON_RESOURCE, new double[]{0.0, 0.0, 1.0, 0.3}                // 상단 모서리
+    );
 }
@@ -0,0 +1,164 @@
+package com.example.appium_android_automation.infra;
+
+import com.example.appium_android_automation.marker.Evidence;
+import com.example.appium_android_automation.marker.FlightRecorder;
+import com.example.appium_android_automation.marker.ImageAssert;
+import com.example.appium_android_automation.marker.ImageMatch;
+import com.example.appium_android_automation.marker.ImageProbe;
+import com.example.appium_android_automation.reporting.Metrics;
+import com.example.appium_android_automation.reporting.RunHistoryStore;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.OutputType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AndroidDriver 비동기 실행기 - 명령을 CompletableFuture로 반환
+ * - 예: 증거 스크린샷을 받는 동안 탭 실행, 여러 마커를 한 프레임으로 동시에 감시
+ * - 실행 스레드: JDK 21+면 가상 스레드 (명령마다 1개), 아니면 모든 디바이스가 공유하는 고정 크기 풀
+ *   → 디바이스 수가 늘어도 플랫폼 스레드 수는 일정 (AppiumConfig.ASYNC_DRIVER_THREADS)
+ * - 호출 스레드의 디바이스/이력/블랙박스 문맥을 작업 스레드로 전달 (Evidence 폴더, 단계 이력 유지)
+ *
+ * 주의: Appium 서버는 세션당 명령을 순서대로 처리하므로 같은 세션 명령끼리는 서버에서 직렬화됨
+ *       (겹치는 것은 전송/디코딩/매칭 등 클라이언트 쪽 대기 시간)
+ */
+public class AsyncDriver {
+
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+    private static volatile ExecutorService shared;
+
+    private final AndroidDriver driver;
+    private final ExecutorService executor;
+
+    AsyncDriver(AndroidDriver driver, ExecutorService executor) {
+        this.driver = driver;
+        this.executor = executor;
+    }
+
+    public static AsyncDriver of(AndroidDriver driver) {
+        return new AsyncDriver(driver, executor());
+    }
+
+    // 프로세스 공용 실행기 (최초 사용 시 생성, JVM 종료 시 정리)
+    public static ExecutorService executor() {
+        ExecutorService result = shared;
+        if (result == null) {
+            synchronized (AsyncDriver.class) {
+                result = shared;
+                if (result == null) {
+                    result = newExecutor(AppiumConfig.ASYNC_DRIVER_THREADS);
+                    Runtime.getRuntime().addShutdownHook(new Thread(result::shutdownNow, "async-driver-shutdown"));
+                    shared = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 가상 스레드 실행기 (JDK 21+) 또는 고정 크기 데몬 풀
+     * - 컴파일 대상이 Java 17이므로 가상 스레드 API는 리플렉션으로 조회
+     */
+    static ExecutorService newExecutor(int fallbackThreads) {
+        try {
+            return (ExecutorService) java.util.concurrent.Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(fallbackThreads, fallbackThreads,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "async-driver-" + THREAD_SEQ.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    public AndroidDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * 임의 명령 비동기 실행 (소요시간은 Metrics에 name으로 기록)
+     * - 예외는 CompletionException으로 감싸 future에 전달
+     */
+    public <T> CompletableFuture<T> submit(String name, Callable<T> command) {
+        DeviceSlot slot = DevicePool.current();
+        String device = RunHistoryStore.getDevice();
+        FlightRecorder recorder = FlightRecorder.current();
+
+        return CompletableFuture.supplyAsync(() -> {
+            DeviceSlot previousSlot = DevicePool.current();
+            String previousDevice = RunHistoryStore.getDevice();
+            FlightRecorder previousRecorder = FlightRecorder.current();
+            DevicePool.bind(slot);
+            RunHistoryStore.setDevice(device);
+            FlightRecorder.bind(recorder);
+            try {
+                return Metrics.timeChecked(name, command::call);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                DevicePool.bind(previousSlot);
+                RunHistoryStore.setDevice(previousDevice);
+                FlightRecorder.bind(previousRecorder);
+            }
+        }, executor);
+    }
+
+    public CompletableFuture<Void> run(String name, Runnable command) {
+        return submit(name, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    // 스크린샷 PNG
+    public CompletableFuture<byte[]> screenshot() {
+        return submit("async.screenshot", () -> driver.getScreenshotAs(OutputType.BYTES));
+    }
+
+    // 증거 스크린샷 저장 (반환: 저장 경로)
+    public CompletableFuture<String> saveEvidence(String namePrefix) {
+        return submit("async.evidence", () -> Evidence.saveScreenshot(driver, namePrefix));
+    }
+
+    // 좌표 탭
+    public CompletableFuture<Void> tap(int x, int y) {
+        return run("async.tap", () -> TouchActionHelper.tap(driver, x, y));
+    }
+
+    // 드래그
+    public CompletableFuture<Void> drag(int startX, int startY, int endX, int endY, int durationMs) {
+        return run("async.drag", () -> TouchActionHelper.dragAndDrop(driver, startX, startY, endX, endY, durationMs));
+    }
+
+    /**
+     * 이미지가 나타날 때까지 대기 (단발 탐색 반복, 마감 시 null)
+     */
+    public CompletableFuture<ImageMatch> waitForImage(String resourcePath, long timeoutMs) {
+        return submit("async.waitForImage", () ->
+                ImageProbe.forDriver(driver, ScreenHelper.getScreenSize(driver)).waitFor(resourcePath, timeoutMs));
+    }
+
+    /**
+     * 여러 마커 동시 감시 - 폴링마다 스크린샷 1장으로 전체 판별 (마커별 촬영 없음)
+     *
+     * @return 처음 하나 이상 발견된 매칭 목록, 타임아웃 시 빈 리스트
+     */
+    public CompletableFuture<List<ImageMatch>> watchImages(Collection<String> resourcePaths, int timeoutSec) {
+        return submit("async.watchImages", () -> ImageAssert.waitForAnyImage(driver, resourcePaths, timeoutSec));
+    }
+}
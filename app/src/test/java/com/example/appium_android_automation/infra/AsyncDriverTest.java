@@ -0,0 +1,118 @@
+package com.example.appium_android_automation.infra;
+
+import com.example.appium_android_automation.reporting.RunHistoryStore;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * AsyncDriver 검증 - 드라이버 없이 실행기/문맥 전달만 확인 (디바이스 불필요)
+ */
+public class AsyncDriverTest {
+
+    private final ExecutorService executor = AsyncDriver.newExecutor(4);
+    private final AsyncDriver async = new AsyncDriver(null, executor);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        DevicePool.unbind();
+        RunHistoryStore.setDevice("default");
+    }
+
+    @Test
+    public void deviceContextFollowsCommandAndIsRestored() {
+        DeviceSlot slot = new DeviceSlot(1, "emulator-5556", 4725, 8201);
+        DevicePool.bind(slot);
+        RunHistoryStore.setDevice("emulator-5556");
+
+        CompletableFuture<String> inside = async.submit("test.context",
+                () -> DevicePool.current().getUdid() + "/" + RunHistoryStore.getDevice());
+        assertEquals("emulator-5556/emulator-5556", inside.join());
+
+        DevicePool.unbind();
+        RunHistoryStore.setDevice("default");
+        assertNull("작업 후 작업 스레드 문맥 복구",
+                async.submit("test.context", DevicePool::current).join());
+    }
+
+    @Test
+    public void commandsOverlapInsteadOfQueueingBehindEachOther() {
+        // 두 명령이 서로 시작을 기다림 → 순서대로 실행되면 둘 다 시간 초과
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        CompletableFuture<Boolean> shot = async.submit("test.screenshot", () -> meet(bothRunning));
+        CompletableFuture<Boolean> tap = async.submit("test.tap", () -> meet(bothRunning));
+
+        assertTrue("스크린샷 명령이 탭 명령과 겹쳐 실행", shot.join());
+        assertTrue("탭 명령이 스크린샷 명령과 겹쳐 실행", tap.join());
+    }
+
+    @Test
+    public void failureIsDeliveredThroughFuture() {
+        CompletableFuture<Object> failed = async.submit("test.fail", () -> {
+            throw new IOException("socket closed");
+        });
+
+        CompletionException e = assertThrows(CompletionException.class, failed::join);
+        assertTrue(e.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void fallbackPoolKeepsThreadCountFlatAcrossDevices() throws Exception {
+        Assume.assumeTrue("가상 스레드 실행기 (JDK 21+)", executor instanceof ThreadPoolExecutor);
+
+        Set<Thread> used = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Void>> all = new ArrayList<>();
+        List<Thread> devices = new ArrayList<>();
+        for (int d = 0; d < 6; d++) {
+            DeviceSlot slot = new DeviceSlot(d, "device-" + d, 4723 + d, 8200 + d);
+            Thread device = new Thread(() -> {
+                DevicePool.bind(slot);
+                for (int i = 0; i < 10; i++) {
+                    synchronized (all) {
+                        all.add(async.run("test.command", () -> {
+                            used.add(Thread.currentThread());
+                            sleep(20);
+                        }));
+                    }
+                }
+            });
+            devices.add(device);
+            device.start();
+        }
+        for (Thread device : devices) {
+            device.join();
+        }
+        CompletableFuture.allOf(all.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(60, all.size());
+        assertTrue("디바이스 6대 × 명령 10개여도 풀 크기 이하: " + used.size(), used.size() <= 4);
+    }
+
+    private static boolean meet(CountDownLatch latch) throws InterruptedException {
+        latch.countDown();
+        return latch.await(5, TimeUnit.SECONDS);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.appium_android_automation.infra;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.ScreenOrientation;
+
+/**
+ * 세션의 화면 기하 정보 (창 크기, 방향, 밀도) - ScreenHelper가 세션당 1회 조회 후 캐시
+ * - 해상도 독립 좌표 변환: 화면 비율 → px, 기준 해상도(3120x1440) 좌표 → 현재 해상도, dp → px
+ */
+public final class DeviceGeometry {
+
+    static final long BASELINE_DENSITY_DPI = 160;  // Android mdpi (1dp = 1px)
+
+    private final Dimension size;
+    private final ScreenOrientation orientation;
+    private final long densityDpi;
+
+    public DeviceGeometry(Dimension size, ScreenOrientation orientation, long densityDpi) {
+        this.size = size;
+        this.orientation = orientation;
+        this.densityDpi = densityDpi > 0 ? densityDpi : BASELINE_DENSITY_DPI;
+    }
+
+    public Dimension getSize() {
+        return size;
+    }
+
+    public int getWidth() {
+        return size.getWidth();
+    }
+
+    public int getHeight() {
+        return size.getHeight();
+    }
+
+    public ScreenOrientation getOrientation() {
+        return orientation;
+    }
+
+    public long getDensityDpi() {
+        return densityDpi;
+    }
+
+    public int centerX() {
+        return getWidth() / 2;
+    }
+
+    public int centerY() {
+        return getHeight() / 2;
+    }
+
+    // 화면 너비/높이 비율 → px (0.2 → 너비의 20%)
+    public int xPx(double ratio) {
+        return (int) (getWidth() * ratio);
+    }
+
+    public int yPx(double ratio) {
+        return (int) (getHeight() * ratio);
+    }
+
+    // 화면 비율 좌표 → px 좌표 (0.5, 0.5 → 중앙)
+    public Point point(double xRatio, double yRatio) {
+        return new Point(xPx(xRatio), yPx(yRatio));
+    }
+
+    /**
+     * 기준 해상도 좌표 → 현재 해상도 좌표
+     * - 기준: TEMPLATE_REFERENCE_LONG_SIDE x TEMPLATE_REFERENCE_SHORT_SIDE, 현재 방향에 맞춰 가로/세로 결정
+     */
+    public Point fromReference(int x, int y) {
+        boolean landscape = getWidth() >= getHeight();
+        int refWidth = landscape ? AppiumConfig.TEMPLATE_REFERENCE_LONG_SIDE : AppiumConfig.TEMPLATE_REFERENCE_SHORT_SIDE;
+        int refHeight = landscape ? AppiumConfig.TEMPLATE_REFERENCE_SHORT_SIDE : AppiumConfig.TEMPLATE_REFERENCE_LONG_SIDE;
+        return new Point((int) Math.round((double) x * getWidth() / refWidth),
+                (int) Math.round((double) y * getHeight() / refHeight));
+    }
+
+    // 화면 가장자리에서 margin px 안쪽으로 제한
+    public Point clamp(int x, int y, int margin) {
+        int maxX = Math.max(margin, getWidth() - 1 - margin);
+        int maxY = Math.max(margin, getHeight() - 1 - margin);
+        return new Point(Math.max(margin, Math.min(maxX, x)), Math.max(margin, Math.min(maxY, y)));
+    }
+
+    // dp → px (밀도 기준 160dpi)
+    public int dpToPx(int dp) {
+        return (int) Math.round(dp * (double) densityDpi / BASELINE_DENSITY_DPI);
+    }
+
+    /**
+     * 스크린샷 크기와 방향(가로/세로)이 같은지 - 다르면 캐시 이후 화면이 회전된 것
+     * (정사각형은 판별 불가 → 같다고 봄)
+     */
+    public boolean matchesFrame(int frameWidth, int frameHeight) {
+        return sameOrientation(getWidth(), getHeight(), frameWidth, frameHeight);
+    }
+
+    public static boolean sameOrientation(int width1, int height1, int width2, int height2) {
+        if (width1 == height1 || width2 == height2) {
+            return true;
+        }
+        return (width1 > height1) == (width2 > height2);
+    }
+
+    @Override
+    public String toString() {
+        return getWidth() + "x" + getHeight() + " " + orientation + " " + densityDpi + "dpi";
+    }
+}
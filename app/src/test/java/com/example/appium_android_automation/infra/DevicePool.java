@@ -0,0 +1,105 @@
+package com.example.appium_android_automation.infra;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 연결된 디바이스 목록과 워커별 디바이스 배정
+ * - 디바이스 목록: -Ddevices=udid1,udid2 우선, 없으면 adb devices 자동 탐색
+ * - 현재 스레드에 배정된 디바이스는 ThreadLocal로 보관 (DriverFactory/Evidence가 참조)
+ */
+public class DevicePool {
+
+    private static final ThreadLocal<DeviceSlot> CURRENT = new ThreadLocal<>();
+
+    private final List<DeviceSlot> slots;
+    private final BlockingQueue<DeviceSlot> idle;
+
+    public DevicePool(List<DeviceSlot> slots) {
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("사용 가능한 디바이스가 없습니다");
+        }
+        this.slots = Collections.unmodifiableList(new ArrayList<>(slots));
+        this.idle = new LinkedBlockingQueue<>(slots);
+    }
+
+    // udid 목록으로 풀 생성 (포트는 순서대로 자동 배정)
+    public static DevicePool of(List<String> udids) {
+        List<DeviceSlot> slots = new ArrayList<>();
+        for (int i = 0; i < udids.size(); i++) {
+            slots.add(DeviceSlot.forIndex(i, udids.get(i)));
+        }
+        return new DevicePool(slots);
+    }
+
+    // 실행 환경에서 디바이스 탐색 후 풀 생성
+    public static DevicePool fromEnvironment() throws IOException {
+        String configured = System.getProperty(AppiumConfig.DEVICES_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            List<String> udids = new ArrayList<>();
+            for (String udid : configured.split(",")) {
+                if (!udid.isBlank()) {
+                    udids.add(udid.trim());
+                }
+            }
+            return of(udids);
+        }
+        return of(listAdbDevices());
+    }
+
+    // adb devices 출력에서 "device" 상태인 시리얼만 추출
+    public static List<String> listAdbDevices() throws IOException {
+        Process process = new ProcessBuilder("adb", "devices").redirectErrorStream(true).start();
+        List<String> udids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = line.trim().split("\\s+");
+                if (cols.length == 2 && "device".equals(cols[1])) {
+                    udids.add(cols[0]);
+                }
+            }
+        }
+        return udids;
+    }
+
+    public List<DeviceSlot> getSlots() {
+        return slots;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    // 유휴 디바이스 하나를 가져옴 (없으면 반납될 때까지 대기)
+    public DeviceSlot acquire() throws InterruptedException {
+        return idle.take();
+    }
+
+    public void release(DeviceSlot slot) {
+        idle.offer(slot);
+    }
+
+    // ========== 현재 스레드 디바이스 ==========
+
+    public static void bind(DeviceSlot slot) {
+        CURRENT.set(slot);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    // 현재 스레드에 배정된 디바이스 (단일 디바이스 실행이면 null)
+    public static DeviceSlot current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.appium_android_automation.infra;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 디바이스별 영구 셸 서비스 (Runtime.exec("adb shell ...") 대체)
+ * - 디바이스마다 AdbShellChannel 1개를 열어 두고 명령마다 재사용
+ * - 채널이 끊겼거나 시간 초과로 닫혔으면 다음 명령에서 다시 연결
+ * - 디바이스: 현재 스레드에 배정된 DeviceSlot의 udid (단일 디바이스 실행이면 transport-any)
+ */
+public class DeviceShell {
+
+    private static final String ANY_DEVICE = "default";
+    private static final Map<String, DeviceShell> SHELLS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DeviceShell::closeAll, "device-shell-shutdown"));
+    }
+
+    private final String host;
+    private final int port;
+    private final String serial;
+    private AdbShellChannel channel;
+    private int connects;
+
+    public DeviceShell(String host, int port, String serial) {
+        this.host = host;
+        this.port = port;
+        this.serial = serial;
+    }
+
+    // 현재 스레드 디바이스의 공유 셸
+    public static DeviceShell current() {
+        DeviceSlot slot = DevicePool.current();
+        String serial = (slot != null) ? slot.getUdid() : null;
+        return SHELLS.computeIfAbsent(serial != null ? serial : ANY_DEVICE,
+                k -> new DeviceShell(AppiumConfig.ADB_SERVER_HOST, AppiumConfig.ADB_SERVER_PORT, serial));
+    }
+
+    public static void closeAll() {
+        SHELLS.values().forEach(DeviceShell::close);
+    }
+
+    /**
+     * 명령 실행 (AppiumConfig.SHELL_COMMAND_TIMEOUT_MS)
+     */
+    public AdbShellChannel.Result run(String command) throws IOException, TimeoutException {
+        return run(command, AppiumConfig.SHELL_COMMAND_TIMEOUT_MS);
+    }
+
+    /**
+     * 명령 실행 - 연결이 끊긴 채널이면 한 번 다시 연결해 재시도
+     * - 시간 초과는 재시도하지 않음 (명령이 이미 실행 중일 수 있음)
+     */
+    public synchronized AdbShellChannel.Result run(String command, long timeoutMs) throws IOException, TimeoutException {
+        boolean fresh = ensureChannel();
+        try {
+            return channel.exec(command, timeoutMs);
+        } catch (IOException e) {
+            if (fresh) {
+                throw e;
+            }
+            System.out.println("[Shell] 채널 끊김 → 재연결: " + e.getMessage());
+            channel.close();
+            ensureChannel();
+            return channel.exec(command, timeoutMs);
+        }
+    }
+
+    // 지금까지 연 채널 수 (1이면 모든 명령이 같은 연결 재사용)
+    public synchronized int getConnectCount() {
+        return connects;
+    }
+
+    public synchronized void close() {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // 열린 채널이 없으면 새로 연결 (새로 열었으면 true)
+    private boolean ensureChannel() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            return false;
+        }
+        channel = AdbShellChannel.open(host, port, serial, AppiumConfig.SHELL_CONNECT_TIMEOUT_MS);
+        connects++;
+        return true;
+    }
+}
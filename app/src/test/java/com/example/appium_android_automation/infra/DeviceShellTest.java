@@ -0,0 +1,260 @@
+package com.example.appium_android_automation.infra;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * DeviceShell/AdbShellChannel 검증 - 로컬 가짜 adb 서버 (디바이스/adb 불필요)
+ */
+public class DeviceShellTest {
+
+    private static final Pattern MARKER = Pattern.compile("printf '\\\\n%s %d\\\\n' '(__ADB_END_\\d+__)' \\$\\?");
+
+    /**
+     * adb 스마트 소켓 + shell v2 흉내
+     * - "pm clear X" → Success, "fail" → stderr + exit 1, "spam N" → N줄 출력, "hang" → 이후 응답 없음
+     * - "utf8" → 한글 한 줄을 1바이트씩 나눠 전송, 표식 줄은 항상 두 패킷으로 나눠 전송
+     */
+    private static final class FakeAdbServer implements AutoCloseable {
+        final ServerSocket server = new ServerSocket(0);
+        final AtomicInteger connections = new AtomicInteger();
+        final List<String> services = new CopyOnWriteArrayList<>();
+        final List<Socket> clients = new CopyOnWriteArrayList<>();
+        final Semaphore disconnects = new Semaphore(0);    // 클라이언트가 끊은 연결 수
+        volatile boolean dropOnNextCommand;                // 다음 명령을 받으면 응답 없이 연결 끊기
+
+        FakeAdbServer() throws IOException {
+            Thread t = new Thread(() -> {
+                while (!server.isClosed()) {
+                    try {
+                        Socket s = server.accept();
+                        connections.incrementAndGet();
+                        clients.add(s);
+                        Thread c = new Thread(() -> serve(s));
+                        c.setDaemon(true);
+                        c.start();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            t.setDaemon(true);
+            t.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        // 모든 연결을 끊음 (디바이스 재연결 상황)
+        void dropClients() throws IOException {
+            for (Socket s : clients) {
+                s.close();
+            }
+        }
+
+        private void serve(Socket s) {
+            try (s) {
+                DataInputStream in = new DataInputStream(s.getInputStream());
+                OutputStream out = s.getOutputStream();
+                for (int i = 0; i < 2; i++) {
+                    byte[] len = new byte[4];
+                    in.readFully(len);
+                    byte[] body = new byte[Integer.parseInt(new String(len, StandardCharsets.US_ASCII), 16)];
+                    in.readFully(body);
+                    String service = new String(body, StandardCharsets.UTF_8);
+                    services.add(service);
+                    if (service.equals("host:transport:offline-device")) {
+                        out.write("FAIL0010device not found".getBytes(StandardCharsets.US_ASCII));
+                        return;
+                    }
+                    out.write("OKAY".getBytes(StandardCharsets.US_ASCII));
+                }
+
+                int lastExit = 0;
+                boolean hung = false;
+                StringBuilder pending = new StringBuilder();
+                byte[] header = new byte[5];
+                while (true) {
+                    in.readFully(header);
+                    int n = (header[1] & 0xFF) | (header[2] & 0xFF) << 8 | (header[3] & 0xFF) << 16 | (header[4] & 0xFF) << 24;
+                    byte[] data = new byte[n];
+                    in.readFully(data);
+                    pending.append(new String(data, StandardCharsets.UTF_8));
+                    int nl;
+                    while ((nl = pending.indexOf("\n")) >= 0) {
+                        String line = pending.substring(0, nl);
+                        pending.delete(0, nl + 1);
+                        if (hung) {
+                            continue;
+                        }
+                        if (dropOnNextCommand) {
+                            dropOnNextCommand = false;
+                            return;
+                        }
+                        Matcher m = MARKER.matcher(line);
+                        if (m.matches()) {
+                            String end = "\n" + m.group(1) + " " + lastExit + "\n";
+                            packet(out, 1, end.substring(0, 8));
+                            packet(out, 1, end.substring(8));
+                        } else if (line.startsWith("pm clear ")) {
+                            packet(out, 1, "Success");   // 실제 pm처럼 줄바꿈 없이 끝나는 경우
+                            lastExit = 0;
+                        } else if (line.equals("fail")) {
+                            packet(out, 2, "boom\n");
+                            lastExit = 1;
+                        } else if (line.startsWith("spam ")) {
+                            StringBuilder sb = new StringBuilder();
+                            for (int i = 0; i < Integer.parseInt(line.substring(5)); i++) {
+                                sb.append("line ").append(i).append('\n');
+                            }
+                            packet(out, 1, sb.toString());
+                            lastExit = 0;
+                        } else if (line.equals("utf8")) {
+                            for (byte b : "가나다\n".getBytes(StandardCharsets.UTF_8)) {
+                                packet(out, 1, new byte[]{b});
+                            }
+                            lastExit = 0;
+                        } else if (line.equals("hang")) {
+                            hung = true;  // 표식 printf 포함 이후 입력 무시, 연결은 계속 읽음
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                disconnects.release();
+            }
+        }
+
+        private static void packet(OutputStream out, int id, String text) throws IOException {
+            packet(out, id, text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static void packet(OutputStream out, int id, byte[] data) throws IOException {
+            out.write(new byte[]{(byte) id, (byte) data.length, (byte) (data.length >>> 8),
+                    (byte) (data.length >>> 16), (byte) (data.length >>> 24)});
+            out.write(data);
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+            dropClients();
+        }
+    }
+
+    private FakeAdbServer adb;
+
+    @Before
+    public void setUp() throws Exception {
+        adb = new FakeAdbServer();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        adb.close();
+    }
+
+    @Test
+    public void commandsReuseOneConnectionPerDevice() throws Exception {
+        DeviceShell shell = new DeviceShell("127.0.0.1", adb.port(), "emulator-5554");
+
+        AdbShellChannel.Result clear = shell.run("pm clear com.example.game", 2000);
+        AdbShellChannel.Result again = shell.run("pm clear com.example.game", 2000);
+
+        assertTrue(clear.isSuccess());
+        assertEquals("표식 앞 줄바꿈은 결과에서 제거", "Success", clear.stdout);
+        assertTrue(again.isSuccess());
+        assertEquals(1, adb.connections.get());
+        assertEquals(1, shell.getConnectCount());
+        assertEquals(List.of("host:transport:emulator-5554", "shell,v2,raw:"), adb.services);
+        shell.close();
+    }
+
+    @Test
+    public void exitCodeAndStderrAreReported() throws Exception {
+        DeviceShell shell = new DeviceShell("127.0.0.1", adb.port(), null);
+
+        AdbShellChannel.Result result = shell.run("fail", 2000);
+
+        assertEquals(1, result.exitCode);
+        assertEquals("boom\n", result.stderr);
+        assertEquals("host:transport-any", adb.services.get(0));
+        shell.close();
+    }
+
+    @Test
+    public void largeOutputIsStreamedWithoutBlocking() throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (AdbShellChannel channel = AdbShellChannel.open("127.0.0.1", adb.port(), null, 1000)) {
+            AdbShellChannel.Result result = channel.exec("spam 20000", 5000, lines::add);
+
+            assertTrue(result.isSuccess());
+            assertEquals(20000, lines.size());
+            assertEquals("line 19999", lines.get(19999));
+        }
+    }
+
+    @Test
+    public void splitMultibyteAndMarkerAcrossPacketsAreReassembled() throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (AdbShellChannel channel = AdbShellChannel.open("127.0.0.1", adb.port(), null, 1000)) {
+            AdbShellChannel.Result result = channel.exec("utf8", 2000, lines::add);
+
+            assertTrue(result.isSuccess());
+            assertEquals("가나다\n", result.stdout);
+            assertEquals(List.of("가나다"), lines);
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void timeoutClosesChannelAndNextCommandReconnects() throws Exception {
+        DeviceShell shell = new DeviceShell("127.0.0.1", adb.port(), "emulator-5554");
+
+        assertThrows(TimeoutException.class, () -> shell.run("hang", 300));
+        assertTrue("시간 초과 채널은 닫혀 서버 쪽 연결도 끊김", adb.disconnects.tryAcquire(2, TimeUnit.SECONDS));
+
+        assertTrue(shell.run("pm clear x", 2000).isSuccess());
+        assertEquals(2, shell.getConnectCount());
+        shell.close();
+    }
+
+    @Test
+    public void droppedConnectionIsReopenedOnce() throws Exception {
+        DeviceShell shell = new DeviceShell("127.0.0.1", adb.port(), "emulator-5554");
+        shell.run("pm clear x", 2000);
+
+        // 클라이언트가 끊김을 아직 모르는 상태: 다음 명령에서 끊김을 발견하고 한 번만 재연결
+        adb.dropOnNextCommand = true;
+
+        assertTrue(shell.run("pm clear x", 2000).isSuccess());
+        assertEquals(2, adb.connections.get());
+        shell.close();
+    }
+
+    @Test
+    public void adbFailureMessageIsSurfaced() {
+        IOException e = assertThrows(IOException.class,
+                () -> AdbShellChannel.open("127.0.0.1", adb.port(), "offline-device", 1000));
+        assertTrue(e.getMessage(), e.getMessage().contains("device not found"));
+    }
+}
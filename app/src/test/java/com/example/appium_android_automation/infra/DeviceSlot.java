@@ -0,0 +1,57 @@
+package com.example.appium_android_automation.infra;
+
+/**
+ * 병렬 실행 워커 1개에 할당되는 디바이스 정보
+ * - 디바이스마다 Appium 서버 포트와 UiAutomator2 systemPort가 겹치지 않아야 함
+ */
+public final class DeviceSlot {
+
+    private final int index;
+    private final String udid;
+    private final int appiumPort;
+    private final int systemPort;
+
+    public DeviceSlot(int index, String udid, int appiumPort, int systemPort) {
+        this.index = index;
+        this.udid = udid;
+        this.appiumPort = appiumPort;
+        this.systemPort = systemPort;
+    }
+
+    // index번째 디바이스의 기본 포트 배정 (APPIUM_BASE_PORT + index, SYSTEM_PORT_BASE + index)
+    public static DeviceSlot forIndex(int index, String udid) {
+        return new DeviceSlot(index, udid,
+                AppiumConfig.APPIUM_BASE_PORT + index,
+                AppiumConfig.SYSTEM_PORT_BASE + index);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getUdid() {
+        return udid;
+    }
+
+    public int getAppiumPort() {
+        return appiumPort;
+    }
+
+    public int getSystemPort() {
+        return systemPort;
+    }
+
+    public String getServerUrl() {
+        return AppiumConfig.APPIUM_HOST + ":" + appiumPort;
+    }
+
+    // 파일/폴더 이름용 (emulator-5554, 192.168.0.10:5555 등)
+    public String getSafeName() {
+        return udid.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    @Override
+    public String toString() {
+        return udid + " (appium:" + appiumPort + ", systemPort:" + systemPort + ")";
+    }
+}
@@ -7,20 +7,39 @@ import java.time.Duration;
 
 /**
  * AndroidDriver 생성 및 Appium 연결 담당
+ * - 현재 스레드에 DeviceSlot이 배정되어 있으면 해당 디바이스/포트로 연결 (병렬 실행)
  */
 public class DriverFactory {
 
     // AndroidDriver 생성하고 대상 앱과 연결
     // 성공 시: 제어 가능한 driver 반환, 실패 시: Exception 발생
     public static AndroidDriver createAndroidDriver() throws Exception {
-        UiAutomator2Options options = new UiAutomator2Options()
+        DeviceSlot slot = DevicePool.current();
+        if (slot != null) {
+            return createAndroidDriver(slot);
+        }
+        return new AndroidDriver(new URL(AppiumConfig.SERVER_URL), createOptions());
+    }
+
+    // 지정 디바이스 전용 세션 (udid + 디바이스별 Appium 포트/systemPort)
+    public static AndroidDriver createAndroidDriver(DeviceSlot slot) throws Exception {
+        return new AndroidDriver(new URL(slot.getServerUrl()), createOptions(slot));
+    }
+
+    public static UiAutomator2Options createOptions() {
+        return new UiAutomator2Options()
                 .setDeviceName("Android")
                 .setAutomationName("UiAutomator2")
                 .setAppPackage(AppiumConfig.APP_PACKAGE)
                 .setAppActivity(AppiumConfig.APP_ACTIVITY)
                 .setNoReset(true)  // 앱 데이터 보존 (로그인 상태 유지)
                 .setNewCommandTimeout(Duration.ofSeconds(1800));  // 30분 세션 유지
+    }
 
-        return new AndroidDriver(new URL(AppiumConfig.SERVER_URL), options);
+    public static UiAutomator2Options createOptions(DeviceSlot slot) {
+        return createOptions()
+                .setDeviceName(slot.getUdid())
+                .setUdid(slot.getUdid())
+                .setSystemPort(slot.getSystemPort());
     }
 }
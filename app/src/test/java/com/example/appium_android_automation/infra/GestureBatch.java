@@ -0,0 +1,119 @@
+package com.example.appium_android_automation.infra;
+
+import com.example.appium_android_automation.reporting.Metrics;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.interactions.Interaction;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 여러 터치 동작을 W3C 시퀀스 1개로 묶는 빌더 (perform 1회 = Appium 왕복 1회)
+ * - 동작 사이 대기는 pause로 시퀀스 안에 포함 (클라이언트 sleep 후 다음 perform 대신)
+ * - 손가락마다 빌더 1개, perform(driver, a, b)로 여러 손가락 동시 동작
+ * - 같은 동작을 반복하면 template()으로 고정 → 매 호출 시퀀스 재생성 없음
+ *
+ * 예) GestureBatch.create().tap(ok).pause(300).tap(close).perform(driver)
+ */
+public final class GestureBatch {
+
+    private static final int TAP_HOLD_MS = 100;  // 누르고 떼기까지 (자연스러운 터치 느낌)
+
+    private final PointerInput finger;
+    private final Sequence sequence;
+    private int gestures;
+    private boolean frozen;
+
+    private GestureBatch(String fingerName) {
+        this.finger = new PointerInput(PointerInput.Kind.TOUCH, fingerName);
+        this.sequence = new Sequence(finger, 1);
+    }
+
+    public static GestureBatch create() {
+        return new GestureBatch("finger");
+    }
+
+    // 여러 손가락 동시 동작용 (손가락 이름은 perform 1회 안에서 서로 달라야 함)
+    public static GestureBatch create(String fingerName) {
+        return new GestureBatch(fingerName);
+    }
+
+    // 이동 → 누르기 → 100ms → 떼기
+    public GestureBatch tap(int x, int y) {
+        add(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, y));
+        add(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        add(new Pause(finger, Duration.ofMillis(TAP_HOLD_MS)));
+        add(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        gestures++;
+        return this;
+    }
+
+    public GestureBatch tap(Point point) {
+        return tap(point.getX(), point.getY());
+    }
+
+    // 이동 → 누르기 → durationMs 동안 이동 → 떼기
+    public GestureBatch drag(int startX, int startY, int endX, int endY, int durationMs) {
+        add(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startX, startY));
+        add(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        add(finger.createPointerMove(Duration.ofMillis(durationMs), PointerInput.Origin.viewport(), endX, endY));
+        add(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        gestures++;
+        return this;
+    }
+
+    // 다음 동작 전 대기 (디바이스 측에서 처리)
+    public GestureBatch pause(int millis) {
+        add(new Pause(finger, Duration.ofMillis(millis)));
+        return this;
+    }
+
+    public int gestureCount() {
+        return gestures;
+    }
+
+    public Sequence toSequence() {
+        return sequence;
+    }
+
+    public void perform(Interactive driver) {
+        perform(driver, this);
+    }
+
+    // 손가락별 시퀀스를 perform 1회로 동시 실행
+    public static void perform(Interactive driver, GestureBatch... fingers) {
+        List<Sequence> sequences = new ArrayList<>(fingers.length);
+        for (GestureBatch f : fingers) {
+            sequences.add(f.sequence);
+        }
+        Metrics.time("appium.perform", () -> driver.perform(sequences));
+    }
+
+    /**
+     * 반복 실행용 고정 시퀀스 (이후 이 빌더에 동작 추가 불가)
+     */
+    public GestureTemplate template() {
+        return GestureTemplate.of(this);
+    }
+
+    // 여러 손가락 동시 동작 템플릿
+    public static GestureTemplate template(GestureBatch... fingers) {
+        return GestureTemplate.of(fingers);
+    }
+
+    void freeze() {
+        frozen = true;
+    }
+
+    private void add(Interaction action) {
+        if (frozen) {
+            throw new IllegalStateException("템플릿으로 고정된 제스처에는 동작을 추가할 수 없습니다");
+        }
+        sequence.addAction(action);
+    }
+}
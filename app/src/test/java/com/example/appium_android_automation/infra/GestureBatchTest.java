@@ -0,0 +1,109 @@
+package com.example.appium_android_automation.infra;
+
+import org.junit.Test;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * GestureBatch/GestureTemplate 검증 - perform 호출을 기록하는 가짜 드라이버 사용 (디바이스 불필요)
+ */
+public class GestureBatchTest {
+
+    /** perform 호출마다 전달된 시퀀스 목록 기록 */
+    private static final class RecordingDriver implements Interactive {
+        final List<Collection<Sequence>> performs = new ArrayList<>();
+
+        @Override
+        public void perform(Collection<Sequence> actions) {
+            performs.add(actions);
+        }
+
+        @Override
+        public void resetInputState() {
+        }
+    }
+
+    private final RecordingDriver driver = new RecordingDriver();
+
+    @Test
+    public void tapsPausesAndDragGoOutInOnePerform() {
+        GestureBatch batch = GestureBatch.create()
+                .tap(100, 200)
+                .pause(300)
+                .tap(new Point(400, 500))
+                .drag(600, 700, 300, 700, 1000);
+
+        batch.perform(driver);
+
+        assertEquals("Appium 왕복 1회", 1, driver.performs.size());
+        assertEquals(3, batch.gestureCount());
+        List<String> types = types(driver.performs.get(0).iterator().next());
+        assertEquals(List.of(
+                "pause",  // Sequence 초기 길이 1 (0ms)
+                "pointerMove", "pointerDown", "pause", "pointerUp",
+                "pause",
+                "pointerMove", "pointerDown", "pause", "pointerUp",
+                "pointerMove", "pointerDown", "pointerMove", "pointerUp"), types);
+    }
+
+    @Test
+    public void singleGestureMatchesTouchActionHelperSequence() {
+        assertEquals(TouchActionHelper.tapSequence(10, 20).encode(),
+                GestureBatch.create().tap(10, 20).toSequence().encode());
+        assertEquals(TouchActionHelper.dragSequence(1, 2, 3, 4, 500).encode(),
+                GestureBatch.create().drag(1, 2, 3, 4, 500).toSequence().encode());
+    }
+
+    @Test
+    public void fingersRunTogetherInOnePerform() {
+        GestureBatch left = GestureBatch.create("finger1").drag(1000, 700, 600, 700, 500);
+        GestureBatch right = GestureBatch.create("finger2").drag(1400, 700, 1800, 700, 500);
+
+        GestureBatch.perform(driver, left, right);
+
+        assertEquals(1, driver.performs.size());
+        List<String> ids = new ArrayList<>();
+        for (Sequence s : driver.performs.get(0)) {
+            ids.add((String) s.encode().get("id"));
+        }
+        assertEquals(List.of("finger1", "finger2"), ids);
+    }
+
+    @Test
+    public void templateReusesTheSameSequencesEveryCall() {
+        GestureBatch batch = GestureBatch.create().tap(100, 100).pause(200).tap(300, 100);
+        GestureTemplate template = batch.template();
+
+        template.perform(driver);
+        template.perform(driver);
+
+        assertEquals(2, driver.performs.size());
+        assertSame("호출마다 새 시퀀스를 만들지 않음", driver.performs.get(0), driver.performs.get(1));
+        assertSame(batch.toSequence(), template.sequences().get(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void templateFreezesItsBuilder() {
+        GestureBatch batch = GestureBatch.create().tap(100, 100);
+        batch.template();
+
+        batch.tap(200, 200);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> types(Sequence sequence) {
+        List<String> types = new ArrayList<>();
+        for (Map<String, Object> action : (List<Map<String, Object>>) sequence.encode().get("actions")) {
+            types.add((String) action.get("type"));
+        }
+        return types;
+    }
+}
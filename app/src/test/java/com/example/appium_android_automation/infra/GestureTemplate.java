@@ -0,0 +1,46 @@
+package com.example.appium_android_automation.infra;
+
+import com.example.appium_android_automation.reporting.Metrics;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 고정된 제스처 (GestureBatch.template)
+ * - 시퀀스 목록을 1회만 만들어 두고 perform마다 그대로 재사용 (호출당 시퀀스/동작 객체 할당 없음)
+ * - 시퀀스는 밖으로 내보내지 않고 perform만 공개 → 만든 뒤 바뀌지 않으므로 스레드/디바이스 간 공유 가능
+ */
+public final class GestureTemplate {
+
+    private final List<Sequence> sequences;
+
+    private GestureTemplate(List<Sequence> sequences) {
+        this.sequences = sequences;
+    }
+
+    static GestureTemplate of(GestureBatch... fingers) {
+        List<Sequence> sequences = new ArrayList<>(fingers.length);
+        for (GestureBatch f : fingers) {
+            f.freeze();
+            sequences.add(f.toSequence());
+        }
+        return new GestureTemplate(Collections.unmodifiableList(sequences));
+    }
+
+    // 테스트 확인용 (Sequence는 addAction으로 바뀔 수 있으므로 공개하지 않음)
+    List<Sequence> sequences() {
+        return sequences;
+    }
+
+    public void perform(Interactive driver) {
+        long t0 = System.nanoTime();
+        try {
+            driver.perform(sequences);
+        } finally {
+            Metrics.recordNanos("appium.perform", System.nanoTime() - t0);
+        }
+    }
+}
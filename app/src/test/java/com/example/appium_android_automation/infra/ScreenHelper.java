@@ -1,44 +1,143 @@
 package com.example.appium_android_automation.infra;
 
+import com.example.appium_android_automation.reporting.Metrics;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * 화면 해상도 측정 및 좌표 계산 유틸리티
- * - 해상도 독립적 터치 좌표 계산 지원
+ * - 해상도 독립적 터치 좌표 계산 지원 (DeviceGeometry)
+ * - 창 크기/방향/밀도는 세션(드라이버)당 1회만 조회해 캐시 (Appium 왕복 생략)
+ * - 스크린샷 방향이 캐시와 달라지면(화면 회전) 크기/방향만 다시 조회, 밀도는 유지
  */
 public class ScreenHelper {
 
+    /** 기하 정보 조회 (기본: AndroidDriver, 테스트에서 교체 가능) */
+    interface GeometrySource {
+        Dimension size();
+
+        ScreenOrientation orientation();
+
+        long densityDpi();
+    }
+
+    // 캐시 항목 (회전 감지 시 stale → 다음 조회에서 갱신)
+    private static final class Entry {
+        final DeviceGeometry geometry;
+        volatile boolean stale;
+
+        Entry(DeviceGeometry geometry) {
+            this.geometry = geometry;
+        }
+    }
+
+    // 세션 종료 후 드라이버가 수거되면 함께 제거
+    private static final Map<Object, Entry> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // 현재 세션의 화면 기하 정보 (세션당 1회 조회)
+    public static DeviceGeometry geometry(AndroidDriver driver) {
+        return geometry(driver, sourceOf(driver));
+    }
+
+    static DeviceGeometry geometry(Object session, GeometrySource source) {
+        Entry entry = CACHE.get(session);
+        if (entry != null && !entry.stale) {
+            return entry.geometry;
+        }
+
+        DeviceGeometry loaded;
+        if (entry == null) {
+            loaded = Metrics.time("appium.geometry", () ->
+                    new DeviceGeometry(source.size(), source.orientation(), source.densityDpi()));
+        } else {
+            // 회전: 밀도는 그대로
+            loaded = Metrics.time("appium.geometry", () ->
+                    new DeviceGeometry(source.size(), source.orientation(), entry.geometry.getDensityDpi()));
+            System.out.println("[Screen] 화면 회전 반영: " + entry.geometry + " → " + loaded);
+        }
+        CACHE.put(session, new Entry(loaded));
+        return loaded;
+    }
+
+    /**
+     * 촬영한 스크린샷 크기로 회전 여부 확인 (추가 Appium 호출 없음)
+     *
+     * @return 캐시와 방향이 달라 다음 조회 때 갱신하도록 표시했으면 true
+     */
+    public static boolean onFrame(Object session, int frameWidth, int frameHeight) {
+        Entry entry = CACHE.get(session);
+        if (entry == null || entry.stale || entry.geometry.matchesFrame(frameWidth, frameHeight)) {
+            return false;
+        }
+        entry.stale = true;
+        return true;
+    }
+
+    // 캐시 무효화 (직접 회전시킨 경우 등)
+    public static void invalidate(Object session) {
+        CACHE.remove(session);
+    }
+
     // 현재 화면 해상도 반환 (width x height)
     public static Dimension getScreenSize(AndroidDriver driver) {
-        return driver.manage().window().getSize();
+        return geometry(driver).getSize();
     }
 
     // 현재 화면 방향 반환 (PORTRAIT/LANDSCAPE)
     public static ScreenOrientation getOrientation(AndroidDriver driver) {
-        return driver.getOrientation();
+        return geometry(driver).getOrientation();
     }
 
     // 화면 중앙 X 좌표 계산
     public static int getCenterX(AndroidDriver driver) {
-        return getScreenSize(driver).getWidth() / 2;
+        return geometry(driver).centerX();
     }
 
     // 화면 중앙 Y 좌표 계산
     public static int getCenterY(AndroidDriver driver) {
-        return getScreenSize(driver).getHeight() / 2;
+        return geometry(driver).centerY();
     }
 
     // 화면 정보 콘솔 출력 (디버깅용)
     public static void printScreenInfo(AndroidDriver driver) {
-        Dimension size = getScreenSize(driver);
-        ScreenOrientation orientation = getOrientation(driver);
+        DeviceGeometry g = geometry(driver);
 
         System.out.println("=== 화면 정보 ===");
-        System.out.println("해상도: " + size.getWidth() + " x " + size.getHeight());
-        System.out.println("방향: " + orientation);
-        System.out.println("중앙 좌표: (" + getCenterX(driver) + ", " + getCenterY(driver) + ")");
+        System.out.println("해상도: " + g.getWidth() + " x " + g.getHeight());
+        System.out.println("방향: " + g.getOrientation());
+        System.out.println("밀도: " + g.getDensityDpi() + "dpi");
+        System.out.println("중앙 좌표: (" + g.centerX() + ", " + g.centerY() + ")");
         System.out.println("================");
     }
+
+    private static GeometrySource sourceOf(AndroidDriver driver) {
+        return new GeometrySource() {
+            @Override
+            public Dimension size() {
+                return driver.manage().window().getSize();
+            }
+
+            @Override
+            public ScreenOrientation orientation() {
+                return driver.getOrientation();
+            }
+
+            @Override
+            public long densityDpi() {
+                try {
+                    Long density = driver.getDisplayDensity();
+                    return density != null ? density : DeviceGeometry.BASELINE_DENSITY_DPI;
+                } catch (WebDriverException e) {
+                    System.err.println("[Screen] 화면 밀도 조회 실패 (160dpi로 계산): " + e.getMessage());
+                    return DeviceGeometry.BASELINE_DENSITY_DPI;
+                }
+            }
+        };
+    }
 }
@@ -0,0 +1,234 @@
+package com.example.appium_android_automation.infra;
+
+import com.example.appium_android_automation.marker.ImageAssert;
+import io.appium.java_client.android.AndroidDriver;
+import org.junit.Test;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.remote.CommandPayload;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * ScreenHelper 세션 캐시 / DeviceGeometry 좌표 변환 검증 - 조회 횟수를 세는 가짜 소스 + 명령을 기록하는 가짜 AndroidDriver (디바이스 불필요)
+ */
+public class ScreenHelperTest {
+
+    /**
+     * Appium 왕복을 기록하는 가짜 AndroidDriver
+     * - 기존 세션 연결 생성자 사용 → 세션 생성/서버 접속 없음
+     * - 드라이버 명령은 모두 execute(CommandPayload)를 거치므로 여기서 왕복 1회씩 기록
+     */
+    private static final class RecordingDriver extends AndroidDriver {
+        final List<String> commands = new ArrayList<>();
+        int width = 1920;
+        int height = 1080;
+        String orientation = "LANDSCAPE";
+        String screenshot;
+
+        RecordingDriver() throws IOException {
+            super(new URL("http://127.0.0.1:4723/session/recording"), "UiAutomator2");
+        }
+
+        void rotate() {
+            int w = width;
+            width = height;
+            height = w;
+            orientation = orientation.equals("LANDSCAPE") ? "PORTRAIT" : "LANDSCAPE";
+        }
+
+        @Override
+        protected Response execute(CommandPayload payload) {
+            Response response = new Response();
+            String name = payload.getName();
+            if (DriverCommand.EXECUTE_SCRIPT.equals(name)) {
+                name = String.valueOf(payload.getParameters().get("script"));
+            }
+            if (DriverCommand.GET_CURRENT_WINDOW_SIZE.equals(name)) {
+                commands.add("windowSize");
+                response.setValue(Map.of("width", width, "height", height));
+            } else if (DriverCommand.GET_SCREEN_ORIENTATION.equals(name)) {
+                commands.add("orientation");
+                response.setValue(orientation);
+            } else if (name.endsWith("getDisplayDensity")) {
+                commands.add("density");
+                response.setValue(480L);
+            } else if (DriverCommand.SCREENSHOT.equals(name)) {
+                commands.add("screenshot");
+                response.setValue(screenshot);
+            } else if (DriverCommand.ACTIONS.equals(name)) {
+                commands.add("actions");
+            } else {
+                throw new UnsupportedOperationException(name);
+            }
+            return response;
+        }
+    }
+
+    /** 조회마다 횟수 기록, rotate()로 화면 회전 흉내 */
+    private static final class CountingSource implements ScreenHelper.GeometrySource {
+        Dimension size;
+        ScreenOrientation orientation = ScreenOrientation.LANDSCAPE;
+        int sizeCalls;
+        int orientationCalls;
+        int densityCalls;
+
+        CountingSource(int width, int height) {
+            this.size = new Dimension(width, height);
+        }
+
+        void rotate() {
+            size = new Dimension(size.getHeight(), size.getWidth());
+            orientation = orientation == ScreenOrientation.LANDSCAPE
+                    ? ScreenOrientation.PORTRAIT : ScreenOrientation.LANDSCAPE;
+        }
+
+        @Override
+        public Dimension size() {
+            sizeCalls++;
+            return size;
+        }
+
+        @Override
+        public ScreenOrientation orientation() {
+            orientationCalls++;
+            return orientation;
+        }
+
+        @Override
+        public long densityDpi() {
+            densityCalls++;
+            return 480;
+        }
+    }
+
+    private final Object session = new Object();
+
+    @Test
+    public void repeatedLookupsHitTheDeviceOnce() {
+        CountingSource source = new CountingSource(1920, 1080);
+
+        for (int i = 0; i < 5; i++) {
+            ScreenHelper.geometry(session, source);
+        }
+
+        assertEquals(1, source.sizeCalls);
+        assertEquals(1, source.orientationCalls);
+        assertEquals(1, source.densityCalls);
+    }
+
+    @Test
+    public void matchingFrameKeepsTheCache() {
+        CountingSource source = new CountingSource(1920, 1080);
+        ScreenHelper.geometry(session, source);
+
+        // 스크린샷은 물리 해상도라 창 크기와 달라도 방향만 같으면 유지
+        assertFalse(ScreenHelper.onFrame(session, 3120, 1440));
+        ScreenHelper.geometry(session, source);
+
+        assertEquals(1, source.sizeCalls);
+    }
+
+    @Test
+    public void rotatedFrameRefreshesSizeAndOrientationButNotDensity() {
+        CountingSource source = new CountingSource(1920, 1080);
+        ScreenHelper.geometry(session, source);
+        source.rotate();
+
+        assertTrue(ScreenHelper.onFrame(session, 1080, 1920));
+        DeviceGeometry rotated = ScreenHelper.geometry(session, source);
+
+        assertEquals(1080, rotated.getWidth());
+        assertEquals(ScreenOrientation.PORTRAIT, rotated.getOrientation());
+        assertEquals(480, rotated.getDensityDpi());
+        assertEquals(2, source.sizeCalls);
+        assertEquals(2, source.orientationCalls);
+        assertEquals(1, source.densityCalls);
+    }
+
+    @Test
+    public void sessionsAreCachedSeparately() {
+        CountingSource first = new CountingSource(1920, 1080);
+        CountingSource second = new CountingSource(2400, 1080);
+        Object other = new Object();
+
+        assertEquals(1920, ScreenHelper.geometry(session, first).getWidth());
+        assertEquals(2400, ScreenHelper.geometry(other, second).getWidth());
+        ScreenHelper.invalidate(session);
+        ScreenHelper.geometry(session, first);
+
+        assertEquals(2, first.sizeCalls);
+        assertEquals(1, second.sizeCalls);
+    }
+
+    @Test
+    public void screenInfoHelpersShareOneLookupPerSession() throws Exception {
+        RecordingDriver driver = new RecordingDriver();
+
+        ScreenHelper.printScreenInfo(driver);
+        assertEquals(960, ScreenHelper.getCenterX(driver));
+        assertEquals(540, ScreenHelper.getCenterY(driver));
+        assertEquals(new Dimension(1920, 1080), ScreenHelper.getScreenSize(driver));
+        assertEquals(ScreenOrientation.LANDSCAPE, ScreenHelper.getOrientation(driver));
+
+        assertEquals("세션당 크기/방향/밀도 1회씩", List.of("windowSize", "orientation", "density"), driver.commands);
+    }
+
+    @Test
+    public void adaptiveDragCostsOnlyTheActionsCallOnceCached() throws Exception {
+        RecordingDriver driver = new RecordingDriver();
+
+        TouchActionHelper.dragCheekAdaptive(driver);
+        TouchActionHelper.dragCheekAdaptive(driver);
+
+        assertEquals(List.of("windowSize", "orientation", "density", "actions", "actions"), driver.commands);
+    }
+
+    @Test
+    public void rotatedScreenshotRefreshesGeometryOnNextLookup() throws Exception {
+        RecordingDriver driver = new RecordingDriver();
+        driver.screenshot = png(90, 160);  // 세로 화면 스크린샷
+        ScreenHelper.getCenterX(driver);
+        driver.rotate();
+
+        ImageAssert.captureFrame(driver);
+        assertEquals(540, ScreenHelper.getCenterX(driver));
+        assertEquals(960, ScreenHelper.getCenterY(driver));
+
+        assertEquals("회전 후 크기/방향만 재조회 (밀도 유지)",
+                List.of("windowSize", "orientation", "density", "screenshot", "windowSize", "orientation"),
+                driver.commands);
+    }
+
+    @Test
+    public void coordinatesScaleToTheCurrentScreen() {
+        DeviceGeometry landscape = new DeviceGeometry(new Dimension(1920, 1080), ScreenOrientation.LANDSCAPE, 480);
+        DeviceGeometry portrait = new DeviceGeometry(new Dimension(1080, 1920), ScreenOrientation.PORTRAIT, 0);
+
+        assertEquals(new Point(960, 540), landscape.fromReference(1560, 720));
+        assertEquals(new Point(540, 960), portrait.fromReference(720, 1560));
+        assertEquals(new Point(50, 1029), landscape.clamp(-10, 5000, 50));
+        assertEquals(new Point(384, 108), landscape.point(0.2, 0.1));
+        assertEquals(144, landscape.dpToPx(48));
+        assertEquals("밀도 미확인 → 160dpi", 48, portrait.dpToPx(48));
+    }
+
+    private static String png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.appium_android_automation.infra;
+
+import io.appium.java_client.android.AndroidDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 디바이스별 Appium 세션 재사용 풀
+ * - 테스트 메서드/클래스가 바뀌어도 세션을 유지하고, 앱 상태만 terminateApp → activateApp으로 초기화
+ * - 가져갈 때마다 헬스 체크 → 응답이 없거나 세션이 끊긴 경우에만 새 세션으로 교체
+ * - JVM 종료 시 전체 세션 정리 + 세션 생성 절약 시간 리포트
+ *
+ * 세션 생성/검사/초기화/종료 함수를 주입하면 스텁 세션으로 JUnit 검증 가능
+ */
+public class SessionPool<D> {
+
+    /** 세션 생성 함수 (디바이스 키 → 새 세션) */
+    @FunctionalInterface
+    public interface SessionFactory<D> {
+        D create(String deviceKey) throws Exception;
+    }
+
+    private static volatile SessionPool<AndroidDriver> shared;
+
+    private final Map<String, D> sessions = new ConcurrentHashMap<>();
+    private final SessionFactory<D> factory;
+    private final Predicate<D> healthCheck;
+    private final Consumer<D> reset;
+    private final Consumer<D> quit;
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicInteger replaced = new AtomicInteger();
+    private final AtomicLong createMs = new AtomicLong();
+    private final AtomicLong resetMs = new AtomicLong();
+
+    public SessionPool(SessionFactory<D> factory, Predicate<D> healthCheck, Consumer<D> reset, Consumer<D> quit) {
+        this.factory = factory;
+        this.healthCheck = healthCheck;
+        this.reset = reset;
+        this.quit = quit;
+    }
+
+    /**
+     * 전체 테스트가 공유하는 AndroidDriver 풀 (최초 사용 시 생성 + 종료 훅 등록)
+     */
+    public static SessionPool<AndroidDriver> shared() {
+        SessionPool<AndroidDriver> pool = shared;
+        if (pool == null) {
+            synchronized (SessionPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    pool = new SessionPool<>(
+                            key -> DriverFactory.createAndroidDriver(),
+                            SessionPool::isHealthy,
+                            SessionPool::restartApp,
+                            AndroidDriver::quit);
+                    SessionPool<AndroidDriver> hook = pool;
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        hook.printReport();
+                        hook.closeAll();
+                    }, "session-pool-shutdown"));
+                    shared = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    // 현재 스레드의 디바이스 키 (병렬 실행 시 udid, 단일 실행 시 "default")
+    public static String currentDeviceKey() {
+        DeviceSlot slot = DevicePool.current();
+        return (slot != null) ? slot.getUdid() : "default";
+    }
+
+    /**
+     * 현재 디바이스의 세션을 가져옵니다.
+     * - 살아있는 세션: 앱 상태만 초기화해 재사용
+     * - 없거나 끊긴 세션: 새로 생성
+     */
+    public D acquire() throws Exception {
+        String key = currentDeviceKey();
+        D session = sessions.get(key);
+
+        if (session != null) {
+            if (healthCheck.test(session) && resetApp(session)) {
+                reused.incrementAndGet();
+                System.out.println("[Session] 세션 재사용 (" + key + ")");
+                return session;
+            }
+            System.out.println("[Session] 세션 응답 없음 → 교체 (" + key + ")");
+            sessions.remove(key);
+            quietQuit(session);
+            replaced.incrementAndGet();
+        }
+
+        long t0 = System.currentTimeMillis();
+        session = factory.create(key);
+        createMs.addAndGet(System.currentTimeMillis() - t0);
+        created.incrementAndGet();
+        sessions.put(key, session);
+        System.out.println("[Session] 새 세션 생성 (" + key + ", " + (System.currentTimeMillis() - t0) + "ms)");
+        return session;
+    }
+
+    // 테스트 종료 시 호출 - 세션은 닫지 않고 다음 테스트를 위해 유지
+    public void release(D session) {
+        // 유지 (다음 acquire에서 헬스 체크 후 재사용)
+    }
+
+    // 세션을 더 이상 쓰지 않을 때 (명시적 폐기)
+    public void invalidate(D session) {
+        sessions.values().removeIf(s -> s == session);
+        quietQuit(session);
+    }
+
+    public void closeAll() {
+        List<D> all = new ArrayList<>(sessions.values());
+        sessions.clear();
+        all.forEach(this::quietQuit);
+    }
+
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    public int getReusedCount() {
+        return reused.get();
+    }
+
+    public int getReplacedCount() {
+        return replaced.get();
+    }
+
+    /**
+     * 재사용으로 절약한 시간 (ms)
+     * = 재사용 횟수 × 평균 세션 생성 시간 - 앱 초기화에 쓴 시간
+     */
+    public long getSavedMs() {
+        int n = created.get();
+        if (n == 0) {
+            return 0;
+        }
+        long avgCreate = createMs.get() / n;
+        return Math.max(0, reused.get() * avgCreate - resetMs.get());
+    }
+
+    public void printReport() {
+        System.out.println("[Session] 생성 " + created.get() + "회 (교체 " + replaced.get() + "회), 재사용 " +
+                reused.get() + "회 → 절약 약 " + (getSavedMs() / 1000) + "초");
+    }
+
+    // 앱 상태 초기화 (실패하면 끊긴 세션으로 간주)
+    private boolean resetApp(D session) {
+        long t0 = System.currentTimeMillis();
+        try {
+            reset.accept(session);
+            return true;
+        } catch (Exception e) {
+            System.err.println("[Session] 앱 초기화 실패: " + e.getMessage());
+            return false;
+        } finally {
+            resetMs.addAndGet(System.currentTimeMillis() - t0);
+        }
+    }
+
+    private void quietQuit(D session) {
+        try {
+            quit.accept(session);
+        } catch (Exception e) {
+            System.err.println("[Session] 세션 종료 실패: " + e.getMessage());
+        }
+    }
+
+    // 세션 응답 확인 (가벼운 명령 1회)
+    private static boolean isHealthy(AndroidDriver driver) {
+        try {
+            if (driver.getSessionId() == null) {
+                return false;
+            }
+            driver.queryAppState(AppiumConfig.APP_PACKAGE);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // 새 세션 시작과 같은 상태로 앱 재시작 (noReset 유지 - 로그인 데이터 보존)
+    private static void restartApp(AndroidDriver driver) {
+        driver.terminateApp(AppiumConfig.APP_PACKAGE);
+        driver.activateApp(AppiumConfig.APP_PACKAGE);
+    }
+}
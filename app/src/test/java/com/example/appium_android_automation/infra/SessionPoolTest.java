@@ -0,0 +1,100 @@
+package com.example.appium_android_automation.infra;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * SessionPool 검증 - 스텁 세션 (Appium 서버 불필요)
+ */
+public class SessionPoolTest {
+
+    private static final long CREATE_MS = 50;
+
+    // 스텁 세션: 생성 비용 + 생존 여부 + 앱 재시작 횟수
+    private static final class StubSession {
+        boolean alive = true;
+        boolean quit = false;
+        int appRestarts = 0;
+    }
+
+    private final SessionPool<StubSession> pool = new SessionPool<>(
+            key -> {
+                Thread.sleep(CREATE_MS);
+                return new StubSession();
+            },
+            s -> s.alive,
+            s -> s.appRestarts++,
+            s -> s.quit = true);
+
+    @After
+    public void tearDown() {
+        DevicePool.unbind();
+    }
+
+    @Test
+    public void healthySessionIsReusedWithAppReset() throws Exception {
+        StubSession first = pool.acquire();
+        pool.release(first);
+        StubSession second = pool.acquire();
+        pool.release(second);
+        StubSession third = pool.acquire();
+
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals("재사용 때마다 앱만 재시작", 2, first.appRestarts);
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(2, pool.getReusedCount());
+        assertTrue("절약 시간 ≈ 재사용 2회 × 생성 비용: " + pool.getSavedMs(),
+                pool.getSavedMs() >= 2 * CREATE_MS - 20);
+    }
+
+    @Test
+    public void brokenSessionIsReplaced() throws Exception {
+        StubSession first = pool.acquire();
+        first.alive = false;
+
+        StubSession second = pool.acquire();
+
+        assertNotSame(first, second);
+        assertTrue("끊긴 세션은 종료 처리", first.quit);
+        assertEquals(1, pool.getReplacedCount());
+        assertEquals(2, pool.getCreatedCount());
+    }
+
+    @Test
+    public void failedAppResetAlsoReplacesSession() throws Exception {
+        SessionPool<StubSession> strict = new SessionPool<>(
+                key -> new StubSession(),
+                s -> true,
+                s -> { throw new IllegalStateException("instrumentation crashed"); },
+                s -> s.quit = true);
+
+        StubSession first = strict.acquire();
+        StubSession second = strict.acquire();
+
+        assertNotSame(first, second);
+        assertTrue(first.quit);
+    }
+
+    @Test
+    public void sessionsAreKeptPerDevice() throws Exception {
+        DevicePool pool2 = DevicePool.of(List.of("emulator-5554", "emulator-5556"));
+
+        DevicePool.bind(pool2.getSlots().get(0));
+        StubSession a = pool.acquire();
+        DevicePool.bind(pool2.getSlots().get(1));
+        StubSession b = pool.acquire();
+        DevicePool.bind(pool2.getSlots().get(0));
+        StubSession a2 = pool.acquire();
+
+        assertNotSame(a, b);
+        assertSame(a, a2);
+
+        pool.closeAll();
+        assertTrue(a.quit && b.quit);
+    }
+}
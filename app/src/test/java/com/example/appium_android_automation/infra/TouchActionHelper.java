@@ -1,20 +1,14 @@
 package com.example.appium_android_automation.infra;
 
 import io.appium.java_client.android.AndroidDriver;
-import org.openqa.selenium.Dimension;
-import org.openqa.selenium.ScreenOrientation;
 import org.openqa.selenium.Point;
-import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
 
 import com.example.appium_android_automation.marker.ImageAssert;
 
-import java.time.Duration;
-import java.util.List;
-
 /**
  * 터치 및 드래그 동작 자동화
- * - W3C Actions API 기반, Unity SurfaceView 좌표 제어
+ * - W3C Actions API 기반, Unity SurfaceView 좌표 제어 (시퀀스 생성은 GestureBatch)
  */
 public class TouchActionHelper {
 
@@ -27,32 +21,8 @@ public class TouchActionHelper {
         System.out.println("[TouchAction] 드래그 시작: (" + startX + "," + startY + ") → " +
                 "종료: (" + endX + "," + endY + "), 지속시간: " + durationMs + "ms");
 
-        // W3C Actions API 사용 (Appium 권장 최신 방식)
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence dragSequence = new Sequence(finger, 1);
-
-        // 1. 시작 지점으로 포인터 이동
-        dragSequence.addAction(finger.createPointerMove(
-                Duration.ZERO,
-                PointerInput.Origin.viewport(),
-                startX, startY
-        ));
-
-        // 2. 터치 다운 (누르기)
-        dragSequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-
-        // 3. 끝 지점으로 드래그 (지정된 시간 동안 자연스럽게)
-        dragSequence.addAction(finger.createPointerMove(
-                Duration.ofMillis(durationMs),
-                PointerInput.Origin.viewport(),
-                endX, endY
-        ));
-
-        // 4. 터치 업 (떼기)
-        dragSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-
         // 액션 실행
-        driver.perform(List.of(dragSequence));
+        GestureBatch.create().drag(startX, startY, endX, endY, durationMs).perform(driver);
 
         System.out.println("[TouchAction] 드래그 완료 ✓");
     }
@@ -60,37 +30,23 @@ public class TouchActionHelper {
     public static void dragCheekAdaptive(AndroidDriver driver) {
         System.out.println("\n=== 드래그 (해상도 독립적) ===");
 
-        // [Step 1] 화면 정보 수집
-        Dimension size = ScreenHelper.getScreenSize(driver);
-        ScreenOrientation orientation = ScreenHelper.getOrientation(driver);
-
-        int screenWidth = size.getWidth();
-        int screenHeight = size.getHeight();
-
-        System.out.println("화면 해상도: " + screenWidth + " x " + screenHeight);
-        System.out.println("화면 방향: " + orientation);
+        // [Step 1] 화면 정보 (세션 캐시 - Appium 조회 없음)
+        DeviceGeometry g = ScreenHelper.geometry(driver);
+        System.out.println("화면: " + g);
 
-        // [Step 2] 중앙 좌표 계산
-        int centerX = screenWidth / 2;
-        int centerY = screenHeight / 2;
-
-        // [Step 3] 드래그 거리 계산 (화면 너비의 20% - 안전한 범위)
-        int dragDistance = (int)(screenWidth * 0.2);
-
-        // [Step 4] 시작/종료 좌표 설정
-        int startX = centerX;
-        int startY = centerY;
-        int endX = centerX - dragDistance;  // 좌측으로 드래그
-        int endY = centerY;                 // Y축 고정 (수평 드래그)
+        // [Step 2] 중앙에서 화면 너비의 20%만큼 좌측으로 (Y축 고정)
+        int startX = g.centerX();
+        int startY = g.centerY();
+        int dragDistance = g.xPx(0.2);
+        int endX = startX - dragDistance;
+        int endY = startY;
 
         System.out.println("계산된 좌표:");
-        System.out.println("  중앙: (" + centerX + ", " + centerY + ")");
-        System.out.println("  시작: (" + startX + ", " + startY + ")");
+        System.out.println("  시작(중앙): (" + startX + ", " + startY + ")");
         System.out.println("  종료: (" + endX + ", " + endY + ")");
-        System.out.println("  드래그 거리: " + dragDistance + "px (" +
-                String.format("%.0f", (dragDistance * 100.0 / screenWidth)) + "%)");
+        System.out.println("  드래그 거리: " + dragDistance + "px (20%)");
 
-        // [Step 5] 실제 드래그 수행
+        // [Step 3] 실제 드래그 수행
         dragAndDrop(driver, startX, startY, endX, endY, AppiumConfig.CHEEK_DRAG_DURATION_MS);
 
         System.out.println("=== 드래그 완료 ===\n");
@@ -100,68 +56,47 @@ public class TouchActionHelper {
     public static void dragCheekWithOffset(AndroidDriver driver) {
         System.out.println("\n=== 드래그 (우하단 오프셋 버전) ===");
 
-        // [Step 1] 화면 정보 수집
-        Dimension size = ScreenHelper.getScreenSize(driver);
-        ScreenOrientation orientation = ScreenHelper.getOrientation(driver);
-
-        int screenWidth = size.getWidth();
-        int screenHeight = size.getHeight();
-
-        System.out.println("화면 해상도: " + screenWidth + " x " + screenHeight);
-        System.out.println("화면 방향: " + orientation);
-
-        // [Step 2] 기준 좌표 계산
-        int centerX = screenWidth / 2;
-        int centerY = screenHeight / 2;
-
-        // [Step 3] 우하단 10% 오프셋 적용
-        int offsetX = (int)(screenWidth * 0.1);   // 화면 너비의 10%
-        int offsetY = (int)(screenHeight * 0.1);  // 화면 높이의 10%
-
-        int startX = centerX + offsetX;  // 중앙에서 우측으로 10%
-        int startY = centerY + offsetY;  // 중앙에서 하단으로 10%
+        // [Step 1] 화면 정보 (세션 캐시 - Appium 조회 없음)
+        DeviceGeometry g = ScreenHelper.geometry(driver);
+        System.out.println("화면: " + g);
 
-        // [Step 4] 드래그 거리 계산 (화면 너비의 20%)
-        int dragDistance = (int)(screenWidth * 0.2);
-
-        int endX = startX - dragDistance;  // 좌측으로 드래그
-        int endY = startY;                 // Y축 고정 (수평 드래그)
-
-        // [Step 5] 안전장치: 화면 경계 확인
+        // [Step 2] 중앙에서 우하단 10% 오프셋, 좌측으로 너비의 20% 드래그
+        int offsetX = g.xPx(0.1);
+        int offsetY = g.yPx(0.1);
+        int dragDistance = g.xPx(0.2);
         int margin = 50;  // 화면 가장자리 50px 여백 확보
-        startX = Math.max(margin, Math.min(screenWidth - margin, startX));
-        startY = Math.max(margin, Math.min(screenHeight - margin, startY));
-        endX = Math.max(margin, Math.min(screenWidth - margin, endX));
-        endY = Math.max(margin, Math.min(screenHeight - margin, endY));
 
-        // [Step 6] 계산 결과 출력
+        Point start = g.clamp(g.centerX() + offsetX, g.centerY() + offsetY, margin);
+        Point end = g.clamp(g.centerX() + offsetX - dragDistance, g.centerY() + offsetY, margin);
+
         System.out.println("좌표 계산 결과:");
-        System.out.println("  화면 중앙: (" + centerX + ", " + centerY + ")");
         System.out.println("  오프셋 적용: 우+" + offsetX + "px, 하+" + offsetY + "px");
-        System.out.println("  시작 좌표: (" + startX + ", " + startY + ") [중앙 우하단 10%]");
-        System.out.println("  종료 좌표: (" + endX + ", " + endY + ")");
-        System.out.println("  드래그 거리: " + dragDistance + "px (" +
-                String.format("%.0f", (dragDistance * 100.0 / screenWidth)) + "% 좌측)");
+        System.out.println("  시작 좌표: (" + start.getX() + ", " + start.getY() + ") [중앙 우하단 10%]");
+        System.out.println("  종료 좌표: (" + end.getX() + ", " + end.getY() + ")");
+        System.out.println("  드래그 거리: " + dragDistance + "px (20% 좌측)");
 
-        // [Step 7] 실제 드래그 수행
-        dragAndDrop(driver, startX, startY, endX, endY, AppiumConfig.CHEEK_DRAG_DURATION_MS);
+        // [Step 3] 실제 드래그 수행
+        dragAndDrop(driver, start.getX(), start.getY(), end.getX(), end.getY(), AppiumConfig.CHEEK_DRAG_DURATION_MS);
 
         System.out.println("=== 드래그 완료 ===\n");
     }
 
     /**
-     * 기존 하드코딩 버전 (하위 호환성 유지)
+     * 기존 고정 좌표 버전 (하위 호환성 유지) - 기준 해상도 좌표를 현재 해상도로 변환
      * @deprecated 해상도 독립적 버전인 dragCheekAdaptive() 사용 권장
      */
     @Deprecated
     public static void dragCheek(AndroidDriver driver) {
-        System.out.println("[경고] 하드코딩된 좌표 사용 중 (특정 해상도에서만 동작)");
+        DeviceGeometry g = ScreenHelper.geometry(driver);
+        Point start = g.fromReference(AppiumConfig.CHEEK_DRAG_START_X, AppiumConfig.CHEEK_DRAG_START_Y);
+        Point end = g.fromReference(AppiumConfig.CHEEK_DRAG_END_X, AppiumConfig.CHEEK_DRAG_END_Y);
+        System.out.println("[경고] 고정 좌표 사용 중 (기준 해상도 좌표를 " + g.getWidth() + "x" + g.getHeight() + "로 변환)");
         dragAndDrop(
                 driver,
-                AppiumConfig.CHEEK_DRAG_START_X,
-                AppiumConfig.CHEEK_DRAG_START_Y,
-                AppiumConfig.CHEEK_DRAG_END_X,
-                AppiumConfig.CHEEK_DRAG_END_Y,
+                start.getX(),
+                start.getY(),
+                end.getX(),
+                end.getY(),
                 AppiumConfig.CHEEK_DRAG_DURATION_MS
         );
     }
@@ -169,28 +104,24 @@ public class TouchActionHelper {
     public static void tap(AndroidDriver driver, int x, int y) {
         System.out.println("[TouchAction] 터치 실행: (" + x + ", " + y + ")");
 
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence tapSequence = new Sequence(finger, 1);
+        GestureBatch.create().tap(x, y).perform(driver);
 
-        // 1. 터치 위치로 포인터 이동
-        tapSequence.addAction(finger.createPointerMove(
-                Duration.ZERO,
-                PointerInput.Origin.viewport(),
-                x, y
-        ));
-
-        // 2. 터치 다운
-        tapSequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-
-        // 3. 짧은 대기 (자연스러운 터치 느낌)
-        tapSequence.addAction(new org.openqa.selenium.interactions.Pause(finger, Duration.ofMillis(100)));
-
-        // 4. 터치 업
-        tapSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        System.out.println("[TouchAction] 터치 완료 ✓");
+    }
 
-        driver.perform(List.of(tapSequence));
+    /**
+     * 탭 W3C 시퀀스 생성 (이동 → 누르기 → 100ms → 떼기)
+     */
+    public static Sequence tapSequence(int x, int y) {
+        return GestureBatch.create().tap(x, y).toSequence();
+    }
 
-        System.out.println("[TouchAction] 터치 완료 ✓");
+    /**
+     * 드래그 W3C 시퀀스 생성 (이동 → 누르기 → durationMs 동안 이동 → 떼기)
+     * - 디바이스 없이 생성 비용 측정 가능 (TouchSequenceBenchmark)
+     */
+    public static Sequence dragSequence(int startX, int startY, int endX, int endY, int durationMs) {
+        return GestureBatch.create().drag(startX, startY, endX, endY, durationMs).toSequence();
     }
 
     // Point 객체로 터치
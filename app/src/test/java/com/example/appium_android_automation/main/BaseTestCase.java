@@ -1,16 +1,24 @@
 package com.example.appium_android_automation.main;
+import com.example.appium_android_automation.infra.AppiumConfig;
 import com.example.appium_android_automation.infra.DriverFactory;
+import com.example.appium_android_automation.infra.SessionPool;
 import com.example.appium_android_automation.marker.Evidence;
+import com.example.appium_android_automation.marker.FlightRecorder;
+import com.example.appium_android_automation.marker.TemplateRegistry;
 import com.example.appium_android_automation.reporting.ChecklistReporter;
 import com.example.appium_android_automation.reporting.GoogleSheetsClient;
+import com.example.appium_android_automation.reporting.RunHistoryStore;
 import com.google.api.services.sheets.v4.Sheets;
 import io.appium.java_client.android.AndroidDriver;
 import org.junit.After;
 import org.junit.Before;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * 모든 테스트의 공통 기반 클래스
- * - 드라이버 초기화/정리, 구글 시트 리포터 설정, 결과 기록
+ * - 드라이버 초기화/정리 (SessionPool 세션 재사용), 구글 시트 리포터 설정, 결과 기록
  */
 
 public abstract class BaseTestCase {
@@ -24,13 +32,22 @@ public abstract class BaseTestCase {
     private static final String SPREADSHEET_ID = "1aK2P0oL-WeT4LTU9ZeI5LDsAZjR9NI1ufh0W7ed1_j4";
     private static final String SHEET_NAME = "checklist";
 
+    // TC 메서드 이름 규칙 (TC07_LogoutFlow → 7, "LogoutFlow")
+    private static final Pattern TC_METHOD = Pattern.compile("TC(\\d+)_(.+)");
+
     // 테스트 시작 전 자동 실행
     @Before
     public void setUp() throws Exception {
         System.out.println("=== 테스트 환경 초기화 ===");
 
-        driver = DriverFactory.createAndroidDriver();
-        Sheets sheets = GoogleSheetsClient.createSheetsService();
+        driver = AppiumConfig.REUSE_SESSIONS
+                ? SessionPool.shared().acquire()
+                : DriverFactory.createAndroidDriver();
+        RunHistoryStore.setDevice(driver);
+        if (AppiumConfig.FLIGHT_RECORDER) {
+            FlightRecorder.start();
+        }
+        Sheets sheets = GoogleSheetsClient.shared();  // 프로세스당 1회 생성 후 재사용
         reporter = new ChecklistReporter(sheets, SPREADSHEET_ID, SHEET_NAME);
 
         System.out.println("✓ 준비 완료\n");
@@ -40,21 +57,34 @@ public abstract class BaseTestCase {
     @After
     public void tearDown() {
         System.out.println("=== 테스트 환경 정리 ===");
+        if (!Evidence.flush()) {  // 백그라운드 기록 중인 스크린샷 완료 대기 (유실 방지)
+            System.err.println("⚠️ 증거 저장이 시간 내 끝나지 않았습니다");
+        }
+        TemplateRegistry.printStats();
+        RunHistoryStore.printStats();
         if (driver != null) {
-            driver.quit();
-            System.out.println("✓ Driver 종료\n");
+            if (AppiumConfig.REUSE_SESSIONS) {
+                SessionPool.shared().release(driver);  // 세션 유지 (JVM 종료 시 일괄 정리)
+                System.out.println("✓ Driver 반납\n");
+            } else {
+                driver.quit();
+                System.out.println("✓ Driver 종료\n");
+            }
         }
     }
 
     // TC 결과 기록 (Pass/Fail) - 화면 캡처 + 구글 시트 기록
     protected void recordResult(int tcNo, String tcName, boolean isPass) throws Exception {
         String result = isPass ? "Pass" : "Fail";
+        String name = "TC" + String.format("%02d", tcNo) + "_" + tcName;
+
+        // 실패 시에만 직전 화면 흐름 저장 (Pass는 디스크 기록 없음)
+        if (!isPass) {
+            FlightRecorder.dumpCurrent(name + "_" + result);
+        }
 
         // 증거 수집
-        String evidencePath = Evidence.saveScreenshot(
-                driver,
-                "TC" + String.format("%02d", tcNo) + "_" + tcName + "_" + result
-        );
+        String evidencePath = Evidence.saveScreenshot(driver, name + "_" + result);
         System.out.println("→ 증거 저장: " + evidencePath);
 
         // Google Sheets 기록 (개선된 동적 방식 사용)
@@ -66,7 +96,21 @@ public abstract class BaseTestCase {
     protected void recordBlock(int tcNo, String tcName, String reason) throws Exception {
         System.out.println("→ TC" + String.format("%02d", tcNo) + " Block: " + reason);
 
+        FlightRecorder.dumpCurrent("TC" + String.format("%02d", tcNo) + "_" + tcName + "_BLOCK");
         Evidence.saveScreenshot(driver, "TC" + String.format("%02d", tcNo) + "_" + tcName + "_BLOCK");
         reporter.writeTCResult(tcNo, "Block");
     }
-}
\ No newline at end of file
+
+    // 선행 TC 실패로 실행하지 않은 TC의 Block 기록 (세션 없이 시트만 - 의존 그래프 스케줄러용)
+    public static void recordBlockWithoutRun(String method, String reason) throws Exception {
+        Matcher m = TC_METHOD.matcher(method);
+        if (!m.matches()) {
+            System.out.println("→ " + method + " Block: " + reason + " (TC 번호 없음, 시트 기록 생략)");
+            return;
+        }
+        int tcNo = Integer.parseInt(m.group(1));
+        System.out.println("→ TC" + String.format("%02d", tcNo) + " Block: " + reason);
+
+        new ChecklistReporter(GoogleSheetsClient.shared(), SPREADSHEET_ID, SHEET_NAME).writeTCResult(tcNo, "Block");
+    }
+}
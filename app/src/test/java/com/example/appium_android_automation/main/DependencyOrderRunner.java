@@ -0,0 +1,110 @@
+package com.example.appium_android_automation.main;
+
+import org.junit.AssumptionViolatedException;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @DependsOn 순서로 실행하는 JUnit 러너 (@FixMethodOrder 대체, 단일 디바이스 실행용)
+ * - 선행 TC가 항상 먼저 실행 (위상 정렬, 독립 TC끼리는 이름순)
+ * - 선행 TC가 실패/건너뜀이면 후행 TC는 본문을 실행하지 않고 Block 기록 후 건너뜀 처리
+ *
+ * 디바이스 여러 대로 체인을 동시에 돌릴 때는 ParallelSuiteRunner 사용
+ */
+public class DependencyOrderRunner extends BlockJUnit4ClassRunner {
+
+    private final TestDependencyGraph graph;
+    private final Set<String> broken = ConcurrentHashMap.newKeySet();  // 실패/Block된 TC
+
+    public DependencyOrderRunner(Class<?> suite) throws InitializationError {
+        super(suite);
+        try {
+            this.graph = TestDependencyGraph.of(suite);
+        } catch (IllegalArgumentException e) {
+            throw new InitializationError(e);
+        }
+    }
+
+    @Override
+    protected List<FrameworkMethod> computeTestMethods() {
+        List<FrameworkMethod> methods = super.computeTestMethods();
+        List<String> order;
+        try {
+            // 상위 생성자의 검증 단계에서도 호출되므로 필드(graph) 대신 직접 생성
+            order = TestDependencyGraph.of(getTestClass().getJavaClass()).order();
+        } catch (IllegalArgumentException e) {
+            return methods;  // 잘못된 선언은 생성자에서 InitializationError로 보고
+        }
+
+        Map<String, FrameworkMethod> byName = new HashMap<>();
+        for (FrameworkMethod method : methods) {
+            byName.put(method.getName(), method);
+        }
+        List<FrameworkMethod> ordered = new ArrayList<>();
+        for (String name : order) {
+            ordered.add(byName.get(name));
+        }
+        return ordered;
+    }
+
+    @Override
+    protected void runChild(FrameworkMethod method, RunNotifier notifier) {
+        Description description = describeChild(method);
+        for (String before : graph.upstreamOf(method.getName())) {
+            if (broken.contains(before)) {
+                block(method.getName(), description, "선행 TC 실패: " + before, notifier);
+                return;
+            }
+        }
+
+        RunListener watcher = new RunListener() {
+            @Override
+            public void testFailure(Failure failure) {
+                markBroken(failure);
+            }
+
+            @Override
+            public void testAssumptionFailure(Failure failure) {
+                markBroken(failure);
+            }
+
+            private void markBroken(Failure failure) {
+                if (description.equals(failure.getDescription())) {
+                    broken.add(method.getName());
+                }
+            }
+        };
+        notifier.addListener(watcher);
+        try {
+            super.runChild(method, notifier);
+        } finally {
+            notifier.removeListener(watcher);
+        }
+    }
+
+    // 본문 실행 없이 Block 기록 → JUnit에는 건너뜀(assumption failure)으로 보고
+    private void block(String method, Description description, String reason, RunNotifier notifier) {
+        broken.add(method);
+        System.out.println("[DependencyOrder] ⛔ " + method + " Block (" + reason + ")");
+        try {
+            ParallelSuiteRunner.recordBlock(getTestClass().getJavaClass(), method, reason);
+        } catch (Exception e) {
+            System.err.println("[DependencyOrder] Block 기록 실패 (" + method + "): " + e.getMessage());
+        }
+        notifier.fireTestStarted(description);
+        notifier.fireTestAssumptionFailed(new Failure(description, new AssumptionViolatedException("Block: " + reason)));
+        notifier.fireTestFinished(description);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.appium_android_automation.main;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 선행 TC 선언 (같은 클래스의 @Test 메서드 이름)
+ * - 선행 TC가 끝난 디바이스 상태를 그대로 이어받아 실행
+ * - 선행 TC가 실패/Block이면 실행하지 않고 Block 기록
+ *
+ * 예) @DependsOn("TC06_GoogleFirstLogin")
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DependsOn {
+    String[] value();
+}
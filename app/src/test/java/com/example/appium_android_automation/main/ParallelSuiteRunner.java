@@ -0,0 +1,218 @@
+package com.example.appium_android_automation.main;
+
+import com.example.appium_android_automation.infra.DevicePool;
+import com.example.appium_android_automation.infra.DeviceSlot;
+import com.example.appium_android_automation.reporting.RunHistoryStore;
+import com.example.appium_android_automation.testcase.SmokeTestSuite;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 테스트 클래스의 @Test 메서드를 연결된 모든 디바이스에 나눠 동시에 실행합니다.
+ * - 디바이스 1대 = 워커 스레드 1개 (DevicePool.bind → DriverFactory가 해당 디바이스로 세션 생성)
+ * - @DependsOn으로 이어진 TC 체인 단위로 공유 큐에서 먼저 끝난 워커가 가져감
+ *   (체인 내부는 같은 디바이스에서 위상 순서대로, 서로 독립인 체인끼리는 동시에)
+ * - 선행 TC가 실패하면 후행 TC는 실행하지 않고 즉시 Block 기록 (타임아웃 낭비 없음)
+ * - 증거 스크린샷은 build/reports/evidence/{udid} 폴더에 분리 저장
+ *
+ * 실행: ParallelSuiteRunner.main (-Ddevices=udid1,udid2 또는 adb devices 자동 탐색)
+ * 주의: 디바이스마다 Appium 서버를 APPIUM_BASE_PORT + i 포트로 띄워야 함
+ */
+public class ParallelSuiteRunner {
+
+    /** 메서드 1개 실행기 (기본: JUnitCore, 테스트에서 교체 가능) */
+    @FunctionalInterface
+    public interface MethodExecutor {
+        Result execute(Class<?> suite, String methodName);
+    }
+
+    /** 선행 TC 실패로 실행하지 않은 TC의 Block 기록 (기본: 체크리스트 시트, 테스트에서 교체 가능) */
+    @FunctionalInterface
+    public interface BlockRecorder {
+        void record(Class<?> suite, String methodName, String reason) throws Exception;
+    }
+
+    /** 메서드별 실행 결과 */
+    public static final class MethodResult {
+        public final String method;
+        public final String device;
+        public final boolean passed;
+        public final boolean blocked;
+        public final long durationMs;
+        public final String failure;
+
+        MethodResult(String method, String device, boolean passed, long durationMs, String failure) {
+            this(method, device, passed, false, durationMs, failure);
+        }
+
+        private MethodResult(String method, String device, boolean passed, boolean blocked,
+                             long durationMs, String failure) {
+            this.method = method;
+            this.device = device;
+            this.passed = passed;
+            this.blocked = blocked;
+            this.durationMs = durationMs;
+            this.failure = failure;
+        }
+
+        static MethodResult blocked(String method, String device, String reason) {
+            return new MethodResult(method, device, false, true, 0, reason);
+        }
+    }
+
+    /** 전체 실행 요약 */
+    public static final class Summary {
+        public final List<MethodResult> results;
+        public final long wallMs;
+
+        Summary(List<MethodResult> results, long wallMs) {
+            this.results = results;
+            this.wallMs = wallMs;
+        }
+
+        public boolean allPassed() {
+            return results.stream().allMatch(r -> r.passed);
+        }
+
+        // 순차 실행 대비 처리량 배수 (메서드 소요시간 합 / 실제 경과시간)
+        public double speedup() {
+            long total = results.stream().mapToLong(r -> r.durationMs).sum();
+            return wallMs > 0 ? (double) total / wallMs : 1.0;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Class<?> suite = (args.length > 0) ? Class.forName(args[0]) : SmokeTestSuite.class;
+        DevicePool pool = DevicePool.fromEnvironment();
+        Summary summary = run(suite, pool);
+        System.exit(summary.allPassed() ? 0 : 1);
+    }
+
+    public static Summary run(Class<?> suite, DevicePool pool) throws Exception {
+        return run(suite, pool, (cls, name) -> new JUnitCore().run(Request.method(cls, name)));
+    }
+
+    public static Summary run(Class<?> suite, DevicePool pool, MethodExecutor executor) throws Exception {
+        return run(suite, pool, executor, ParallelSuiteRunner::recordBlock);
+    }
+
+    public static Summary run(Class<?> suite, DevicePool pool, MethodExecutor executor,
+                              BlockRecorder blocker) throws Exception {
+        TestDependencyGraph graph = TestDependencyGraph.of(suite);
+        Queue<List<String>> pending = new ConcurrentLinkedQueue<>(graph.chains());
+        Queue<MethodResult> results = new ConcurrentLinkedQueue<>();
+
+        System.out.println("[Parallel] " + suite.getSimpleName() + " " + graph.order().size() +
+                "개 메서드 (체인 " + pending.size() + "개) → 디바이스 " + pool.size() + "대");
+        for (DeviceSlot slot : pool.getSlots()) {
+            System.out.println("   📱 " + slot);
+        }
+
+        long start = System.currentTimeMillis();
+        ExecutorService workers = Executors.newFixedThreadPool(pool.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < pool.size(); i++) {
+                futures.add(workers.submit(() -> {
+                    DeviceSlot slot = pool.acquire();
+                    DevicePool.bind(slot);
+                    RunHistoryStore.setDevice(slot.getUdid());
+                    try {
+                        List<String> chain;
+                        while ((chain = pending.poll()) != null) {
+                            runChain(suite, chain, graph, slot, executor, blocker, results);
+                        }
+                    } finally {
+                        DevicePool.unbind();
+                        pool.release(slot);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+
+        Summary summary = new Summary(new ArrayList<>(results), System.currentTimeMillis() - start);
+        printSummary(summary);
+        return summary;
+    }
+
+    // 체인 1개를 같은 디바이스에서 순서대로 실행 (실패 시 남은 후행 TC는 즉시 Block)
+    private static void runChain(Class<?> suite, List<String> chain, TestDependencyGraph graph, DeviceSlot slot,
+                                 MethodExecutor executor, BlockRecorder blocker, Queue<MethodResult> results) {
+        Map<String, MethodResult> blocked = new HashMap<>();
+        for (String method : chain) {
+            MethodResult block = blocked.get(method);
+            if (block != null) {
+                results.add(block);
+                continue;
+            }
+            MethodResult result = runOne(suite, method, slot, executor);
+            results.add(result);
+            if (result.passed) {
+                continue;
+            }
+            String reason = "선행 TC 실패: " + method;
+            for (String after : graph.dependentsOf(method)) {
+                if (!blocked.containsKey(after)) {
+                    blocked.put(after, MethodResult.blocked(after, slot.getUdid(), reason));
+                    record(blocker, suite, after, reason);
+                }
+            }
+        }
+    }
+
+    private static void record(BlockRecorder blocker, Class<?> suite, String method, String reason) {
+        System.out.println("[Parallel] ⛔ " + method + " Block (" + reason + ")");
+        try {
+            blocker.record(suite, method, reason);
+        } catch (Exception e) {
+            System.err.println("[Parallel] Block 기록 실패 (" + method + "): " + e.getMessage());
+        }
+    }
+
+    // 기본 Block 기록: BaseTestCase 스위트만 체크리스트 시트에 기록
+    static void recordBlock(Class<?> suite, String method, String reason) throws Exception {
+        if (BaseTestCase.class.isAssignableFrom(suite)) {
+            BaseTestCase.recordBlockWithoutRun(method, reason);
+        }
+    }
+
+    private static MethodResult runOne(Class<?> suite, String method, DeviceSlot slot, MethodExecutor executor) {
+        System.out.println("[Parallel] ▶ " + slot.getUdid() + " : " + method);
+        long t0 = System.currentTimeMillis();
+        try {
+            Result result = executor.execute(suite, method);
+            String failure = result.wasSuccessful() ? null : result.getFailures().get(0).getMessage();
+            return new MethodResult(method, slot.getUdid(), result.wasSuccessful(),
+                    System.currentTimeMillis() - t0, failure);
+        } catch (Exception e) {
+            return new MethodResult(method, slot.getUdid(), false, System.currentTimeMillis() - t0, e.getMessage());
+        }
+    }
+
+    private static void printSummary(Summary summary) {
+        System.out.println("=== 병렬 실행 결과 ===");
+        for (MethodResult r : summary.results) {
+            System.out.println((r.passed ? "   ✅ " : r.blocked ? "   ⛔ " : "   ❌ ") + r.method + " @" + r.device +
+                    " (" + r.durationMs + "ms)" + (r.failure != null ? " - " + r.failure : ""));
+        }
+        System.out.printf("   총 %d개, 경과 %dms, 순차 대비 %.1f배%n",
+                summary.results.size(), summary.wallMs, summary.speedup());
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.appium_android_automation.main;
+
+import com.example.appium_android_automation.infra.DevicePool;
+import com.example.appium_android_automation.infra.DeviceSlot;
+import com.example.appium_android_automation.infra.DriverFactory;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.Result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * ParallelSuiteRunner 검증 - 드라이버 대신 디바이스 배정만 기록하는 스텁 스위트 사용
+ */
+public class ParallelSuiteRunnerTest {
+
+    // 각 메서드가 실행된 디바이스 기록 (실제 세션 생성 없음)
+    static final Map<String, String> EXECUTED_ON = new ConcurrentHashMap<>();
+    static final ConcurrencyProbe PROBE = new ConcurrencyProbe();
+    static volatile CountDownLatch allDevicesBusy = new CountDownLatch(0);
+
+    // 러너 밖에서 단독 실행되면(테스트 클래스 자동 탐지) 건너뜀
+    public static class StubSuite {
+        private void work(String name) {
+            DeviceSlot slot = DevicePool.current();
+            Assume.assumeNotNull(slot);
+            EXECUTED_ON.put(name, slot.getUdid());
+            PROBE.enter();
+            try {
+                // 첫 메서드들은 모든 디바이스가 동시에 실행 중이 될 때까지 대기 (순차 실행이면 시간 초과)
+                assertTrue("디바이스 워커가 동시에 실행되지 않음", meet(allDevicesBusy));
+            } finally {
+                PROBE.exit();
+            }
+        }
+
+        @Test public void TC01() throws Exception { work("TC01"); }
+        @Test public void TC02() throws Exception { work("TC02"); }
+        @Test public void TC03() throws Exception { work("TC03"); }
+        @Test public void TC04() throws Exception { work("TC04"); }
+        @Test public void TC05() throws Exception { work("TC05"); }
+        @Test public void TC06() throws Exception { work("TC06"); }
+        @Test public void TC07() throws Exception { work("TC07"); }
+        @Test public void TC08() throws Exception { work("TC08"); }
+    }
+
+    // 의존 체인 A1 → A2 → A3 + 독립 TC B1 (실행은 MethodExecutor로 대체)
+    public static class ChainSuite {
+        @Test public void TC01_A1() { }
+        @Test @DependsOn("TC01_A1") public void TC02_A2() { }
+        @Test @DependsOn("TC02_A2") public void TC03_A3() { }
+        @Test public void TC04_B1() { }
+    }
+
+    @Test
+    public void shardsMethodsAcrossAllDevices() throws Exception {
+        EXECUTED_ON.clear();
+        PROBE.reset();
+        allDevicesBusy = new CountDownLatch(4);
+        DevicePool pool = DevicePool.of(List.of("emulator-5554", "emulator-5556", "R3CT30ABCDE", "192.168.0.10:5555"));
+
+        ParallelSuiteRunner.Summary summary = ParallelSuiteRunner.run(StubSuite.class, pool);
+
+        assertTrue(summary.allPassed());
+        assertEquals(8, summary.results.size());
+        assertEquals("모든 메서드가 디바이스가 배정된 워커에서 실행", 8, EXECUTED_ON.size());
+        Set<String> used = EXECUTED_ON.values().stream().collect(Collectors.toSet());
+        assertEquals("모든 디바이스 사용",
+                pool.getSlots().stream().map(DeviceSlot::getUdid).collect(Collectors.toSet()), used);
+        for (ParallelSuiteRunner.MethodResult r : summary.results) {
+            assertEquals("결과의 디바이스 = 실행된 디바이스", EXECUTED_ON.get(r.method), r.device);
+        }
+        assertEquals("디바이스 4대가 동시에 실행 (그 이상은 없음)", 4, PROBE.max());
+        assertNull("워커 종료 후 배정 해제", DevicePool.current());
+    }
+
+    @Test
+    public void failuresAreReportedPerDevice() throws Exception {
+        DevicePool pool = DevicePool.of(List.of("emulator-5554"));
+
+        ParallelSuiteRunner.Summary summary = ParallelSuiteRunner.run(StubSuite.class, pool,
+                (suite, method) -> { throw new IllegalStateException("세션 생성 실패"); });
+
+        assertFalse(summary.allPassed());
+        assertEquals("emulator-5554", summary.results.get(0).device);
+        assertEquals("세션 생성 실패", summary.results.get(0).failure);
+    }
+
+    @Test
+    public void dependentMethodsRunInOrderOnOneDeviceWhileOtherChainsRunAlongside() throws Exception {
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        Map<String, String> device = new ConcurrentHashMap<>();
+        ConcurrencyProbe probe = new ConcurrencyProbe();
+        CountDownLatch chainsOverlap = new CountDownLatch(2);
+        DevicePool pool = DevicePool.of(List.of("emulator-5554", "emulator-5556"));
+
+        ParallelSuiteRunner.Summary summary = ParallelSuiteRunner.run(ChainSuite.class, pool, (suite, method) -> {
+            started.add(method);
+            device.put(method, DevicePool.current().getUdid());
+            probe.enter();
+            try {
+                // 체인 A의 첫 TC와 독립 TC B1은 서로를 기다림 → 동시에 실행되어야 통과
+                if (method.equals("TC01_A1") || method.equals("TC04_B1")) {
+                    assertTrue(meet(chainsOverlap));
+                }
+            } finally {
+                probe.exit();
+            }
+            return new Result();
+        }, (suite, method, reason) -> fail("Block 없음"));
+
+        assertTrue(summary.allPassed());
+        assertEquals("체인은 디바이스 1대", device.get("TC01_A1"), device.get("TC02_A2"));
+        assertEquals(device.get("TC01_A1"), device.get("TC03_A3"));
+        assertNotEquals("독립 TC는 다른 디바이스", device.get("TC01_A1"), device.get("TC04_B1"));
+        assertTrue(started.indexOf("TC01_A1") < started.indexOf("TC02_A2"));
+        assertTrue(started.indexOf("TC02_A2") < started.indexOf("TC03_A3"));
+        assertEquals("체인 2개가 디바이스 2대에서 동시에", 2, probe.max());
+    }
+
+    @Test
+    public void failedUpstreamBlocksDownstreamWithoutRunningIt() throws Exception {
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        List<String> blocked = Collections.synchronizedList(new ArrayList<>());
+        DevicePool pool = DevicePool.of(List.of("emulator-5554"));
+
+        ParallelSuiteRunner.Summary summary = ParallelSuiteRunner.run(ChainSuite.class, pool, (suite, method) -> {
+            executed.add(method);
+            if (method.equals("TC01_A1")) {
+                throw new IllegalStateException("앱 실행 불가");
+            }
+            return new Result();
+        }, (suite, method, reason) -> blocked.add(method));
+
+        assertEquals(List.of("TC01_A1", "TC04_B1"), executed);
+        assertEquals(List.of("TC02_A2", "TC03_A3"), blocked);
+        Map<String, ParallelSuiteRunner.MethodResult> byMethod = summary.results.stream()
+                .collect(Collectors.toMap(r -> r.method, r -> r));
+        assertTrue(byMethod.get("TC03_A3").blocked);
+        assertEquals("선행 TC 실패: TC01_A1", byMethod.get("TC03_A3").failure);
+        assertTrue(byMethod.get("TC04_B1").passed);
+        assertFalse(summary.allPassed());
+    }
+
+    @Test
+    public void eachSlotGetsDistinctPortsAndCapabilities() {
+        DevicePool pool = DevicePool.of(List.of("emulator-5554", "emulator-5556"));
+        DeviceSlot first = pool.getSlots().get(0);
+        DeviceSlot second = pool.getSlots().get(1);
+
+        assertNotEquals(first.getAppiumPort(), second.getAppiumPort());
+        assertNotEquals(first.getSystemPort(), second.getSystemPort());
+
+        UiAutomator2Options options = DriverFactory.createOptions(second);
+        assertEquals("emulator-5556", options.getUdid().orElse(null));
+        assertEquals(second.getSystemPort(), options.getSystemPort().orElseThrow().intValue());
+        assertTrue(second.getServerUrl().endsWith(":" + second.getAppiumPort()));
+    }
+
+    // 도착을 알리고 나머지가 모두 도착할 때까지 대기 (5초 내에 모이지 않으면 false)
+    private static boolean meet(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** 동시에 실행 중인 메서드 수의 최댓값 기록 */
+    static final class ConcurrencyProbe {
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        void enter() {
+            int now = active.incrementAndGet();
+            max.accumulateAndGet(now, Math::max);
+        }
+
+        void exit() {
+            active.decrementAndGet();
+        }
+
+        int max() {
+            return max.get();
+        }
+
+        void reset() {
+            active.set(0);
+            max.set(0);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.appium_android_automation.main;
+
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * TC 의존 그래프 (@DependsOn → DAG)
+ * - 실행 순서: 위상 정렬 (선행 TC가 없는 것끼리는 이름순)
+ * - 체인: 의존 관계로 이어진 TC 묶음 = 디바이스 1대에서 순서대로 실행할 단위
+ *   (서로 다른 체인은 디바이스 상태를 공유하지 않으므로 동시에 실행 가능)
+ */
+public class TestDependencyGraph {
+
+    private final Map<String, List<String>> upstream;    // TC → 직접 선행 TC
+    private final Map<String, List<String>> downstream;  // TC → 직접 후행 TC
+    private final List<String> order;
+
+    TestDependencyGraph(Map<String, List<String>> upstream) {
+        this.upstream = new TreeMap<>();
+        this.downstream = new TreeMap<>();
+        for (Map.Entry<String, List<String>> e : upstream.entrySet()) {
+            this.upstream.put(e.getKey(), List.copyOf(e.getValue()));
+            this.downstream.putIfAbsent(e.getKey(), new ArrayList<>());
+        }
+        for (Map.Entry<String, List<String>> e : this.upstream.entrySet()) {
+            for (String before : e.getValue()) {
+                if (!this.upstream.containsKey(before)) {
+                    throw new IllegalArgumentException(e.getKey() + "의 선행 TC가 @Test 메서드가 아닙니다: " + before);
+                }
+                this.downstream.get(before).add(e.getKey());
+            }
+        }
+        this.order = topologicalOrder();
+    }
+
+    // 클래스의 @Test 메서드와 @DependsOn 선언으로 그래프 생성
+    public static TestDependencyGraph of(Class<?> suite) {
+        Map<String, List<String>> upstream = new HashMap<>();
+        for (Method m : suite.getMethods()) {
+            if (!m.isAnnotationPresent(Test.class)) {
+                continue;
+            }
+            DependsOn dependsOn = m.getAnnotation(DependsOn.class);
+            upstream.put(m.getName(), dependsOn == null ? List.of() : List.of(dependsOn.value()));
+        }
+        return new TestDependencyGraph(upstream);
+    }
+
+    /** 전체 실행 순서 (선행 TC가 항상 먼저) */
+    public List<String> order() {
+        return order;
+    }
+
+    public List<String> upstreamOf(String method) {
+        return upstream.getOrDefault(method, List.of());
+    }
+
+    /** 이 TC가 실패하면 함께 Block되는 모든 후행 TC (실행 순서대로) */
+    public List<String> dependentsOf(String method) {
+        Set<String> reached = new LinkedHashSet<>();
+        Deque<String> queue = new ArrayDeque<>(downstream.getOrDefault(method, List.of()));
+        while (!queue.isEmpty()) {
+            String next = queue.poll();
+            if (reached.add(next)) {
+                queue.addAll(downstream.get(next));
+            }
+        }
+        List<String> sorted = new ArrayList<>(order);
+        sorted.retainAll(reached);
+        return sorted;
+    }
+
+    /**
+     * 의존 관계로 이어진 TC 묶음 (각 묶음은 실행 순서대로, 긴 묶음부터)
+     */
+    public List<List<String>> chains() {
+        Map<String, String> root = new HashMap<>();
+        for (String method : order) {
+            root.put(method, method);
+        }
+        for (Map.Entry<String, List<String>> e : upstream.entrySet()) {
+            for (String before : e.getValue()) {
+                root.put(find(root, e.getKey()), find(root, before));
+            }
+        }
+
+        Map<String, List<String>> groups = new HashMap<>();
+        List<List<String>> chains = new ArrayList<>();
+        for (String method : order) {
+            List<String> chain = groups.computeIfAbsent(find(root, method), k -> {
+                List<String> created = new ArrayList<>();
+                chains.add(created);
+                return created;
+            });
+            chain.add(method);
+        }
+        chains.sort(Comparator.comparingInt(c -> -c.size()));  // 안정 정렬: 같은 길이는 첫 TC 이름순
+        return chains;
+    }
+
+    private static String find(Map<String, String> root, String method) {
+        String r = method;
+        while (!root.get(r).equals(r)) {
+            r = root.get(r);
+        }
+        root.put(method, r);
+        return r;
+    }
+
+    // Kahn 알고리즘 (준비된 TC 중 이름순), 순환 의존은 오류
+    private List<String> topologicalOrder() {
+        Map<String, Integer> remaining = new HashMap<>();
+        PriorityQueue<String> ready = new PriorityQueue<>();
+        for (Map.Entry<String, List<String>> e : upstream.entrySet()) {
+            remaining.put(e.getKey(), e.getValue().size());
+            if (e.getValue().isEmpty()) {
+                ready.add(e.getKey());
+            }
+        }
+
+        List<String> sorted = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String method = ready.poll();
+            sorted.add(method);
+            for (String after : downstream.get(method)) {
+                if (remaining.merge(after, -1, Integer::sum) == 0) {
+                    ready.add(after);
+                }
+            }
+        }
+        if (sorted.size() != upstream.size()) {
+            List<String> cyclic = new ArrayList<>(upstream.keySet());
+            cyclic.removeAll(sorted);
+            throw new IllegalArgumentException("@DependsOn 순환 의존: " + cyclic);
+        }
+        return Collections.unmodifiableList(sorted);
+    }
+}
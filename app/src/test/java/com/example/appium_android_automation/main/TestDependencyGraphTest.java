@@ -0,0 +1,64 @@
+package com.example.appium_android_automation.main;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * TestDependencyGraph 검증 - @DependsOn 선언만으로 순서/체인/Block 대상 계산 (디바이스 불필요)
+ */
+public class TestDependencyGraphTest {
+
+    @Test
+    public void smokeSuiteSplitsIntoTwoIndependentChains() {
+        TestDependencyGraph graph = graph(
+                "TC01_Start", "",
+                "TC02_Logo", "TC01_Start",
+                "TC03_Drag", "TC01_Start",
+                "TC04_Exit", "TC03_Drag",
+                "TC05_FirstLaunch", "",
+                "TC06_Login", "TC05_FirstLaunch",
+                "TC07_Logout", "TC06_Login");
+
+        assertEquals(List.of(
+                List.of("TC01_Start", "TC02_Logo", "TC03_Drag", "TC04_Exit"),
+                List.of("TC05_FirstLaunch", "TC06_Login", "TC07_Logout")), graph.chains());
+        assertEquals(List.of("TC02_Logo", "TC03_Drag", "TC04_Exit"), graph.dependentsOf("TC01_Start"));
+        assertEquals(List.of("TC07_Logout"), graph.dependentsOf("TC06_Login"));
+        assertTrue(graph.dependentsOf("TC02_Logo").isEmpty());
+    }
+
+    @Test
+    public void upstreamAlwaysRunsFirstEvenWhenNamedLater() {
+        TestDependencyGraph graph = graph(
+                "TC01_Logout", "TC09_Login",
+                "TC05_Other", "",
+                "TC09_Login", "");
+
+        assertEquals(List.of("TC05_Other", "TC09_Login", "TC01_Logout"), graph.order());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cyclicDependencyIsRejected() {
+        graph("TC01_A", "TC02_B",
+                "TC02_B", "TC01_A");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dependencyOnDisabledTestIsRejected() {
+        graph("TC07_Logout", "TC06_Login");  // TC06이 //@Test로 꺼져 있는 경우
+    }
+
+    // (TC, 선행 TC) 쌍 목록으로 그래프 생성 (선행 없음 = "")
+    private static TestDependencyGraph graph(String... pairs) {
+        Map<String, List<String>> upstream = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            upstream.put(pairs[i], pairs[i + 1].isEmpty() ? List.of() : List.of(pairs[i + 1]));
+        }
+        return new TestDependencyGraph(upstream);
+    }
+}
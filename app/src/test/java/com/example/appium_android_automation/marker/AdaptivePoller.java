@@ -0,0 +1,165 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 긴 대기(리소스 다운로드 등)용 적응형 폴링 스케줄러
+ * - 예상 완료 시간은 호출 측에서 전달 (RunHistoryStore 성공 이력 중앙값 등)
+ * - 예상 시각보다 일찍 검사를 시작하고, 예상 시각에 가까울수록 촘촘하게 / 멀어질수록 느슨하게(backoff) 검사
+ * - 검사 사이 화면 변화가 감지되면 즉시 최소 간격으로 전환
+ * - 검사 횟수와 감지 지연(직전 검사 ~ 완료 감지 사이 최대 오차)을 결과로 제공
+ *
+ * 시계/대기 함수를 주입하면 JUnit에서 가짜 시계로 스케줄 검증 가능
+ */
+public class AdaptivePoller {
+
+    /** 완료 여부 검사 (예: 완료 버튼 이미지 확인) */
+    @FunctionalInterface
+    public interface Check {
+        boolean done() throws Exception;
+    }
+
+    /** 직전 검사 이후 화면 변화 여부 (없으면 변화 감지 생략) */
+    @FunctionalInterface
+    public interface ChangeProbe {
+        boolean changed() throws Exception;
+    }
+
+    /** 폴링 결과 */
+    public static final class Result {
+        private final boolean completed;
+        private final int checks;
+        private final long elapsedMs;
+        private final long detectionLagMs;
+        private final long expectedMs;
+
+        Result(boolean completed, int checks, long elapsedMs, long detectionLagMs, long expectedMs) {
+            this.completed = completed;
+            this.checks = checks;
+            this.elapsedMs = elapsedMs;
+            this.detectionLagMs = detectionLagMs;
+            this.expectedMs = expectedMs;
+        }
+
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        // 실제 검사 횟수
+        public int getChecks() {
+            return checks;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+
+        // 감지 지연 상한: 완료는 직전(실패) 검사와 성공 검사 사이 어딘가에서 발생
+        public long getDetectionLagMs() {
+            return detectionLagMs;
+        }
+
+        public long getExpectedMs() {
+            return expectedMs;
+        }
+
+        @Override
+        public String toString() {
+            return (completed ? "완료" : "타임아웃") + " " + (elapsedMs / 1000) + "초, 검사 " + checks + "회" +
+                    (completed ? ", 감지 지연 ≤ " + (detectionLagMs / 1000) + "초" : "") +
+                    " (예상 " + (expectedMs / 1000) + "초)";
+        }
+    }
+
+    private final long expectedMs;
+    private final long timeoutMs;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final LongSupplier clock;
+    private final ScreenWaiter.Sleeper sleeper;
+
+    public AdaptivePoller(long expectedMs, long timeoutMs) {
+        this(expectedMs, timeoutMs, AppiumConfig.POLL_MIN_INTERVAL_MS,
+                AppiumConfig.DOWNLOAD_CHECK_INTERVAL_SEC * 1000L, System::currentTimeMillis, Thread::sleep);
+    }
+
+    public AdaptivePoller(long expectedMs, long timeoutMs, long minIntervalMs, long maxIntervalMs,
+                          LongSupplier clock, ScreenWaiter.Sleeper sleeper) {
+        this.expectedMs = Math.min(expectedMs, timeoutMs);
+        this.timeoutMs = timeoutMs;
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = Math.max(minIntervalMs, maxIntervalMs);
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * 완료될 때까지 검사합니다.
+     *
+     * @param check  완료 여부 검사
+     * @param change 화면 변화 감지 (null 허용)
+     */
+    public Result poll(Check check, ChangeProbe change) {
+        long start = clock.getAsLong();
+        long lastNegative = 0;
+        int checks = 0;
+        int burst = 0;
+        long next = firstCheckAtMs();
+
+        try {
+            while (true) {
+                // 검사(스크린샷 + 매칭)가 수 초 걸려 예정 시각/마감을 이미 지났으면 대기 없이 바로 검사
+                long target = Math.min(next, timeoutMs);
+                long now = clock.getAsLong() - start;
+                if (target > now) {
+                    sleeper.sleep(target - now);
+                }
+
+                long checkedAt = clock.getAsLong() - start;
+                checks++;
+                boolean done = check.done();
+                long elapsed = clock.getAsLong() - start;
+                if (done) {
+                    return new Result(true, checks, elapsed, elapsed - lastNegative, expectedMs);
+                }
+                lastNegative = checkedAt;
+                // 마감 전에 시작한 검사가 마감을 넘겨 끝났으면 한 번 더 검사 (마감 직전 완료 놓침 방지)
+                if (checkedAt >= timeoutMs) {
+                    return new Result(false, checks, elapsed, 0, expectedMs);
+                }
+
+                if (change != null && change.changed()) {
+                    burst = AppiumConfig.POLL_BURST_CHECKS;
+                }
+                long interval;
+                if (burst > 0) {
+                    burst--;
+                    interval = minIntervalMs;
+                } else {
+                    interval = intervalAt(checkedAt);
+                }
+                next = checkedAt + interval;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(false, checks, clock.getAsLong() - start, 0, expectedMs);
+        } catch (Exception e) {
+            System.err.println("[Poll] 검사 실패: " + e.getMessage());
+            return new Result(false, checks, clock.getAsLong() - start, 0, expectedMs);
+        }
+    }
+
+    // 첫 검사 시각 (예상 시간의 일정 비율 - 빠른 네트워크에서도 조기 감지)
+    public long firstCheckAtMs() {
+        return (long) (expectedMs * AppiumConfig.POLL_EARLY_START_RATIO);
+    }
+
+    // 예상 완료 시각과의 거리에 비례한 검사 간격 (가까울수록 촘촘, 지나면 점점 느슨)
+    long intervalAt(long elapsedMs) {
+        long distance = Math.abs(expectedMs - elapsedMs);
+        long interval = (long) (distance * AppiumConfig.POLL_DISTANCE_RATIO);
+        return Math.max(minIntervalMs, Math.min(maxIntervalMs, interval));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.appium_android_automation.marker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * AdaptivePoller 스케줄 검증 - 가짜 시계로 다운로드 완료 시점을 시뮬레이션
+ */
+public class AdaptivePollerTest {
+
+    private static final long MIN_INTERVAL = 2_000;
+    private static final long MAX_INTERVAL = 10_000;
+    private static final long TIMEOUT = 360_000;
+
+    @Test
+    public void fastDownloadIsDetectedLongBeforeLegacyFixedWait() {
+        FakeClock clock = new FakeClock();
+        AdaptivePoller poller = poller(100_000, clock);
+
+        AdaptivePoller.Result result = poller.poll(() -> clock.now >= 95_000, null);
+
+        assertTrue(result.isCompleted());
+        assertTrue("기존 270초 고정 대기보다 빨라야 함: " + result, result.getElapsedMs() < 270_000);
+        assertTrue(result.getElapsedMs() >= 95_000);
+        assertTrue("감지 지연은 최대 간격 이내: " + result, result.getDetectionLagMs() <= MAX_INTERVAL);
+        assertTrue("검사 횟수: " + result.getChecks(), result.getChecks() <= 10);
+    }
+
+    @Test
+    public void slowDownloadBacksOffButStaysWithinTimeout() {
+        FakeClock clock = new FakeClock();
+        AdaptivePoller poller = poller(100_000, clock);
+
+        AdaptivePoller.Result result = poller.poll(() -> clock.now >= 300_000, null);
+
+        assertTrue(result.isCompleted());
+        assertTrue(result.getDetectionLagMs() <= MAX_INTERVAL);
+        assertTrue(result.getElapsedMs() < TIMEOUT);
+    }
+
+    @Test
+    public void screenChangeSwitchesToMinimumInterval() {
+        FakeClock clock = new FakeClock();
+        AdaptivePoller poller = poller(300_000, clock);
+
+        // 예상보다 훨씬 이른 완료 - 직전에 화면이 바뀌기 시작함
+        AdaptivePoller.Result result = poller.poll(
+                () -> clock.now >= 200_000,
+                () -> clock.now >= 190_000);
+
+        assertTrue(result.isCompleted());
+        assertTrue("변화 감지 후 최소 간격으로 검사: " + result, result.getDetectionLagMs() <= MIN_INTERVAL);
+    }
+
+    @Test
+    public void neverCompletingEndsExactlyAtTimeout() {
+        FakeClock clock = new FakeClock();
+        AdaptivePoller poller = poller(100_000, clock);
+
+        AdaptivePoller.Result result = poller.poll(() -> false, null);
+
+        assertFalse(result.isCompleted());
+        assertEquals(TIMEOUT, result.getElapsedMs());
+    }
+
+    @Test
+    public void slowChecksNearDeadlineStillEndWithAFinalCheck() {
+        FakeClock clock = new FakeClock();
+        // 실제 Thread.sleep처럼 음수 대기는 예외
+        long timeout = 355_000;
+        AdaptivePoller poller = new AdaptivePoller(100_000, timeout, MIN_INTERVAL, MAX_INTERVAL,
+                () -> clock.now, ms -> {
+                    if (ms < 0) {
+                        throw new IllegalArgumentException("timeout value is negative");
+                    }
+                    clock.now += ms;
+                });
+
+        // 검사 1회에 7초 (스크린샷 + 매칭) → 마감 전에 시작한 검사가 마감을 넘겨 끝남, 그 사이 완료
+        AdaptivePoller.Result result = poller.poll(() -> {
+            long shotAt = clock.now;
+            clock.now += 7_000;
+            return shotAt >= timeout - 3_000;
+        }, null);
+
+        assertTrue("마감 근처 완료도 감지: " + result, result.isCompleted());
+        assertTrue("감지 지연은 검사 시간 포함: " + result, result.getDetectionLagMs() >= 7_000);
+    }
+
+    @Test
+    public void intervalIsDenseNearExpectedAndSparseFarAway() {
+        AdaptivePoller poller = poller(100_000, new FakeClock());
+
+        assertEquals(50_000, poller.firstCheckAtMs());
+        assertEquals(MIN_INTERVAL, poller.intervalAt(99_000));
+        assertEquals(MAX_INTERVAL, poller.intervalAt(50_000));
+        assertEquals(MAX_INTERVAL, poller.intervalAt(250_000));
+    }
+
+    private static AdaptivePoller poller(long expectedMs, FakeClock clock) {
+        return new AdaptivePoller(expectedMs, TIMEOUT, MIN_INTERVAL, MAX_INTERVAL,
+                () -> clock.now, ms -> clock.now += ms);
+    }
+
+    private static final class FakeClock {
+        private long now = 0;
+    }
+}
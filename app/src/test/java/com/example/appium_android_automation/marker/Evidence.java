@@ -1,5 +1,9 @@
 package com.example.appium_android_automation.marker;
 
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.infra.DeviceSlot;
+import com.example.appium_android_automation.infra.DevicePool;
+import com.example.appium_android_automation.reporting.Metrics;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.OutputType;
 
@@ -11,23 +15,49 @@ import java.time.format.DateTimeFormatter;
 
 /**
  * 테스트 증거 수집 - 화면 캡처 및 파일 저장
+ * - ASYNC_EVIDENCE: 테스트 스레드는 캡처만, 축소/재압축/디스크 기록은 EvidenceWriter가 백그라운드 처리
+ * - EVIDENCE_DEDUP: 같은 화면은 blobs/ 아래 1개만 저장, 반환 경로는 manifest.csv 항목 이름 (EvidenceStore)
  */
 public class Evidence {
 
-    // 현재 화면을 캡처하여 build/reports/evidence 폴더에 저장
+    // 현재 화면을 캡처하여 build/reports/evidence 폴더에 저장 (병렬 실행 시 evidence/{udid})
     // 파일명: {namePrefix}_yyyyMMdd_HHmmss.png
-    // 반환: 저장된 파일 경로
+    // 반환: 저장된(비동기 모드에서는 저장될) 파일 경로 (중복 제거 시 manifest 항목 이름)
 
     public static String saveScreenshot(AndroidDriver driver, String namePrefix) throws Exception {
-        File src = driver.getScreenshotAs(OutputType.FILE);
-
         String ts = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        Path outDir = Path.of("build", "reports", "evidence");
-        Files.createDirectories(outDir);
-
-        Path out = outDir.resolve(namePrefix + "_" + ts + ".png");
+        Path out = outputDir().resolve(namePrefix + "_" + ts + ".png");  // 디바이스 폴더는 테스트 스레드에서 결정
+
+        if (AppiumConfig.ASYNC_EVIDENCE) {
+            byte[] png = Metrics.time("appium.getScreenshotAs", () -> driver.getScreenshotAs(OutputType.BYTES));
+            EvidenceWriter.shared().submit(out, png);
+            return out.toString();
+        }
+
+        if (AppiumConfig.EVIDENCE_DEDUP) {
+            byte[] png = Metrics.time("appium.getScreenshotAs", () -> driver.getScreenshotAs(OutputType.BYTES));
+            return EvidenceStore.forDir(out.getParent(), AppiumConfig.EVIDENCE_DEDUP_DISTANCE)
+                    .put(out.getFileName().toString(), png, bytes -> bytes).toString();
+        }
+
+        File src = Metrics.time("appium.getScreenshotAs", () -> driver.getScreenshotAs(OutputType.FILE));
+        Files.createDirectories(out.getParent());
         Files.copy(src.toPath(), out);
 
         return out.toString();
     }
+
+    /**
+     * 예약된 증거가 모두 디스크에 기록될 때까지 대기 (동기 모드에서는 즉시 true)
+     */
+    public static boolean flush() {
+        return !AppiumConfig.ASYNC_EVIDENCE || EvidenceWriter.shared().flush(AppiumConfig.EVIDENCE_FLUSH_TIMEOUT_MS);
+    }
+
+    // 증거 저장 폴더 (현재 스레드에 배정된 디바이스별 하위 폴더)
+    public static Path outputDir() {
+        Path base = Path.of("build", "reports", "evidence");
+        DeviceSlot slot = DevicePool.current();
+        return (slot != null) ? base.resolve(slot.getSafeName()) : base;
+    }
 }
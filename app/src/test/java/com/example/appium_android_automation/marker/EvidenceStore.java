@@ -0,0 +1,256 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 내용 주소(content-addressed) 증거 저장소 - 같은 화면은 한 번만 저장
+ * - 정확 일치: 원본 PNG 바이트의 SHA-256
+ * - 시각적 일치(선택): dHash 해밍 거리가 perceptualDistance 이하이고 픽셀 비교로도 같은 캡처
+ *   (dHash만으로는 진행률 숫자/토스트 등 작은 변화를 구분 못 함 → 저장된 blob과 픽셀 단위로 확인)
+ * - 실제 이미지는 {dir}/blobs/{해시}.png 에 1개만, TC 이름별 항목은 {dir}/manifest.csv 에 기록
+ *   형식: 기록시각(ms),항목 이름,blob 경로(dir 기준),SHA-256,dHash(16진수),NEW|EXACT|PERCEPTUAL
+ * - 기존 manifest를 읽어 이전 실행의 blob은 정확 일치로만 재사용 (시각적 일치는 이번 실행 blob만)
+ */
+public class EvidenceStore {
+
+    public static final String BLOB_DIR = "blobs";
+    public static final String MANIFEST_FILE = "manifest.csv";
+
+    private static final Map<Path, EvidenceStore> STORES = new ConcurrentHashMap<>();
+
+    // blob 색인 (blob당 1개, currentRun만 시각적 일치 후보)
+    private static final class Blob {
+        final String relativePath;
+        final long dHash;
+        final boolean currentRun;
+
+        Blob(String relativePath, long dHash, boolean currentRun) {
+            this.relativePath = relativePath;
+            this.dHash = dHash;
+            this.currentRun = currentRun;
+        }
+    }
+
+    private final Path dir;
+    private final int perceptualDistance;
+    private final Map<String, Blob> bySha = new HashMap<>();
+    private final List<Blob> blobs = new ArrayList<>();
+
+    private int entries;
+    private int exactHits;
+    private int perceptualHits;
+    private long savedBytes;
+
+    EvidenceStore(Path dir, int perceptualDistance) {
+        this.dir = dir;
+        this.perceptualDistance = perceptualDistance;
+        loadManifest();
+    }
+
+    /**
+     * 폴더별 공유 저장소 (병렬 실행 시 디바이스 폴더마다 1개)
+     */
+    public static EvidenceStore forDir(Path dir, int perceptualDistance) {
+        return STORES.computeIfAbsent(dir.toAbsolutePath().normalize(), d -> new EvidenceStore(d, perceptualDistance));
+    }
+
+    /**
+     * 프레임 저장 (이미 같은/시각적으로 동일한 blob이 있으면 manifest 항목만 추가)
+     * - 새 blob일 때만 encoder(축소/재압축) 실행
+     *
+     * @return 항목이 가리키는 blob 경로
+     */
+    public synchronized Path put(String name, byte[] png, EvidenceWriter.Encoder encoder) throws Exception {
+        String sha = sha256(png);
+        Blob hit = bySha.get(sha);
+        String kind = "EXACT";
+        long hash;
+
+        if (hit != null) {
+            hash = hit.dHash;
+        } else {
+            GrayImage image = GrayImage.decode(png);
+            hash = PerceptualHash.dHash(image);
+            hit = findPerceptual(hash, image);
+            kind = "PERCEPTUAL";
+        }
+
+        if (hit != null) {
+            savedBytes += png.length;
+            if (kind.equals("EXACT")) {
+                exactHits++;
+            } else {
+                perceptualHits++;
+            }
+        } else {
+            hit = writeBlob(sha, hash, encoder.encode(png));
+            kind = "NEW";
+        }
+        bySha.putIfAbsent(sha, hit);
+
+        appendManifest(name, hit.relativePath, sha, hash, kind);
+        entries++;
+        return dir.resolve(hit.relativePath);
+    }
+
+    // manifest 항목 이름 → blob 경로 (없으면 null)
+    public synchronized Path resolve(String name) throws IOException {
+        Path manifest = dir.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifest)) {
+            return null;
+        }
+        Path found = null;
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            String[] cols = line.split(",");
+            if (cols.length >= 3 && cols[1].equals(name)) {
+                found = dir.resolve(cols[2]);  // 같은 이름이면 마지막 항목
+            }
+        }
+        return found;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries;
+    }
+
+    public synchronized int getBlobCount() {
+        return blobs.size();
+    }
+
+    public synchronized int getExactHits() {
+        return exactHits;
+    }
+
+    public synchronized int getPerceptualHits() {
+        return perceptualHits;
+    }
+
+    public synchronized void printStats() {
+        System.out.println("[Evidence] " + dir.getFileName() + ": 항목 " + entries + "개 → blob " + blobs.size() +
+                "개 (중복 정확 " + exactHits + " / 시각 " + perceptualHits + ", " + savedBytes / 1024 + "KB 절약)");
+    }
+
+    // dHash 후보 중 가까운 순으로 픽셀 비교, 처음 일치한 blob (없으면 null)
+    private Blob findPerceptual(long hash, GrayImage image) {
+        if (perceptualDistance < 0) {
+            return null;
+        }
+        List<Blob> candidates = new ArrayList<>();
+        for (Blob b : blobs) {
+            if (b.currentRun && PerceptualHash.distance(hash, b.dHash) <= perceptualDistance) {
+                candidates.add(b);
+            }
+        }
+        candidates.sort(Comparator.comparingInt(b -> PerceptualHash.distance(hash, b.dHash)));
+        for (Blob b : candidates) {
+            if (samePixels(image, b)) {
+                return b;
+            }
+        }
+        return null;
+    }
+
+    // 저장된 blob과 크기가 같고 모든 픽셀 차이가 허용치 이내인지 (축소 저장된 blob은 불일치로 봄)
+    private boolean samePixels(GrayImage image, Blob blob) {
+        GrayImage stored;
+        try {
+            stored = GrayImage.decode(Files.readAllBytes(dir.resolve(blob.relativePath)));
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+        if (stored.getWidth() != image.getWidth() || stored.getHeight() != image.getHeight()) {
+            return false;
+        }
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (Math.abs(image.get(x, y) - stored.get(x, y)) > AppiumConfig.EVIDENCE_DEDUP_PIXEL_TOLERANCE) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // blob 기록 (임시 파일 → 이동)
+    private Blob writeBlob(String sha, long hash, byte[] encoded) throws IOException {
+        String relative = BLOB_DIR + "/" + sha.substring(0, 32) + ".png";
+        Path out = dir.resolve(relative);
+        Files.createDirectories(out.getParent());
+        if (!Files.exists(out)) {
+            Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+            Files.write(tmp, encoded);
+            Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Blob blob = new Blob(relative, hash, true);
+        blobs.add(blob);
+        return blob;
+    }
+
+    private void appendManifest(String name, String blob, String sha, long hash, String kind) throws IOException {
+        Files.createDirectories(dir);
+        try (BufferedWriter writer = Files.newBufferedWriter(dir.resolve(MANIFEST_FILE), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(System.currentTimeMillis() + "," + name.replace(',', '_') + "," + blob + "," +
+                    sha + "," + Long.toHexString(hash) + "," + kind);
+            writer.newLine();
+        }
+    }
+
+    // 이전 실행의 manifest에서 blob 색인 복원 (파일이 남아 있는 blob만)
+    private void loadManifest() {
+        Path manifest = dir.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifest)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                String[] cols = line.split(",");
+                if (cols.length < 6 || bySha.containsKey(cols[3]) || !Files.exists(dir.resolve(cols[2]))) {
+                    continue;
+                }
+                Blob blob = null;
+                for (Blob b : blobs) {
+                    if (b.relativePath.equals(cols[2])) {
+                        blob = b;
+                    }
+                }
+                if (blob == null) {
+                    blob = new Blob(cols[2], Long.parseUnsignedLong(cols[4], 16), false);
+                    blobs.add(blob);
+                }
+                bySha.put(cols[3], blob);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[Evidence] manifest 로드 실패 (새로 시작): " + e.getMessage());
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
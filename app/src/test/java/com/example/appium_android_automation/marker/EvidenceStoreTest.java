@@ -0,0 +1,171 @@
+package com.example.appium_android_automation.marker;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * EvidenceStore 검증 - 합성 PNG + 임시 폴더 (디바이스 불필요)
+ */
+public class EvidenceStoreTest {
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("evidence-store-test");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void sameFrameIsStoredOnceAndEveryNameResolvesToIt() throws Exception {
+        EvidenceStore store = new EvidenceStore(dir, 0);
+        byte[] frame = png(0, 0);
+
+        Path a = store.put("DEBUG_download_complete.png", frame, p -> p);
+        Path b = store.put("TC03_download_Pass.png", frame, p -> p);
+
+        assertEquals(a, b);
+        assertEquals(1, store.getBlobCount());
+        assertEquals(1, store.getExactHits());
+        assertEquals(a, store.resolve("TC03_download_Pass.png"));
+        assertEquals(2, Files.readAllLines(dir.resolve(EvidenceStore.MANIFEST_FILE)).size());
+    }
+
+    @Test
+    public void visuallyIdenticalFrameReusesBlob() throws Exception {
+        EvidenceStore store = new EvidenceStore(dir, 0);
+
+        Path a = store.put("TC05_Pass.png", png(0, 0), p -> p);
+        Path b = store.put("TC05_BLOCK.png", png(0, 1), p -> p);   // 픽셀 1개 차이 → 바이트는 다름
+
+        assertEquals(a, b);
+        assertEquals(1, store.getPerceptualHits());
+    }
+
+    @Test
+    public void smallHighContrastChangeIsNotMergedDespiteSameHash() throws Exception {
+        EvidenceStore store = new EvidenceStore(dir, 0);
+        byte[] progress = png(0, 0);
+        byte[] toast = png(0, 2);   // 작은 글자 영역만 다름 → dHash 동일
+
+        assertEquals(PerceptualHash.dHash(GrayImage.decode(progress)), PerceptualHash.dHash(GrayImage.decode(toast)));
+
+        Path a = store.put("DEBUG_download_progress.png", progress, p -> p);
+        Path b = store.put("TC03_Fail.png", toast, p -> p);
+
+        assertNotEquals(a, b);
+        assertEquals(0, store.getPerceptualHits());
+    }
+
+    @Test
+    public void differentScreensGetSeparateBlobsAndEncoderRunsOnlyForNew() throws Exception {
+        EvidenceStore store = new EvidenceStore(dir, 0);
+        int[] encodes = {0};
+        EvidenceWriter.Encoder counting = p -> {
+            encodes[0]++;
+            return p;
+        };
+
+        store.put("lobby.png", png(0, 0), counting);
+        store.put("lobby_again.png", png(0, 0), counting);
+        store.put("menu.png", png(1, 0), counting);
+
+        assertEquals(2, store.getBlobCount());
+        assertEquals(2, encodes[0]);
+    }
+
+    @Test
+    public void exactOnlyModeKeepsPerceptualDuplicates() throws Exception {
+        EvidenceStore store = new EvidenceStore(dir, -1);
+
+        store.put("a.png", png(0, 0), p -> p);
+        store.put("b.png", png(0, 1), p -> p);
+
+        assertEquals(2, store.getBlobCount());
+    }
+
+    @Test
+    public void manifestFromPreviousRunIsReused() throws Exception {
+        new EvidenceStore(dir, 0).put("run1.png", png(0, 0), p -> p);
+
+        EvidenceStore next = new EvidenceStore(dir, 0);
+        next.put("run2.png", png(0, 0), p -> p);
+
+        assertEquals(1, next.getExactHits());
+        try (Stream<Path> blobs = Files.list(dir.resolve(EvidenceStore.BLOB_DIR))) {
+            assertEquals(1, blobs.count());
+        }
+    }
+
+    @Test
+    public void previousRunBlobsAreNotReusedPerceptually() throws Exception {
+        new EvidenceStore(dir, 0).put("run1.png", png(0, 0), p -> p);
+
+        EvidenceStore next = new EvidenceStore(dir, 0);
+        next.put("TC05_Fail.png", png(0, 1), p -> p);
+
+        assertEquals(0, next.getPerceptualHits());
+        try (Stream<Path> blobs = Files.list(dir.resolve(EvidenceStore.BLOB_DIR))) {
+            assertEquals(2, blobs.count());
+        }
+    }
+
+    @Test
+    public void writerStoresDuplicatesThroughManifest() throws Exception {
+        byte[] frame = png(0, 0);
+        try (EvidenceWriter writer = new EvidenceWriter(2, 8, EvidenceWriter.DropPolicy.BLOCK, p -> p, 0)) {
+            for (String name : List.of("DEBUG_x.png", "TC01_Pass.png", "TC01_BLOCK.png")) {
+                writer.submit(dir.resolve(name), frame);
+            }
+            assertTrue(writer.flush(5000));
+        }
+
+        assertFalse(Files.exists(dir.resolve("TC01_Pass.png")));
+        assertEquals(3, Files.readAllLines(dir.resolve(EvidenceStore.MANIFEST_FILE)).size());
+        try (Stream<Path> blobs = Files.list(dir.resolve(EvidenceStore.BLOB_DIR))) {
+            assertEquals(1, blobs.count());
+        }
+    }
+
+    // 좌/우 밝기가 다른 화면 (variant로 명암 반전), dot=1이면 픽셀 1개만 살짝, dot=2면 작은 글자 크기 영역을 반전
+    private static byte[] png(int variant, int dot) throws Exception {
+        BufferedImage image = new BufferedImage(180, 80, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 80; y++) {
+            for (int x = 0; x < 180; x++) {
+                boolean left = x * 9 / 180 % 2 == 0;
+                image.setRGB(x, y, (left ^ variant == 1) ? 0x202020 : 0xE0E0E0);
+            }
+        }
+        if (dot == 1) {
+            image.setRGB(5, 5, 0x222222);
+        }
+        if (dot == 2) {
+            for (int y = 4; y < 8; y++) {
+                for (int x = 4; x < 8; x++) {
+                    image.setRGB(x, y, 0xE0E0E0);
+                }
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
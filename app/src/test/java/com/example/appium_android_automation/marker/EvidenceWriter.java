@@ -0,0 +1,339 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 증거(스크린샷) 저장기
+ * - 테스트 스레드는 스크린샷 바이트만 받아 큐에 넣고 즉시 반환
+ * - 백그라운드 워커가 축소/재압축 + 디스크 기록 (임시 파일 → 이동, 반쯤 쓴 PNG 없음)
+ * - 큐가 가득 차면 DropPolicy에 따라 대기/버림/테스트 스레드에서 직접 기록 (RejectedExecutionHandler)
+ * - close() 이후 제출은 거부 (폐기로 집계, flush가 기다리지 않음)
+ * - flush(): 지금까지 받은 항목이 모두 기록될 때까지 대기 (tearDown에서 호출)
+ * - dedupDistance >= 0: 같은 화면은 EvidenceStore blob 1개로 저장 (TC 이름은 manifest 항목)
+ */
+public class EvidenceWriter implements AutoCloseable {
+
+    /**
+     * 큐가 가득 찼을 때의 처리 방식
+     */
+    public enum DropPolicy {
+        BLOCK,          // 자리가 날 때까지 테스트 스레드 대기 (유실 없음, 기본값)
+        CALLER_RUNS,    // 테스트 스레드에서 직접 기록 (유실 없음)
+        DROP_NEWEST,    // 새 항목 버림
+        DROP_OLDEST     // 가장 오래 대기한 항목 버림
+    }
+
+    // PNG 바이트 → 저장할 바이트 변환 (축소/재압축)
+    @FunctionalInterface
+    interface Encoder {
+        byte[] encode(byte[] png) throws Exception;
+    }
+
+    private static volatile EvidenceWriter shared;
+
+    private final ThreadPoolExecutor pool;
+    private final Encoder encoder;
+    private final int dedupDistance;
+
+    private final Object lock = new Object();
+    private int inFlight;   // 접수 후 기록/폐기되지 않은 항목 수 (lock 보호)
+    private boolean closed; // close() 이후 제출 거부 (lock 보호)
+
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong savedBytes = new AtomicLong();
+
+    /**
+     * @param dedupDistance 중복 제거 시 동일 화면으로 볼 dHash 거리 (-1 = 중복 제거 안 함)
+     */
+    public EvidenceWriter(int workers, int queueCapacity, DropPolicy policy, int maxLongSide, int compressionLevel,
+                          int dedupDistance) {
+        this(workers, queueCapacity, policy, png -> recompress(png, maxLongSide, compressionLevel), dedupDistance);
+    }
+
+    EvidenceWriter(int workers, int queueCapacity, DropPolicy policy, Encoder encoder) {
+        this(workers, queueCapacity, policy, encoder, -1);
+    }
+
+    EvidenceWriter(int workers, int queueCapacity, DropPolicy policy, Encoder encoder, int dedupDistance) {
+        this.encoder = encoder;
+        this.dedupDistance = dedupDistance;
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "evidence-writer-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                rejectionHandler(policy));
+    }
+
+    /**
+     * 프로세스 공용 저장기 (최초 호출 시 생성, JVM 종료 시 남은 항목 기록)
+     */
+    public static EvidenceWriter shared() {
+        EvidenceWriter w = shared;
+        if (w == null) {
+            synchronized (EvidenceWriter.class) {
+                w = shared;
+                if (w == null) {
+                    w = new EvidenceWriter(AppiumConfig.EVIDENCE_WRITER_THREADS, AppiumConfig.EVIDENCE_QUEUE_CAPACITY,
+                            AppiumConfig.EVIDENCE_DROP_POLICY, AppiumConfig.EVIDENCE_MAX_LONG_SIDE,
+                            AppiumConfig.EVIDENCE_PNG_COMPRESSION, dedupDistance());
+                    Runtime.getRuntime().addShutdownHook(new Thread(w::close, "evidence-writer-shutdown"));
+                    shared = w;
+                }
+            }
+        }
+        return w;
+    }
+
+    /**
+     * 저장 요청 (대부분 즉시 반환, BLOCK 정책에서 큐가 가득 차면 대기)
+     *
+     * @return 접수되면 true, DROP_NEWEST로 버려지면 false
+     */
+    public boolean submit(Path out, byte[] png) {
+        Job job = new Job(out, png);
+        synchronized (lock) {
+            if (closed) {
+                dropped.incrementAndGet();
+                System.err.println("[Evidence] 종료 후 제출 → 폐기: " + out.getFileName());
+                return false;
+            }
+            inFlight++;
+        }
+        try {
+            pool.execute(job);
+            return !job.discarded;
+        } catch (RejectedExecutionException e) {
+            drop(job, e.getMessage());  // 종료 중이거나 BLOCK 대기 중 인터럽트
+            return false;
+        }
+    }
+
+    /**
+     * 큐 포화/종료 시 처리 (execute가 호출, 종료 후에는 RejectedExecutionException)
+     */
+    private RejectedExecutionHandler rejectionHandler(DropPolicy policy) {
+        switch (policy) {
+            case BLOCK:
+                return (r, executor) -> {
+                    try {
+                        // 종료되면 빠져나오도록 짧게 나눠 대기
+                        while (!executor.getQueue().offer(r, 100, TimeUnit.MILLISECONDS)) {
+                            rejectIfShutdown(executor);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("대기 중 인터럽트", e);
+                    }
+                    if (executor.isShutdown() && executor.remove(r)) {
+                        throw new RejectedExecutionException("저장기 종료");
+                    }
+                };
+            case CALLER_RUNS:
+                return (r, executor) -> {
+                    rejectIfShutdown(executor);  // CallerRunsPolicy는 종료 후 조용히 버리므로 직접 거부
+                    r.run();
+                };
+            case DROP_OLDEST:
+                return (r, executor) -> {
+                    rejectIfShutdown(executor);
+                    Runnable oldest = executor.getQueue().poll();
+                    if (oldest != null) {
+                        drop((Job) oldest, "큐 포화");
+                    }
+                    executor.execute(r);
+                };
+            case DROP_NEWEST:
+            default:
+                return (r, executor) -> {
+                    rejectIfShutdown(executor);
+                    drop((Job) r, "큐 포화");
+                };
+        }
+    }
+
+    private static void rejectIfShutdown(ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("저장기 종료");
+        }
+    }
+
+    /**
+     * 지금까지 접수된 항목이 모두 기록(또는 폐기)될 때까지 대기
+     *
+     * @return 시간 내 완료 시 true
+     */
+    public boolean flush(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (lock) {
+            while (inFlight > 0) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) {
+                    System.err.println("[Evidence] flush 시간 초과 - 미기록 " + inFlight + "건");
+                    return false;
+                }
+                try {
+                    lock.wait(left);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // 새 제출을 막고 남은 항목 기록 후 종료
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+        }
+        flush(AppiumConfig.EVIDENCE_FLUSH_TIMEOUT_MS);
+        pool.shutdown();
+    }
+
+    public int getWrittenCount() {
+        return written.get();
+    }
+
+    public int getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getFailedCount() {
+        return failed.get();
+    }
+
+    // 설정 기준 중복 제거 거리 (비활성 시 -1)
+    static int dedupDistance() {
+        return AppiumConfig.EVIDENCE_DEDUP ? AppiumConfig.EVIDENCE_DEDUP_DISTANCE : -1;
+    }
+
+    public void printStats() {
+        System.out.println("[Evidence] 저장 " + written.get() + "건 (압축으로 " + savedBytes.get() / 1024 + "KB 절약)" +
+                ", 폐기 " + dropped.get() + "건, 실패 " + failed.get() + "건");
+    }
+
+    private void drop(Job job, String reason) {
+        job.discarded = true;
+        dropped.incrementAndGet();
+        System.err.println("[Evidence] " + reason + " → 폐기: " + job.out.getFileName());
+        done();
+    }
+
+    private void done() {
+        synchronized (lock) {
+            inFlight--;
+            lock.notifyAll();
+        }
+    }
+
+    // 저장 작업: 변환 → 임시 파일 기록 → 최종 경로로 이동 (중복 제거 시 EvidenceStore에 위임)
+    private final class Job implements Runnable {
+        final Path out;
+        final byte[] png;
+        volatile boolean discarded;
+
+        Job(Path out, byte[] png) {
+            this.out = out;
+            this.png = png;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (dedupDistance >= 0) {
+                    EvidenceStore.forDir(out.toAbsolutePath().getParent(), dedupDistance)
+                            .put(out.getFileName().toString(), png, encoder);
+                    written.incrementAndGet();
+                    return;
+                }
+                byte[] encoded = encoder.encode(png);
+                Files.createDirectories(out.toAbsolutePath().getParent());
+                Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+                Files.write(tmp, encoded);
+                Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                written.incrementAndGet();
+                savedBytes.addAndGet(Math.max(0, png.length - encoded.length));
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                System.err.println("[Evidence] 저장 실패 (" + out + "): " + e.getMessage());
+            } finally {
+                done();
+            }
+        }
+    }
+
+    /**
+     * 긴 변을 maxLongSide 이하로 축소 + 지정 압축 레벨로 PNG 재인코딩
+     * - maxLongSide <= 0, compressionLevel < 0 이면 해당 처리 생략 (둘 다 생략 시 원본 그대로)
+     */
+    static byte[] recompress(byte[] png, int maxLongSide, int compressionLevel) throws IOException {
+        if (maxLongSide <= 0 && compressionLevel < 0) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;  // 디코딩 불가 → 원본 보존
+        }
+
+        int longSide = Math.max(image.getWidth(), image.getHeight());
+        boolean scaled = maxLongSide > 0 && longSide > maxLongSide;
+        if (scaled) {
+            double scale = (double) maxLongSide / longSide;
+            int w = Math.max(1, (int) Math.round(image.getWidth() * scale));
+            int h = Math.max(1, (int) Math.round(image.getHeight() * scale));
+            BufferedImage small = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = small.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, w, h, null);
+            g.dispose();
+            image = small;
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(png.length);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (compressionLevel >= 0 && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                // PNG: quality 1.0 = 압축 없음, 0.0 = 최대 압축 (deflate 레벨 0~9)
+                param.setCompressionQuality(1.0f - Math.min(9, compressionLevel) / 9.0f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        byte[] encoded = bytes.toByteArray();
+        return scaled || encoded.length < png.length ? encoded : png;  // 재압축이 더 크면 원본 유지
+    }
+}
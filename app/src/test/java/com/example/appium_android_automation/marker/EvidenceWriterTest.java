@@ -0,0 +1,178 @@
+package com.example.appium_android_automation.marker;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * EvidenceWriter 검증 - 합성 PNG + 임시 폴더 (디바이스 불필요)
+ */
+public class EvidenceWriterTest {
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("evidence-test");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void flushGuaranteesEverySubmittedFrameIsOnDisk() throws Exception {
+        byte[] png = png(320, 160);
+        try (EvidenceWriter writer = new EvidenceWriter(2, 2, EvidenceWriter.DropPolicy.BLOCK, 0, 9, -1)) {
+            for (int i = 0; i < 20; i++) {
+                assertTrue(writer.submit(dir.resolve("sub").resolve("TC" + i + ".png"), png));
+            }
+            assertTrue(writer.flush(10_000));
+
+            assertEquals(20, writer.getWrittenCount());
+            assertEquals(0, writer.getDroppedCount());
+            for (int i = 0; i < 20; i++) {
+                assertNotNull(ImageIO.read(dir.resolve("sub").resolve("TC" + i + ".png").toFile()));
+            }
+        }
+    }
+
+    // submit이 기록을 기다리면 gate가 열리지 않아 시간 초과로 실패
+    @Test(timeout = 5000)
+    public void submitDoesNotWaitForEncoding() throws Exception {
+        CountDownLatch picked = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        try (EvidenceWriter writer = new EvidenceWriter(1, 8, EvidenceWriter.DropPolicy.BLOCK, png -> {
+            picked.countDown();
+            gate.await();
+            return png;
+        })) {
+            writer.submit(dir.resolve("a.png"), new byte[]{1});
+            writer.submit(dir.resolve("b.png"), new byte[]{2});
+            assertTrue("워커가 첫 항목을 처리 중", picked.await(5, TimeUnit.SECONDS));
+            assertFalse("테스트 스레드는 기록을 기다리지 않음", Files.exists(dir.resolve("a.png")));
+
+            gate.countDown();
+            assertTrue(writer.flush(5000));
+            assertArrayEquals(new byte[]{2}, Files.readAllBytes(dir.resolve("b.png")));
+        }
+    }
+
+    @Test
+    public void dropNewestDiscardsWhenQueueIsFull() throws Exception {
+        CountDownLatch picked = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        try (EvidenceWriter writer = new EvidenceWriter(1, 1, EvidenceWriter.DropPolicy.DROP_NEWEST, png -> {
+            picked.countDown();
+            gate.await();
+            return png;
+        })) {
+            writer.submit(dir.resolve("0.png"), new byte[]{0});   // 워커가 처리 중 (gate 대기)
+            assertTrue(picked.await(5, TimeUnit.SECONDS));
+            writer.submit(dir.resolve("1.png"), new byte[]{1});   // 큐 1칸
+            boolean accepted = writer.submit(dir.resolve("2.png"), new byte[]{2});
+
+            gate.countDown();
+            assertTrue(writer.flush(5000));
+            assertFalse(accepted);
+            assertEquals(1, writer.getDroppedCount());
+            assertEquals(2, writer.getWrittenCount());
+            assertFalse(Files.exists(dir.resolve("2.png")));
+        }
+    }
+
+    @Test
+    public void dropOldestKeepsLatestFrame() throws Exception {
+        CountDownLatch picked = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        try (EvidenceWriter writer = new EvidenceWriter(1, 1, EvidenceWriter.DropPolicy.DROP_OLDEST, png -> {
+            picked.countDown();
+            gate.await();
+            return png;
+        })) {
+            writer.submit(dir.resolve("0.png"), new byte[]{0});   // 워커가 처리 중 (gate 대기)
+            assertTrue(picked.await(5, TimeUnit.SECONDS));
+            writer.submit(dir.resolve("1.png"), new byte[]{1});
+            writer.submit(dir.resolve("2.png"), new byte[]{2});
+
+            gate.countDown();
+            assertTrue(writer.flush(5000));
+            assertFalse(Files.exists(dir.resolve("1.png")));
+            assertTrue(Files.exists(dir.resolve("2.png")));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void blockWaitsForRoomThenKeepsEveryFrame() throws Exception {
+        CountDownLatch picked = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        try (EvidenceWriter writer = new EvidenceWriter(1, 1, EvidenceWriter.DropPolicy.BLOCK, png -> {
+            picked.countDown();
+            gate.await();
+            return png;
+        })) {
+            writer.submit(dir.resolve("0.png"), new byte[]{0});   // 워커가 처리 중 (gate 대기)
+            assertTrue(picked.await(5, TimeUnit.SECONDS));
+            writer.submit(dir.resolve("1.png"), new byte[]{1});   // 큐 1칸
+
+            Thread blocked = new Thread(() -> writer.submit(dir.resolve("2.png"), new byte[]{2}));
+            blocked.start();
+            gate.countDown();
+            blocked.join();
+
+            assertTrue(writer.flush(5000));
+            assertEquals(3, writer.getWrittenCount());
+            assertEquals(0, writer.getDroppedCount());
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void submitAfterCloseIsRejectedAndFlushDoesNotWait() throws Exception {
+        EvidenceWriter writer = new EvidenceWriter(1, 1, EvidenceWriter.DropPolicy.BLOCK, png -> png);
+        writer.close();
+
+        assertFalse(writer.submit(dir.resolve("late.png"), new byte[]{1}));
+        assertTrue("거부된 항목은 기다리지 않음", writer.flush(0));
+        assertEquals(1, writer.getDroppedCount());
+        assertFalse(Files.exists(dir.resolve("late.png")));
+    }
+
+    @Test
+    public void recompressDownscalesToMaxLongSide() throws Exception {
+        byte[] out = EvidenceWriter.recompress(png(1000, 400), 500, 9);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out));
+        assertEquals(500, image.getWidth());
+        assertEquals(200, image.getHeight());
+        assertSame("옵션이 모두 꺼지면 원본 그대로", out, EvidenceWriter.recompress(out, 0, -1));
+    }
+
+    // 단색 배경 + 격자 무늬 PNG
+    private static byte[] png(int w, int h) throws Exception {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                image.setRGB(x, y, ((x / 16 + y / 16) % 2 == 0) ? 0x336699 : 0xEEEEEE);
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
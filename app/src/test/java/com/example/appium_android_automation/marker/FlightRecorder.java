@@ -0,0 +1,221 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.reporting.Metrics;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 화면 "블랙박스" - 최근 N개 프레임을 축소 흑백으로 메모리에 보관
+ * - 슬롯은 생성 시 한 번만 할당 (capacity × maxWidth × maxHeight 바이트, 이후 할당 없음)
+ * - ImageAssert/ScreenWaiter가 이미 촬영한 프레임을 그대로 기록 (추가 디바이스 왕복 없음)
+ * - 단계 경계(FlowEngine)에서 일정 시간 기록이 없었을 때만 테스트 스레드에서 직접 1장 캡처
+ *   (드라이버는 스레드 안전하지 않으므로 별도 스레드에서 세션을 건드리지 않음)
+ * - Fail/Block 기록 시에만 디스크로 덤프, Pass면 아무것도 쓰지 않음
+ *
+ * 시계를 주입하면 JUnit에서 checkpoint() 캡처 조건 검증 가능
+ */
+public class FlightRecorder {
+
+    // 현재 스레드(테스트)의 녹화기 - ImageAssert.captureFrame이 참조
+    private static final ThreadLocal<FlightRecorder> CURRENT = new ThreadLocal<>();
+
+    private final int capacity;
+    private final int maxWidth;
+    private final int maxHeight;
+    private final long intervalMs;
+    private final LongSupplier clock;
+
+    // 미리 할당된 링 버퍼 (lock 보호)
+    private final byte[][] slots;
+    private final int[] widths;
+    private final int[] heights;
+    private final long[] timestamps;
+    private int next;
+    private int count;
+    private volatile long lastRecordMs;
+
+    public FlightRecorder(int capacity, int maxWidth, int maxHeight, long intervalMs) {
+        this(capacity, maxWidth, maxHeight, intervalMs, System::currentTimeMillis);
+    }
+
+    FlightRecorder(int capacity, int maxWidth, int maxHeight, long intervalMs, LongSupplier clock) {
+        this.capacity = capacity;
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.intervalMs = intervalMs;
+        this.clock = clock;
+        this.slots = new byte[capacity][maxWidth * maxHeight];
+        this.widths = new int[capacity];
+        this.heights = new int[capacity];
+        this.timestamps = new long[capacity];
+    }
+
+    /**
+     * 현재 스레드의 녹화 시작 (녹화기는 스레드당 1개를 재사용, 버퍼는 비움)
+     */
+    public static FlightRecorder start() {
+        FlightRecorder recorder = CURRENT.get();
+        if (recorder == null) {
+            recorder = new FlightRecorder(AppiumConfig.FLIGHT_RECORDER_FRAMES, AppiumConfig.FLIGHT_RECORDER_MAX_WIDTH,
+                    AppiumConfig.FLIGHT_RECORDER_MAX_HEIGHT, AppiumConfig.FLIGHT_RECORDER_INTERVAL_MS);
+            CURRENT.set(recorder);
+        }
+        recorder.clear();
+        return recorder;
+    }
+
+    // 현재 스레드의 녹화기 (녹화 중이 아니면 null)
+    public static FlightRecorder current() {
+        return CURRENT.get();
+    }
+
+    // 다른 스레드(비동기 명령)가 테스트 스레드의 녹화기를 함께 쓰도록 지정 (null = 해제)
+    public static void bind(FlightRecorder recorder) {
+        if (recorder != null) {
+            CURRENT.set(recorder);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    // 이미 촬영된 프레임 기록 (녹화 중이 아니면 무시)
+    public static void capture(GrayImage image) {
+        FlightRecorder recorder = CURRENT.get();
+        if (recorder != null) {
+            recorder.record(image);
+        }
+    }
+
+    /**
+     * 단계 경계 기록 - 최근 intervalMs 동안 기록된 프레임이 없을 때만 호출 스레드에서 직접 캡처
+     * - 드라이버를 쓰는 테스트 스레드에서 호출 (녹화 중이 아니면 무시)
+     */
+    public static void checkpoint(TakesScreenshot driver) {
+        FlightRecorder recorder = CURRENT.get();
+        if (recorder != null) {
+            recorder.checkpoint(() -> GrayImage.decode(
+                    Metrics.time("appium.getScreenshotAs.flight", () -> driver.getScreenshotAs(OutputType.BYTES))));
+        }
+    }
+
+    /**
+     * 현재 스레드의 버퍼를 build/reports/evidence/flight/{name} 폴더로 덤프 (Fail/Block 시)
+     *
+     * @return 기록된 파일 목록 (녹화 중이 아니면 빈 목록)
+     */
+    public static List<Path> dumpCurrent(String name) {
+        FlightRecorder recorder = CURRENT.get();
+        if (recorder == null) {
+            return List.of();
+        }
+        try {
+            return recorder.dump(Evidence.outputDir().resolve("flight").resolve(name));
+        } catch (IOException e) {
+            System.err.println("[Flight] 덤프 실패: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    public synchronized void clear() {
+        next = 0;
+        count = 0;
+    }
+
+    /**
+     * 프레임을 축소해 가장 오래된 슬롯에 덮어씀 (새 배열 할당 없음)
+     */
+    public synchronized void record(GrayImage image) {
+        double scale = Math.min(1.0, Math.min((double) maxWidth / image.getWidth(), (double) maxHeight / image.getHeight()));
+        int w = Math.max(1, (int) (image.getWidth() * scale));
+        int h = Math.max(1, (int) (image.getHeight() * scale));
+        byte[] slot = slots[next];
+        float[] px = image.raw();
+        int srcW = image.getWidth();
+        for (int y = 0; y < h; y++) {
+            int row = (int) (y / scale) * srcW;
+            int dst = y * w;
+            for (int x = 0; x < w; x++) {
+                slot[dst + x] = (byte) Math.round(px[row + (int) (x / scale)]);
+            }
+        }
+        widths[next] = w;
+        heights[next] = h;
+        timestamps[next] = clock.getAsLong();
+        lastRecordMs = timestamps[next];
+        next = (next + 1) % capacity;
+        count = Math.min(count + 1, capacity);
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * 버퍼의 프레임을 오래된 순으로 PNG 저장
+     * - 파일명: {순번}_{마지막 프레임 기준 경과 ms}.png (예: 03_-1200ms.png)
+     */
+    public List<Path> dump(Path dir) throws IOException {
+        List<BufferedImage> images = new ArrayList<>();
+        List<Long> times = new ArrayList<>();
+        synchronized (this) {
+            int start = (next - count + capacity) % capacity;
+            for (int i = 0; i < count; i++) {
+                int s = (start + i) % capacity;
+                BufferedImage image = new BufferedImage(widths[s], heights[s], BufferedImage.TYPE_BYTE_GRAY);
+                byte[] dst = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+                System.arraycopy(slots[s], 0, dst, 0, widths[s] * heights[s]);
+                images.add(image);
+                times.add(timestamps[s]);
+            }
+        }
+
+        List<Path> files = new ArrayList<>();
+        if (images.isEmpty()) {
+            return files;
+        }
+        Files.createDirectories(dir);
+        long last = times.get(times.size() - 1);
+        for (int i = 0; i < images.size(); i++) {
+            Path out = dir.resolve(String.format("%02d_%dms.png", i, times.get(i) - last));
+            ImageIO.write(images.get(i), "png", out.toFile());
+            files.add(out);
+        }
+        System.out.println("[Flight] 직전 화면 " + files.size() + "장 저장: " + dir);
+        return files;
+    }
+
+    // 버퍼가 차지하는 힙 크기 (바이트, 고정)
+    public long getBufferBytes() {
+        return (long) capacity * maxWidth * maxHeight;
+    }
+
+    /**
+     * 버퍼가 비었거나 마지막 기록 후 intervalMs가 지났을 때만 source에서 1장 캡처
+     *
+     * @return 직접 캡처했으면 true
+     */
+    boolean checkpoint(Supplier<GrayImage> source) {
+        if (size() > 0 && clock.getAsLong() - lastRecordMs < intervalMs) {
+            return false;  // 최근에 ImageAssert/ScreenWaiter가 찍은 프레임이 있으면 생략
+        }
+        try {
+            record(source.get());
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("[Flight] 단계 경계 캡처 실패: " + e.getMessage());
+            return false;
+        }
+    }
+}
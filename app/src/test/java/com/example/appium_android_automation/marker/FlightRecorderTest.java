@@ -0,0 +1,122 @@
+package com.example.appium_android_automation.marker;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * FlightRecorder 검증 - 합성 프레임 + 가짜 시계 (디바이스 불필요)
+ */
+public class FlightRecorderTest {
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("flight-test");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void ringKeepsOnlyLastFramesInOrder() throws Exception {
+        FlightRecorder recorder = new FlightRecorder(3, 64, 36, 60_000);
+        for (int i = 1; i <= 5; i++) {
+            recorder.record(solid(1280, 720, i * 40));
+        }
+
+        List<Path> files = recorder.dump(dir);
+
+        assertEquals(3, files.size());
+        int[] brightness = files.stream().mapToInt(FlightRecorderTest::centerGray).toArray();
+        assertArrayEquals("가장 오래된 프레임부터 (3,4,5번째)", new int[]{120, 160, 200}, brightness);
+        BufferedImage first = ImageIO.read(files.get(0).toFile());
+        assertEquals("슬롯 크기에 맞춰 축소", 64, first.getWidth());
+        assertEquals(36, first.getHeight());
+        assertEquals(3L * 64 * 36, recorder.getBufferBytes());
+    }
+
+    @Test
+    public void checkpointFillsIdleGapsOnly() {
+        long[] now = {0};
+        FlightRecorder recorder = new FlightRecorder(10, 32, 32, 1000, () -> now[0]);
+        AtomicInteger captures = new AtomicInteger();
+        Supplier<GrayImage> screenshot = () -> {
+            captures.incrementAndGet();
+            return solid(100, 100, 10);
+        };
+
+        // 버퍼가 비었으면 첫 단계 경계에서 바로 캡처
+        assertTrue(recorder.checkpoint(screenshot));
+
+        // 탭/대기만 있던 구간: 단계 경계마다 직접 캡처
+        for (int i = 0; i < 2; i++) {
+            now[0] += 1000;
+            assertTrue(recorder.checkpoint(screenshot));
+        }
+        assertEquals(3, captures.get());
+
+        // 이미 촬영된 프레임이 주기보다 자주 들어오면 직접 캡처하지 않음
+        for (int i = 0; i < 15; i++) {
+            now[0] += 400;
+            recorder.record(solid(100, 100, 90));
+            now[0] += 400;
+            assertFalse(recorder.checkpoint(screenshot));
+        }
+        assertEquals(3, captures.get());
+        assertEquals(10, recorder.size());
+    }
+
+    @Test
+    public void failedCheckpointCaptureIsIgnored() {
+        FlightRecorder recorder = new FlightRecorder(4, 32, 32, 1000, () -> 0L);
+
+        assertFalse(recorder.checkpoint(() -> {
+            throw new IllegalStateException("세션 종료");
+        }));
+        assertEquals(0, recorder.size());
+    }
+
+    @Test
+    public void nothingIsWrittenWithoutFrames() throws Exception {
+        FlightRecorder recorder = new FlightRecorder(4, 32, 32, 60_000);
+        recorder.record(solid(100, 100, 50));
+        recorder.clear();
+
+        assertTrue(recorder.dump(dir.resolve("pass")).isEmpty());
+        assertFalse(Files.exists(dir.resolve("pass")));
+    }
+
+    private static GrayImage solid(int w, int h, int gray) {
+        float[] px = new float[w * h];
+        Arrays.fill(px, gray);
+        return new GrayImage(w, h, px);
+    }
+
+    private static int centerGray(Path file) {
+        try {
+            BufferedImage image = ImageIO.read(file.toFile());
+            return image.getRaster().getSample(image.getWidth() / 2, image.getHeight() / 2, 0);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.appium_android_automation.marker;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * 템플릿 매칭용 흑백(grayscale) 픽셀 배열
+ * - PNG/JPEG 바이트 → 휘도(0~255) float 배열로 변환
+ * - 2배 축소 피라미드 레벨과 적분 영상(integral image)을 지연 생성해 재사용
+ */
+public final class GrayImage {
+
+    private final int width;
+    private final int height;
+    private final float[] pixels;
+
+    // 지연 생성 캐시 (같은 프레임에 여러 템플릿을 매칭할 때 재사용)
+    private volatile GrayImage half;
+    private volatile double[][] integrals;
+
+    public GrayImage(int width, int height, float[] pixels) {
+        if (width <= 0 || height <= 0 || pixels.length != width * height) {
+            throw new IllegalArgumentException("잘못된 이미지 크기: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+    }
+
+    // 인코딩된 이미지 바이트(PNG/JPEG)를 흑백 이미지로 변환
+    public static GrayImage decode(byte[] encoded) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(encoded));
+            if (image == null) {
+                throw new IllegalArgumentException("지원하지 않는 이미지 형식");
+            }
+            return fromBufferedImage(image);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("이미지 디코딩 실패: " + e.getMessage(), e);
+        }
+    }
+
+    // BufferedImage → 흑백 (ITU-R BT.601 휘도 가중치)
+    public static GrayImage fromBufferedImage(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int[] argb = image.getRGB(0, 0, w, h, null, 0, w);
+        float[] gray = new float[w * h];
+        for (int i = 0; i < argb.length; i++) {
+            int p = argb[i];
+            int r = (p >> 16) & 0xFF;
+            int g = (p >> 8) & 0xFF;
+            int b = p & 0xFF;
+            gray[i] = 0.299f * r + 0.587f * g + 0.114f * b;
+        }
+        return new GrayImage(w, h, gray);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public float get(int x, int y) {
+        return pixels[y * width + x];
+    }
+
+    // 내부 배열 직접 접근 (매칭 루프 성능용, 수정 금지)
+    float[] raw() {
+        return pixels;
+    }
+
+    /**
+     * 2x2 평균으로 절반 크기 이미지를 반환합니다. (피라미드 한 단계)
+     * - 한 번 만든 결과는 캐시되어 같은 프레임에서 재사용됨
+     */
+    public GrayImage half() {
+        GrayImage h = half;
+        if (h == null) {
+            synchronized (this) {
+                h = half;
+                if (h == null) {
+                    h = downscale2x();
+                    half = h;
+                }
+            }
+        }
+        return h;
+    }
+
+    private GrayImage downscale2x() {
+        int w2 = Math.max(1, width / 2);
+        int h2 = Math.max(1, height / 2);
+        float[] out = new float[w2 * h2];
+        for (int y = 0; y < h2; y++) {
+            int sy = Math.min(height - 1, y * 2);
+            int sy1 = Math.min(height - 1, sy + 1);
+            for (int x = 0; x < w2; x++) {
+                int sx = Math.min(width - 1, x * 2);
+                int sx1 = Math.min(width - 1, sx + 1);
+                out[y * w2 + x] = (pixels[sy * width + sx] + pixels[sy * width + sx1]
+                        + pixels[sy1 * width + sx] + pixels[sy1 * width + sx1]) * 0.25f;
+            }
+        }
+        return new GrayImage(w2, h2, out);
+    }
+
+    // 피라미드 level 단계만큼 축소된 이미지 (level 0 = 원본)
+    public GrayImage level(int level) {
+        GrayImage img = this;
+        for (int i = 0; i < level; i++) {
+            img = img.half();
+        }
+        return img;
+    }
+
+    /**
+     * 임의 배율로 크기 변경 (양선형 보간)
+     * - 0.5배 이하 축소는 2x2 평균 단계를 먼저 거쳐 앨리어싱 방지
+     */
+    public GrayImage resize(double scale) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("배율은 0보다 커야 합니다: " + scale);
+        }
+        if (Math.abs(scale - 1.0) < 1e-9) {
+            return this;
+        }
+        if (scale <= 0.5 && width >= 2 && height >= 2) {
+            return half().resize(scale * 2);
+        }
+
+        int nw = Math.max(1, (int) Math.round(width * scale));
+        int nh = Math.max(1, (int) Math.round(height * scale));
+        float[] out = new float[nw * nh];
+        double sx = (double) width / nw;
+        double sy = (double) height / nh;
+        for (int y = 0; y < nh; y++) {
+            double fy = Math.min(height - 1, Math.max(0, (y + 0.5) * sy - 0.5));
+            int y0 = (int) fy;
+            int y1 = Math.min(height - 1, y0 + 1);
+            double wy = fy - y0;
+            for (int x = 0; x < nw; x++) {
+                double fx = Math.min(width - 1, Math.max(0, (x + 0.5) * sx - 0.5));
+                int x0 = (int) fx;
+                int x1 = Math.min(width - 1, x0 + 1);
+                double wx = fx - x0;
+                double top = pixels[y0 * width + x0] * (1 - wx) + pixels[y0 * width + x1] * wx;
+                double bottom = pixels[y1 * width + x0] * (1 - wx) + pixels[y1 * width + x1] * wx;
+                out[y * nw + x] = (float) (top * (1 - wy) + bottom * wy);
+            }
+        }
+        return new GrayImage(nw, nh, out);
+    }
+
+    // 지정 영역 잘라내기 (경계 밖 영역은 자동으로 잘림)
+    public GrayImage crop(int x, int y, int w, int h) {
+        int x0 = Math.max(0, x);
+        int y0 = Math.max(0, y);
+        int x1 = Math.min(width, x + w);
+        int y1 = Math.min(height, y + h);
+        if (x1 <= x0 || y1 <= y0) {
+            throw new IllegalArgumentException("잘라낼 영역이 이미지 밖입니다");
+        }
+        int cw = x1 - x0;
+        int ch = y1 - y0;
+        float[] out = new float[cw * ch];
+        for (int row = 0; row < ch; row++) {
+            System.arraycopy(pixels, (y0 + row) * width + x0, out, row * cw, cw);
+        }
+        return new GrayImage(cw, ch, out);
+    }
+
+    /**
+     * 합/제곱합 적분 영상 [0]=sum, [1]=sumSq, 크기 (w+1)*(h+1)
+     * - 임의 사각형 영역의 평균/분산을 O(1)에 계산하기 위해 사용
+     */
+    double[][] integrals() {
+        double[][] result = integrals;
+        if (result == null) {
+            synchronized (this) {
+                result = integrals;
+                if (result == null) {
+                    result = buildIntegrals();
+                    integrals = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private double[][] buildIntegrals() {
+        int stride = width + 1;
+        double[] sum = new double[stride * (height + 1)];
+        double[] sq = new double[stride * (height + 1)];
+        for (int y = 0; y < height; y++) {
+            double rowSum = 0;
+            double rowSq = 0;
+            for (int x = 0; x < width; x++) {
+                double v = pixels[y * width + x];
+                rowSum += v;
+                rowSq += v * v;
+                sum[(y + 1) * stride + x + 1] = sum[y * stride + x + 1] + rowSum;
+                sq[(y + 1) * stride + x + 1] = sq[y * stride + x + 1] + rowSq;
+            }
+        }
+        return new double[][]{sum, sq};
+    }
+}
@@ -1,25 +1,45 @@
 package com.example.appium_android_automation.marker;
 
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.infra.DeviceGeometry;
+import com.example.appium_android_automation.infra.ScreenHelper;
+import com.example.appium_android_automation.reporting.Metrics;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.io.InputStream;
+import java.awt.Rectangle;
 import java.time.Duration;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Unity 앱 이미지 매칭 검증
  * - OpenCV 기반 화면 요소 탐지 및 좌표 반환
+ * - AppiumConfig.USE_LOCAL_IMAGE_MATCHING=true면 스크린샷 1장을 받아 JVM 내부(TemplateMatcher)에서 매칭
  */
 
 public class ImageAssert {
+
+    // 스레드별 직전 촬영 프레임 (터치 후 화면 전환 대기의 기준 화면으로 재사용)
+    private static final ThreadLocal<ScreenFrame> LAST_FRAME = new ThreadLocal<>();
+
     // 이미지가 화면에 나타날 때까지 대기 후 존재 여부 반환
     // 성공 시: true, 타임아웃 시: false
     public static boolean waitUntilImageVisible(AndroidDriver driver, String resourcePath, int timeoutSec) {
         System.out.println("[IMG] 이미지 매칭 시작: " + resourcePath + " (타임아웃=" + timeoutSec + "초)");
 
+        if (AppiumConfig.USE_LOCAL_IMAGE_MATCHING) {
+            ImageMatch match = pollLocal(driver, resourcePath, timeoutSec);
+            System.out.println("[IMG] 매칭 결과: " + (match != null ? "성공 ✓" : "실패 ✗"));
+            return match != null;
+        }
+
         try {
             // 리소스 이미지를 Base64로 인코딩 (Appium 요구사항)
             String b64 = loadResourceAsBase64(resourcePath);
@@ -28,7 +48,7 @@ public class ImageAssert {
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
             WebElement el = wait.until(d -> {
                 try {
-                    return d.findElement(AppiumBy.image(b64)); // OpenCV 이미지 매칭
+                    return Metrics.time("appium.findElement.image", () -> d.findElement(AppiumBy.image(b64))); // OpenCV 이미지 매칭
                 } catch (NoSuchElementException ex) {
                     return null; // 계속 대기
                 }
@@ -51,13 +71,27 @@ public class ImageAssert {
     public static Point findImageCenter(AndroidDriver driver, String resourcePath, int timeoutSec) {
         System.out.println("[IMG] 이미지 좌표 탐색 시작: " + resourcePath + " (타임아웃=" + timeoutSec + "초)");
 
+        if (AppiumConfig.USE_LOCAL_IMAGE_MATCHING) {
+            ImageMatch match = pollLocal(driver, resourcePath, timeoutSec);
+            if (match == null) {
+                System.out.println("[IMG] 이미지 미발견 ✗");
+                return null;
+            }
+            Point center = match.getCenter();
+            System.out.println("[IMG] 이미지 발견 ✓");
+            System.out.println("  위치: (" + match.getX() + ", " + match.getY() + ")");
+            System.out.println("  크기: " + match.getWidth() + " x " + match.getHeight());
+            System.out.println("  중앙 좌표: (" + center.getX() + ", " + center.getY() + ")");
+            return center;
+        }
+
         try {
             String b64 = loadResourceAsBase64(resourcePath);
 
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
             WebElement element = wait.until(d -> {
                 try {
-                    return d.findElement(AppiumBy.image(b64));
+                    return Metrics.time("appium.findElement.image", () -> d.findElement(AppiumBy.image(b64)));
                 } catch (NoSuchElementException ex) {
                     return null;
                 }
@@ -97,50 +131,218 @@ public class ImageAssert {
     /**
      * 현재 화면에 이미지가 존재하는지 빠르게 확인합니다.
      *
-     * 용도: FirstLaunchFlow의 다운로드 완료 감지 Polling
-     * 특징: 2초 짧은 타임아웃으로 즉시 응답 (기존 메서드는 30초 대기)
+     * 용도: 다운로드 완료 감지 등 Polling
+     * 특징: 단발 탐색 1회 = 디바이스 왕복 1회 (ImageProbe), 세션 암시적 대기를 바꾸지 않음
      */
     public static boolean isImageVisible(AndroidDriver driver, String resourcePath) {
-        Duration originalTimeout = null;
-
         try {
-            String b64 = loadResourceAsBase64(resourcePath);
+            return ImageProbe.forDriver(driver).isVisible(resourcePath);
+        } catch (Exception e) {
+            System.err.println("[IMG] isImageVisible ERROR: " + e.getMessage());
+            return false;
+        }
+    }
 
-            // 현재 암시적 대기시간 백업
-            originalTimeout = driver.manage().timeouts().getImplicitWaitTimeout();
+    // ========== 로컬 매칭 (스크린샷 1장 + JVM 내부 ZNCC) ==========
 
-            // Polling용 짧은 타임아웃 설정
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(2));
+    /**
+     * 현재 화면을 한 번 촬영해 매칭용 프레임으로 변환합니다.
+     * - 같은 프레임으로 여러 템플릿을 매칭할 수 있음 (디바이스 왕복 1회)
+     */
+    public static ScreenFrame captureFrame(AndroidDriver driver) {
+        return captureFrame(driver, ScreenHelper.getScreenSize(driver));
+    }
 
-            // 이미지 찾기 시도
-            WebElement element = driver.findElement(AppiumBy.image(b64));
-            return element != null;
+    // 화면 크기를 이미 알고 있을 때 (폴링 루프에서 window 조회 생략, null이면 스크린샷 픽셀 좌표)
+    public static ScreenFrame captureFrame(TakesScreenshot driver, Dimension windowSize) {
+        byte[] png = Metrics.time("appium.getScreenshotAs", () -> driver.getScreenshotAs(OutputType.BYTES));
+        GrayImage image = Metrics.time("match.decode", () -> GrayImage.decode(png));
 
-        } catch (NoSuchElementException e) {
-            return false;  // 이미지 없음 (정상 케이스)
+        // 화면 회전: 이 프레임은 가로/세로를 바꿔 변환, 캐시된 창 크기는 다음 조회 때 갱신
+        ScreenHelper.onFrame(driver, image.getWidth(), image.getHeight());
+        if (windowSize != null && !DeviceGeometry.sameOrientation(
+                windowSize.getWidth(), windowSize.getHeight(), image.getWidth(), image.getHeight())) {
+            windowSize = new Dimension(windowSize.getHeight(), windowSize.getWidth());
+        }
+
+        ScreenFrame frame = new ScreenFrame(image, windowSize);
+        LAST_FRAME.set(frame);
+        FlightRecorder.capture(frame.getImage());  // 블랙박스에도 기록 (추가 촬영 없음)
+        return frame;
+    }
+
+    /**
+     * 현재 스레드에서 maxAgeMs 이내에 촬영한 프레임의 지각 해시
+     * - 없거나 오래되었으면 null
+     */
+    public static Long recentFrameHash(long maxAgeMs) {
+        ScreenFrame frame = LAST_FRAME.get();
+        if (frame == null || System.currentTimeMillis() - frame.getCapturedAtMs() > maxAgeMs) {
+            return null;
+        }
+        return frame.perceptualHash();
+    }
+
+    /**
+     * 촬영된 프레임에서 템플릿을 찾습니다.
+     * - 해상도별 배율은 MatchScaleCache로 한 번만 탐색
+     * - 탐색 영역: 학습 영역이 있으면 그 영역만, 없으면 선언 영역(AppiumConfig.TEMPLATE_SEARCH_REGIONS) → 전체 화면
+     * - 학습 영역에서 REGION_WIDEN_AFTER_MISSES회 연속 못 찾았을 때만 1회 넓게 탐색 (마커 위치 이동 대응)
+     *
+     * @return 임계값 이상이면 화면 좌표 기준 ImageMatch, 아니면 null
+     */
+    public static ImageMatch locate(ScreenFrame frame, String resourcePath) {
+        return Metrics.time("match.locate", () -> locateTimed(frame, resourcePath));
+    }
+
+    private static ImageMatch locateTimed(ScreenFrame frame, String resourcePath) {
+        Dimension screenSize = frame.getImageSize();
+
+        // [1] 학습된 좁은 영역만 탐색 (폴링 대부분은 마커가 뜨기 전이라 미스 → 넓은 탐색 생략)
+        Rectangle learned = SearchRegions.learned(resourcePath, screenSize);
+        if (learned != null) {
+            ImageMatch match = locateIn(frame, resourcePath, learned);
+            if (match != null) {
+                SearchRegions.hit(resourcePath, screenSize);
+                return frame.toWindow(match.withResource(resourcePath));
+            }
+            if (!SearchRegions.missed(resourcePath, screenSize)) {
+                return null;
+            }
+        }
+
+        // [2] 미학습 또는 연속 미스: 선언 영역(없으면 전체 화면) 탐색 → 성공 위치 학습
+        ImageMatch match = locateIn(frame, resourcePath, SearchRegions.declared(resourcePath, screenSize));
+        if (match == null) {
+            return null;
+        }
+        SearchRegions.learn(resourcePath, screenSize, match);
+        return frame.toWindow(match.withResource(resourcePath));
+    }
 
+    // 지정 영역(null = 전체 화면) 안에서 배율 캐시를 적용해 매칭 (결과는 전체 스크린샷 픽셀 좌표)
+    private static ImageMatch locateIn(ScreenFrame frame, String resourcePath, Rectangle area) {
+        Dimension screenSize = frame.getImageSize();
+        GrayImage searchArea = frame.region(area);
+        TemplateRegistry.Template template = TemplateRegistry.get(resourcePath);
+
+        ImageMatch match;
+        Double cachedScale = MatchScaleCache.get(resourcePath, screenSize);
+        if (cachedScale != null) {
+            // 같은 단말에서 이미 확인된 배율 하나만 탐색
+            match = TemplateMatcher.match(searchArea, template.getGray(cachedScale), AppiumConfig.IMAGE_MATCH_THRESHOLD);
+        } else {
+            // 최초 탐색: 기준 배율 주변 다중 배율 → 채택된 배율 캐시
+            double[] scales = MatchScaleCache.candidateScales(resourcePath, screenSize);
+            GrayImage[] scaled = new GrayImage[scales.length];
+            for (int i = 0; i < scales.length; i++) {
+                scaled[i] = template.getGray(scales[i]);
+            }
+            match = TemplateMatcher.matchMultiScale(searchArea, scaled, scales, AppiumConfig.IMAGE_MATCH_THRESHOLD);
+            MatchScaleCache.remember(resourcePath, screenSize, match);
+        }
+
+        if (match == null || area == null) {
+            return match;
+        }
+        return match.translated(area.x, area.y);
+    }
+
+    // ========== 다중 템플릿 화면 판별 ("지금 어느 화면인가?") ==========
+
+    /**
+     * 한 프레임에 여러 템플릿을 병렬로 매칭해 발견된 것만 점수 내림차순으로 반환합니다.
+     * - 디바이스 왕복 없이 CPU에서만 수행 (프레임 피라미드는 템플릿 간 공유)
+     */
+    public static List<ImageMatch> detect(ScreenFrame frame, Collection<String> resourcePaths) {
+        return resourcePaths.parallelStream()
+                .distinct()
+                .map(resourcePath -> locate(frame, resourcePath))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(ImageMatch::getScore).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 현재 화면의 후보 템플릿 전체를 판별합니다. (대기 없음)
+     * - USE_LOCAL_IMAGE_MATCHING=false면 후보마다 서버 이미지 탐색 1회 (ImageProbe.detect)
+     *
+     * @return 발견된 템플릿 목록 (없으면 빈 리스트)
+     */
+    public static List<ImageMatch> detectScreen(AndroidDriver driver, Collection<String> resourcePaths) {
+        try {
+            return ImageProbe.forDriver(driver, ScreenHelper.getScreenSize(driver)).detect(resourcePaths);
         } catch (Exception e) {
-            System.err.println("[IMG] isImageVisible ERROR: " + e.getMessage());
-            return false;
+            System.err.println("[IMG] detectScreen ERROR: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
 
-        } finally {
-            // 암시적 대기시간 원래 값으로 복구 (매우 중요!)
-            if (originalTimeout != null) {
-                driver.manage().timeouts().implicitlyWait(originalTimeout);
-            } else {
-                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+    /**
+     * 후보 템플릿 중 하나라도 나타날 때까지 대기합니다.
+     * - 로컬 매칭: 매 폴링마다 스크린샷 1장으로 모든 후보를 동시에 판별
+     * - USE_LOCAL_IMAGE_MATCHING=false면 폴링마다 후보별 서버 이미지 탐색 (ImageProbe.waitForAny)
+     * - 순차 대기(후보마다 타임아웃 소진) 대신 실제 화면 상태로 즉시 분기 가능
+     *
+     * @return 처음으로 하나 이상 발견된 프레임의 매칭 목록, 타임아웃 시 빈 리스트
+     */
+    public static List<ImageMatch> waitForAnyImage(AndroidDriver driver, Collection<String> resourcePaths, int timeoutSec) {
+        System.out.println("[IMG] 다중 이미지 판별 시작: " + resourcePaths + " (타임아웃=" + timeoutSec + "초)");
+
+        try {
+            ImageProbe probe = ImageProbe.forDriver(driver, ScreenHelper.getScreenSize(driver));
+            List<ImageMatch> matches = probe.waitForAny(resourcePaths, timeoutSec * 1000L);
+            if (matches.isEmpty()) {
+                System.out.println("[IMG] TIMEOUT - 후보 이미지 모두 미발견");
+            }
+            for (ImageMatch match : matches) {
+                System.out.println("[IMG] 발견 ✓ " + match);
             }
+            return matches;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("[IMG] 대기 중 인터럽트 발생");
+            return new ArrayList<>();
+        } catch (Exception e) {
+            System.err.println("[IMG] ERROR: " + e.getMessage());
+            return new ArrayList<>();
         }
     }
 
-    // 리소스 이미지를 Base64 문자열로 변환 (내부용)
-    private static String loadResourceAsBase64(String resourcePath) throws Exception {
-        InputStream in = ImageAssert.class.getClassLoader().getResourceAsStream(resourcePath);
-        if (in == null) {
-            throw new IllegalStateException("이미지 리소스 없음: " + resourcePath);
+    // 매칭 목록에서 특정 템플릿 결과 찾기 (없으면 null)
+    public static ImageMatch findIn(List<ImageMatch> matches, String resourcePath) {
+        for (ImageMatch match : matches) {
+            if (resourcePath.equals(match.getResourcePath())) {
+                return match;
+            }
         }
-        byte[] bytes = in.readAllBytes();
-        return Base64.getEncoder().encodeToString(bytes);
+        return null;
+    }
+
+    // 제한시간 동안 스크린샷 촬영 → 로컬 매칭 반복 (성공 시 결과, 타임아웃 시 null)
+    private static ImageMatch pollLocal(AndroidDriver driver, String resourcePath, int timeoutSec) {
+        try {
+            ImageProbe probe = ImageProbe.forDriver(driver, ScreenHelper.getScreenSize(driver));
+            ImageMatch match = probe.waitFor(resourcePath, timeoutSec * 1000L);
+            if (match == null) {
+                System.out.println("[IMG] TIMEOUT - 이미지를 찾지 못함");
+                return null;
+            }
+            System.out.println("[IMG] 로컬 매칭 점수: " + String.format("%.3f", match.getScore()));
+            return match;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("[IMG] 대기 중 인터럽트 발생");
+            return null;
+        } catch (Exception e) {
+            System.err.println("[IMG] ERROR: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // 리소스 이미지를 Base64 문자열로 변환 (내부용, TemplateRegistry 캐시 사용)
+    private static String loadResourceAsBase64(String resourcePath) {
+        return TemplateRegistry.base64(resourcePath);
     }
 
 }
\ No newline at end of file
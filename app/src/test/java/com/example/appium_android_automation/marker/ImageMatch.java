@@ -0,0 +1,96 @@
+package com.example.appium_android_automation.marker;
+
+import org.openqa.selenium.Point;
+
+/**
+ * 로컬 템플릿 매칭 결과
+ * - 좌상단 좌표, 크기, 정규화 상관계수(-1.0 ~ 1.0) 보관
+ * - getCenter()는 ImageAssert.findImageCenter()와 같은 방식(위치 + 크기/2)으로 계산
+ */
+public final class ImageMatch {
+
+    private final String resourcePath;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final double score;
+    private final double templateScale;
+
+    public ImageMatch(String resourcePath, int x, int y, int width, int height, double score) {
+        this(resourcePath, x, y, width, height, score, 1.0);
+    }
+
+    public ImageMatch(String resourcePath, int x, int y, int width, int height, double score,
+                      double templateScale) {
+        this.resourcePath = resourcePath;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.score = score;
+        this.templateScale = templateScale;
+    }
+
+    public String getResourcePath() {
+        return resourcePath;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    // 매칭에 사용된 템플릿 배율 (1.0 = 원본 크기)
+    public double getTemplateScale() {
+        return templateScale;
+    }
+
+    // 터치용 중앙 좌표
+    public Point getCenter() {
+        return new Point(x + (width / 2), y + (height / 2));
+    }
+
+    // 좌표계 변환 (스크린샷 픽셀 → 화면 좌표 등)
+    public ImageMatch scaled(double scaleX, double scaleY) {
+        return new ImageMatch(resourcePath,
+                (int) Math.round(x * scaleX), (int) Math.round(y * scaleY),
+                (int) Math.round(width * scaleX), (int) Math.round(height * scaleY),
+                score, templateScale);
+    }
+
+    // 좌표 평행이동 (잘라낸 영역 좌표 → 전체 스크린샷 좌표)
+    public ImageMatch translated(int dx, int dy) {
+        if (dx == 0 && dy == 0) {
+            return this;
+        }
+        return new ImageMatch(resourcePath, x + dx, y + dy, width, height, score, templateScale);
+    }
+
+    // 다른 리소스 이름으로 같은 위치 결과 생성 (매처 → ImageAssert 전달용)
+    public ImageMatch withResource(String resourcePath) {
+        return new ImageMatch(resourcePath, x, y, width, height, score, templateScale);
+    }
+
+    @Override
+    public String toString() {
+        return resourcePath + " @(" + x + "," + y + ") " + width + "x" + height +
+                " score=" + String.format("%.3f", score) +
+                (templateScale != 1.0 ? " scale=" + String.format("%.2f", templateScale) : "");
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.reporting.Metrics;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * 단발 이미지 탐색 (세션 전역 타임아웃을 읽거나 바꾸지 않음)
+ * - 로컬 매칭: 스크린샷 1장 → JVM 내부 매칭 (탐색 1회 = 디바이스 왕복 1회)
+ * - 서버 매칭: findElements(AppiumBy.image) 1회 → 없으면 빈 목록 (예외/암시적 대기 변경 없음)
+ *   세션 암시적 대기는 Appium 기본값 0 그대로 둔다는 전제 (어디서도 implicitlyWait를 바꾸지 않음)
+ * - 대기가 필요하면 waitFor/waitForAny: 호출 쪽 마감 시간으로 단발 탐색을 반복
+ * - 여러 템플릿 판별(detect): 로컬은 스크린샷 1장으로 전체, 서버는 후보마다 findElements 1회
+ *
+ * 스크린샷/검색 대상을 인터페이스로 받으므로 명령 수를 세는 가짜 드라이버로 JUnit 검증 가능
+ */
+public final class ImageProbe {
+
+    private final TakesScreenshot screen;
+    private final SearchContext search;
+    private final Dimension windowSize;
+    private final boolean local;
+    private final LongSupplier clock;
+    private final ScreenWaiter.Sleeper sleeper;
+
+    ImageProbe(TakesScreenshot screen, SearchContext search, Dimension windowSize, boolean local,
+               LongSupplier clock, ScreenWaiter.Sleeper sleeper) {
+        this.screen = screen;
+        this.search = search;
+        this.windowSize = windowSize;
+        this.local = local;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * 존재 여부 확인용 (좌표는 스크린샷 픽셀 기준, 창 크기 조회 없음)
+     */
+    public static ImageProbe forDriver(AndroidDriver driver) {
+        return forDriver(driver, null);
+    }
+
+    /**
+     * @param windowSize 좌표를 화면(window) 기준으로 변환할 창 크기 (null이면 스크린샷 픽셀 기준)
+     */
+    public static ImageProbe forDriver(AndroidDriver driver, Dimension windowSize) {
+        return new ImageProbe(driver, driver, windowSize, AppiumConfig.USE_LOCAL_IMAGE_MATCHING,
+                System::currentTimeMillis, Thread::sleep);
+    }
+
+    /**
+     * 지금 화면에 이미지가 있는지 1회 확인 (대기 없음)
+     */
+    public boolean isVisible(String resourcePath) {
+        if (local) {
+            return find(resourcePath) != null;
+        }
+        return !findImageElements(resourcePath).isEmpty();
+    }
+
+    /**
+     * 지금 화면에서 이미지를 1회 탐색 (대기 없음)
+     * - 서버 매칭은 발견 시에만 위치 조회 1회 추가
+     *
+     * @return 발견 시 ImageMatch, 없으면 null
+     */
+    public ImageMatch find(String resourcePath) {
+        if (local) {
+            return ImageAssert.locate(ImageAssert.captureFrame(screen, windowSize), resourcePath);
+        }
+        List<WebElement> found = findImageElements(resourcePath);
+        if (found.isEmpty()) {
+            return null;
+        }
+        Rectangle rect = found.get(0).getRect();
+        return new ImageMatch(resourcePath, rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight(), 1.0);
+    }
+
+    /**
+     * 지금 화면에서 후보 템플릿을 모두 1회 판별 (대기 없음)
+     * - 로컬 매칭: 스크린샷 1장에 병렬 매칭 (점수 내림차순)
+     * - 서버 매칭: 후보마다 findElements 1회 (점수 없음 → 후보 순서 유지)
+     *
+     * @return 발견된 템플릿 목록 (없으면 빈 리스트)
+     */
+    public List<ImageMatch> detect(Collection<String> resourcePaths) {
+        if (local) {
+            return ImageAssert.detect(ImageAssert.captureFrame(screen, windowSize), resourcePaths);
+        }
+        List<ImageMatch> matches = new ArrayList<>();
+        for (String resourcePath : new LinkedHashSet<>(resourcePaths)) {
+            ImageMatch match = find(resourcePath);
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 마감 시간까지 단발 탐색 반복 (간격: AppiumConfig.IMAGE_POLL_INTERVAL_MS)
+     *
+     * @return 처음 발견된 결과, 마감 시 null
+     */
+    public ImageMatch waitFor(String resourcePath, long timeoutMs) throws InterruptedException {
+        List<ImageMatch> matches = waitForAny(List.of(resourcePath), timeoutMs);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * 후보 중 하나라도 보일 때까지 detect 반복
+     *
+     * @return 처음으로 하나 이상 발견된 판별 결과, 마감 시 빈 리스트
+     */
+    public List<ImageMatch> waitForAny(Collection<String> resourcePaths, long timeoutMs) throws InterruptedException {
+        long deadline = clock.getAsLong() + timeoutMs;
+        while (true) {
+            List<ImageMatch> matches = detect(resourcePaths);
+            if (!matches.isEmpty()) {
+                return matches;
+            }
+            if (clock.getAsLong() + AppiumConfig.IMAGE_POLL_INTERVAL_MS > deadline) {
+                return matches;
+            }
+            long t0 = System.nanoTime();
+            sleeper.sleep(AppiumConfig.IMAGE_POLL_INTERVAL_MS);
+            Metrics.recordNanos("sleep.imagePoll", System.nanoTime() - t0);
+        }
+    }
+
+    private List<WebElement> findImageElements(String resourcePath) {
+        String b64 = TemplateRegistry.base64(resourcePath);
+        return Metrics.time("appium.findElements.image", () -> search.findElements(AppiumBy.image(b64)));
+    }
+}
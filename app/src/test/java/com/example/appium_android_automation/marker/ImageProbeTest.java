@@ -0,0 +1,177 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebElement;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ImageProbe 검증 - 명령을 기록하는 가짜 드라이버 (디바이스/Appium 서버 불필요)
+ * - 탐색 1회 = 디바이스 명령 1회, 타임아웃 조회/변경 명령 없음
+ */
+public class ImageProbeTest {
+
+    private static final String RESOURCE = "images/settings_popup_marker.png";  // 선언 영역 없음 → 전체 화면 탐색
+    private static final int WIDTH = 3120;   // 템플릿 기준 해상도 (배율 1.0)
+    private static final int HEIGHT = 1440;
+
+    /**
+     * 스크린샷/요소 검색만 가능한 가짜 드라이버
+     * - manage()가 없으므로 세션 타임아웃을 건드리는 코드는 컴파일되지 않음
+     */
+    private static final class RecordingDriver implements TakesScreenshot, SearchContext {
+        final List<String> commands = new ArrayList<>();
+        final Deque<byte[]> screens = new ArrayDeque<>();
+        List<WebElement> elements = List.of();
+        long now;
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            commands.add("screenshot");
+            byte[] png = screens.size() > 1 ? screens.poll() : screens.peek();
+            return target.convertFromPngBytes(png);
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            commands.add("findElements");
+            return elements;
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            throw new AssertionError("단발 탐색은 findElement(암시적 대기 적용)를 쓰지 않음");
+        }
+
+        ImageProbe probe(boolean local) {
+            return new ImageProbe(this, this, null, local, () -> now, ms -> now += ms);
+        }
+
+        // 위치 조회만 지원하는 가짜 이미지 요소
+        WebElement element(Rectangle rect) {
+            return (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                    new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                        commands.add(method.getName());
+                        if (method.getName().equals("getRect")) {
+                            return rect;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+
+    private RecordingDriver driver;
+    private byte[] blank;
+    private byte[] withMarker;
+
+    @Before
+    public void setUp() throws Exception {
+        MatchScaleCache.clear();
+        SearchRegions.clear();
+        driver = new RecordingDriver();
+
+        Random random = new Random(11);
+        BufferedImage screen = noiseScreen(random);
+        blank = png(screen);
+        BufferedImage template = ImageIO.read(new ByteArrayInputStream(TemplateRegistry.get(RESOURCE).getBytes()));
+        screen.setRGB(700, 400, template.getWidth(), template.getHeight(),
+                template.getRGB(0, 0, template.getWidth(), template.getHeight(), null, 0, template.getWidth()),
+                0, template.getWidth());
+        withMarker = png(screen);
+    }
+
+    @Test
+    public void localProbeCostsOneScreenshotPerCall() {
+        driver.screens.add(blank);
+        ImageProbe probe = driver.probe(true);
+
+        assertFalse(probe.isVisible(RESOURCE));
+        assertFalse(probe.isVisible(RESOURCE));
+
+        assertEquals(List.of("screenshot", "screenshot"), driver.commands);
+    }
+
+    @Test
+    public void localWaitPollsUntilFoundWithOwnDeadline() throws Exception {
+        driver.screens.add(blank);
+        driver.screens.add(blank);
+        driver.screens.add(withMarker);
+
+        ImageMatch match = driver.probe(true).waitFor(RESOURCE, 10_000);
+
+        assertNotNull(match);
+        assertEquals(700, match.getX());
+        assertEquals(400, match.getY());
+        assertEquals("폴링 3회 = 스크린샷 3회", List.of("screenshot", "screenshot", "screenshot"), driver.commands);
+        assertEquals(2L * AppiumConfig.IMAGE_POLL_INTERVAL_MS, driver.now);
+    }
+
+    @Test
+    public void serverProbeIsSingleFindElementsWithoutTimeoutCommands() {
+        ImageProbe probe = driver.probe(false);
+
+        assertFalse(probe.isVisible(RESOURCE));
+        assertNull(probe.find(RESOURCE));
+
+        assertEquals(List.of("findElements", "findElements"), driver.commands);
+    }
+
+    @Test
+    public void serverFindReadsRectOnlyOnHit() {
+        driver.elements = List.of(driver.element(new Rectangle(new Point(100, 200), new org.openqa.selenium.Dimension(40, 20))));
+        ImageProbe probe = driver.probe(false);
+
+        assertTrue(probe.isVisible(RESOURCE));
+        ImageMatch match = probe.find(RESOURCE);
+
+        assertEquals(new Point(120, 210), match.getCenter());
+        assertEquals(List.of("findElements", "findElements", "getRect"), driver.commands);
+    }
+
+    @Test
+    public void waitGivesUpAtDeadlineWithoutOvershooting() throws Exception {
+        ImageMatch match = driver.probe(false).waitFor(RESOURCE, 1200);
+
+        assertNull(match);
+        assertEquals(3, driver.commands.size());
+        assertTrue("마감 이후로 자지 않음: " + driver.now, driver.now <= 1200);
+    }
+
+    // 무작위 잡음 배경 (단색 영역이 없는 최악 조건)
+    private static BufferedImage noiseScreen(Random random) {
+        BufferedImage screen = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        int[] row = new int[WIDTH];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                row[x] = random.nextInt(0x1000000);
+            }
+            screen.setRGB(0, y, WIDTH, 1, row, 0, WIDTH);
+        }
+        return screen;
+    }
+
+    private static byte[] png(BufferedImage image) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import org.openqa.selenium.Dimension;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * (템플릿, 스크린샷 해상도)별 매칭 배율 캐시
+ * - 처음에는 기준 해상도 대비 배율 주변 + 원본 크기(1.0)를 다중 배율로 탐색
+ * - 충분히 높은 점수로 찾은 배율을 기억해 같은 단말에서는 해당 배율 하나만 탐색
+ */
+public final class MatchScaleCache {
+
+    private static final Map<String, Double> SCALES = new ConcurrentHashMap<>();
+
+    private MatchScaleCache() {
+    }
+
+    // 캐시된 배율 (없으면 null)
+    public static Double get(String resourcePath, Dimension screenSize) {
+        return SCALES.get(key(resourcePath, screenSize));
+    }
+
+    // 신뢰할 수 있는 점수일 때만 배율 기록
+    public static void remember(String resourcePath, Dimension screenSize, ImageMatch match) {
+        if (match != null && match.getScore() >= AppiumConfig.SCALE_CACHE_MIN_SCORE) {
+            Double previous = SCALES.put(key(resourcePath, screenSize), match.getTemplateScale());
+            if (previous == null) {
+                System.out.println("[IMG] 배율 캐시 등록: " + resourcePath + " @" + screenSize +
+                        " → " + String.format("%.2f", match.getTemplateScale()));
+            }
+        }
+    }
+
+    public static void clear() {
+        SCALES.clear();
+    }
+
+    /**
+     * 스크린샷 크기에 맞는 탐색 배율 목록
+     * - 기준 배율 = 스크린샷 긴 변 / 템플릿을 캡처한 해상도의 긴 변
+     * - 기준 배율에 TEMPLATE_SCALE_STEPS를 곱해 가까운 순으로 반환
+     * - 원본 크기(1.0)는 항상 포함 (이 단말에서 캡처한 템플릿, 기준 해상도가 다른 템플릿 대비)
+     */
+    public static double[] candidateScales(String resourcePath, Dimension screenSize) {
+        int longSide = Math.max(screenSize.getWidth(), screenSize.getHeight());
+        double base = (double) longSide / referenceLongSide(resourcePath);
+
+        double[] steps = AppiumConfig.TEMPLATE_SCALE_STEPS;
+        double[] scales = new double[steps.length + 1];
+        int n = 0;
+        boolean hasNative = false;
+        for (double step : steps) {
+            // 소수점 둘째 자리로 고정해 템플릿 배율 캐시 키가 흩어지지 않도록 함
+            double scale = Math.round(base * step * 100.0) / 100.0;
+            hasNative |= scale == 1.0;
+            scales[n++] = scale;
+        }
+        if (!hasNative) {
+            scales[n++] = 1.0;
+        }
+        return Arrays.copyOf(scales, n);
+    }
+
+    // 템플릿을 캡처한 해상도의 긴 변 (개별 지정이 없으면 공통 기준)
+    static int referenceLongSide(String resourcePath) {
+        return AppiumConfig.TEMPLATE_REFERENCE_LONG_SIDES.getOrDefault(resourcePath,
+                AppiumConfig.TEMPLATE_REFERENCE_LONG_SIDE);
+    }
+
+    private static String key(String resourcePath, Dimension screenSize) {
+        return resourcePath + "@" + screenSize.getWidth() + "x" + screenSize.getHeight();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.appium_android_automation.marker;
+
+/**
+ * 화면 비교용 지각 해시(dHash, 64bit)
+ * - 화면을 9x8 격자 평균으로 축소 → 가로 이웃 밝기 비교로 64bit 생성
+ * - 해밍 거리(다른 비트 수)가 작을수록 시각적으로 비슷한 화면
+ * - 미세한 노이즈/압축 차이에는 둔감하고 화면 전환에는 민감
+ */
+public final class PerceptualHash {
+
+    private static final int GRID_WIDTH = 9;
+    private static final int GRID_HEIGHT = 8;
+
+    private PerceptualHash() {
+    }
+
+    // 흑백 이미지의 dHash 계산
+    public static long dHash(GrayImage image) {
+        double[] cells = shrink(image);
+        long hash = 0L;
+        int bit = 0;
+        for (int y = 0; y < GRID_HEIGHT; y++) {
+            for (int x = 0; x < GRID_WIDTH - 1; x++) {
+                if (cells[y * GRID_WIDTH + x] > cells[y * GRID_WIDTH + x + 1]) {
+                    hash |= 1L << bit;
+                }
+                bit++;
+            }
+        }
+        return hash;
+    }
+
+    // 두 해시의 해밍 거리 (0 = 동일, 64 = 완전히 다름)
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    // 격자 평균 축소 (전체 픽셀 1회 순회)
+    private static double[] shrink(GrayImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        float[] px = image.raw();
+        double[] sums = new double[GRID_WIDTH * GRID_HEIGHT];
+        int[] counts = new int[GRID_WIDTH * GRID_HEIGHT];
+
+        for (int y = 0; y < h; y++) {
+            int cy = Math.min(GRID_HEIGHT - 1, y * GRID_HEIGHT / h);
+            int row = y * w;
+            for (int x = 0; x < w; x++) {
+                int cx = Math.min(GRID_WIDTH - 1, x * GRID_WIDTH / w);
+                int cell = cy * GRID_WIDTH + cx;
+                sums[cell] += px[row + x];
+                counts[cell]++;
+            }
+        }
+        for (int i = 0; i < sums.length; i++) {
+            if (counts[i] > 0) {
+                sums[i] /= counts[i];
+            }
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.appium_android_automation.marker;
+
+import org.openqa.selenium.Dimension;
+
+import java.awt.Rectangle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 한 번 촬영한 스크린샷 프레임
+ * - 여러 템플릿을 같은 프레임에 매칭할 때 디코딩/피라미드를 공유
+ * - 스크린샷 픽셀 → 화면(window) 좌표 변환 배율 보관
+ * - 탐색 영역별 잘라낸 이미지를 캐시 (같은 영역의 여러 템플릿이 공유)
+ */
+public final class ScreenFrame {
+
+    private final GrayImage image;
+    private final double scaleX;
+    private final double scaleY;
+    private final long capturedAtMs;
+    private final Map<Rectangle, GrayImage> regions = new ConcurrentHashMap<>();
+    private volatile Long perceptualHash;
+
+    public ScreenFrame(GrayImage image, Dimension windowSize) {
+        this.image = image;
+        if (windowSize != null && windowSize.getWidth() > 0 && windowSize.getHeight() > 0) {
+            this.scaleX = (double) windowSize.getWidth() / image.getWidth();
+            this.scaleY = (double) windowSize.getHeight() / image.getHeight();
+        } else {
+            this.scaleX = 1.0;
+            this.scaleY = 1.0;
+        }
+        this.capturedAtMs = System.currentTimeMillis();
+    }
+
+    public GrayImage getImage() {
+        return image;
+    }
+
+    // 스크린샷 크기 (템플릿 배율/영역 계산 기준)
+    public Dimension getImageSize() {
+        return new Dimension(image.getWidth(), image.getHeight());
+    }
+
+    // 지정 영역으로 잘라낸 이미지 (null이면 전체)
+    public GrayImage region(Rectangle area) {
+        if (area == null) {
+            return image;
+        }
+        return regions.computeIfAbsent(area, a -> image.crop(a.x, a.y, a.width, a.height));
+    }
+
+    // 화면 전환 비교용 지각 해시 (최초 요청 시 계산)
+    public long perceptualHash() {
+        Long hash = perceptualHash;
+        if (hash == null) {
+            hash = PerceptualHash.dHash(image);
+            perceptualHash = hash;
+        }
+        return hash;
+    }
+
+    public double getScaleX() {
+        return scaleX;
+    }
+
+    public double getScaleY() {
+        return scaleY;
+    }
+
+    public long getCapturedAtMs() {
+        return capturedAtMs;
+    }
+
+    // 스크린샷 픽셀 좌표 결과를 화면 좌표로 변환
+    public ImageMatch toWindow(ImageMatch match) {
+        if (match == null || (scaleX == 1.0 && scaleY == 1.0)) {
+            return match;
+        }
+        return match.scaled(scaleX, scaleY);
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.example.appium_android_automation.reporting.Metrics;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.OutputType;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 이벤트 기반 화면 전환 대기 (고정 Thread.sleep 대체)
+ * - 연속 스크린샷의 지각 해시(dHash)를 비교해 화면이 "멈추면" 즉시 반환
+ * - 기준 화면에서 "바뀐 뒤 멈출 때"까지 대기 (터치 후 전환 애니메이션 대기용)
+ * - 최대 대기시간은 기존 sleep 값 그대로 사용 → 최악의 경우에도 기존보다 느려지지 않음
+ *
+ * FrameSource를 주입하면 녹화된 프레임 시퀀스로 JUnit 검증 가능
+ */
+public class ScreenWaiter {
+
+    /** 다음 프레임 공급자 (실행 시: 디바이스 스크린샷, 테스트 시: 녹화 프레임) */
+    @FunctionalInterface
+    public interface FrameSource {
+        GrayImage next() throws Exception;
+    }
+
+    /** 대기 함수 (테스트에서 가짜 시계와 함께 교체) */
+    @FunctionalInterface
+    public interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final FrameSource source;
+    private final LongSupplier clock;
+    private final Sleeper sleeper;
+
+    public ScreenWaiter(FrameSource source) {
+        this(source, System::currentTimeMillis, Thread::sleep);
+    }
+
+    public ScreenWaiter(FrameSource source, LongSupplier clock, Sleeper sleeper) {
+        this.source = source;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    // 디바이스 스크린샷 기반 대기자 (촬영한 프레임은 블랙박스에도 기록)
+    public static ScreenWaiter forDriver(AndroidDriver driver) {
+        return new ScreenWaiter(() -> {
+            GrayImage frame = GrayImage.decode(
+                    Metrics.time("appium.getScreenshotAs", () -> driver.getScreenshotAs(OutputType.BYTES)));
+            FlightRecorder.capture(frame);
+            return frame;
+        });
+    }
+
+    /**
+     * 터치 직후 화면 전환 대기 (기존 Thread.sleep(maxWaitMs) 대체)
+     * - 같은 스레드에서 직전에 ImageAssert가 찍은 프레임이 있으면 그것을 기준 화면으로 사용
+     * - 기준 화면이 없으면 동작 직후 첫 프레임 기준으로 "바뀐 뒤 멈출 때"까지 대기
+     */
+    public static void afterAction(AndroidDriver driver, int maxWaitMs) {
+        afterAction(driver, ImageAssert.recentFrameHash(AppiumConfig.SCREEN_BASELINE_MAX_AGE_MS), maxWaitMs);
+    }
+
+    // 동작 전에 직접 촬영한 기준 화면으로 전환 대기 (baseline이 null이면 동작 직후 첫 프레임 기준)
+    public static void afterAction(AndroidDriver driver, Long baseline, int maxWaitMs) {
+        ScreenWaiter waiter = forDriver(driver);
+        long start = System.currentTimeMillis();
+        boolean settled = (baseline != null)
+                ? waiter.awaitTransition(baseline, maxWaitMs)
+                : waiter.awaitTransition(maxWaitMs);
+        System.out.println("   ⏱️ 화면 안정화 " + (settled ? "감지" : "대기 종료") + " (" +
+                (System.currentTimeMillis() - start) + "ms / 최대 " + maxWaitMs + "ms)");
+    }
+
+    // 동작 전 기준 화면: 직전 ImageAssert 프레임 재사용, 없으면 새로 촬영
+    public static Long baselineBeforeAction(AndroidDriver driver) {
+        Long recent = ImageAssert.recentFrameHash(AppiumConfig.SCREEN_BASELINE_MAX_AGE_MS);
+        return (recent != null) ? recent : captureBaseline(driver);
+    }
+
+    // 동작 전 기준 화면 촬영 (실패 시 null → 동작 직후 첫 프레임 기준)
+    public static Long captureBaseline(AndroidDriver driver) {
+        try {
+            return forDriver(driver).baseline();
+        } catch (Exception e) {
+            System.err.println("[Wait] 기준 화면 촬영 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // 기준 화면 해시 촬영
+    public long baseline() throws Exception {
+        return PerceptualHash.dHash(source.next());
+    }
+
+    /**
+     * 연속 프레임 차이가 SCREEN_STABLE_DISTANCE 이하로 SCREEN_STABLE_FRAMES회 유지되면 반환
+     *
+     * @return 안정화 감지 시 true, 최대 대기시간 초과 시 false
+     */
+    public boolean waitUntilStable(long maxWaitMs) {
+        return waitUntilStable(clock.getAsLong() + maxWaitMs, null);
+    }
+
+    /**
+     * 기준 화면과 SCREEN_CHANGE_DISTANCE 이상 달라지면 반환
+     *
+     * @return 변화 감지 시 true, 최대 대기시간 초과 시 false
+     */
+    public boolean waitUntilChanged(long baselineHash, long maxWaitMs) {
+        long deadline = clock.getAsLong() + maxWaitMs;
+        try {
+            while (true) {
+                long hash = PerceptualHash.dHash(source.next());
+                if (PerceptualHash.distance(hash, baselineHash) >= AppiumConfig.SCREEN_CHANGE_DISTANCE) {
+                    return true;
+                }
+                if (!pause(deadline)) {
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            System.err.println("[Wait] 화면 변화 감지 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 기준 화면에서 바뀐 뒤 다시 멈출 때까지 대기 (전체 예산 maxWaitMs 공유)
+     * - 변화가 시작되지 않으면 예산을 모두 쓰고 false (기존 sleep과 동일한 최악 시간)
+     */
+    public boolean awaitTransition(long baselineHash, long maxWaitMs) {
+        return awaitTransitionUntil(baselineHash, clock.getAsLong() + maxWaitMs);
+    }
+
+    /**
+     * 기준 화면 없이 전환 대기: 첫 프레임을 기준으로 "바뀐 뒤 멈출 때"까지 대기
+     * - 안정화만 기다리면 전환이 시작되기 전 정지 화면에서 바로 반환되므로 변화를 먼저 요구
+     * - 첫 프레임 전에 전환이 끝났으면 예산을 모두 쓰고 false (기존 sleep과 동일한 최악 시간)
+     */
+    public boolean awaitTransition(long maxWaitMs) {
+        long deadline = clock.getAsLong() + maxWaitMs;
+        long first;
+        try {
+            first = baseline();
+            if (!pause(deadline)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            System.err.println("[Wait] 기준 화면 촬영 실패: " + e.getMessage());
+            return false;
+        }
+        return awaitTransitionUntil(first, deadline);
+    }
+
+    private boolean awaitTransitionUntil(long baselineHash, long deadline) {
+        try {
+            Long last = null;
+            while (true) {
+                long hash = PerceptualHash.dHash(source.next());
+                if (PerceptualHash.distance(hash, baselineHash) >= AppiumConfig.SCREEN_CHANGE_DISTANCE) {
+                    last = hash;
+                    break;
+                }
+                if (!pause(deadline)) {
+                    return false;
+                }
+            }
+            if (!pause(deadline)) {
+                return false;
+            }
+            return waitUntilStable(deadline, last);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            System.err.println("[Wait] 화면 전환 감지 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean waitUntilStable(long deadline, Long previous) {
+        int stableCount = 0;
+        try {
+            while (true) {
+                long hash = PerceptualHash.dHash(source.next());
+                if (previous != null && PerceptualHash.distance(hash, previous) <= AppiumConfig.SCREEN_STABLE_DISTANCE) {
+                    stableCount++;
+                    if (stableCount >= AppiumConfig.SCREEN_STABLE_FRAMES) {
+                        return true;
+                    }
+                } else {
+                    stableCount = 0;
+                }
+                previous = hash;
+                if (!pause(deadline)) {
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            System.err.println("[Wait] 화면 안정화 감지 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 폴링 간격만큼 대기 (남은 시간이 없으면 false)
+    private boolean pause(long deadline) throws InterruptedException {
+        long remaining = deadline - clock.getAsLong();
+        if (remaining <= 0) {
+            return false;
+        }
+        sleeper.sleep(Math.min(remaining, AppiumConfig.SCREEN_SETTLE_POLL_MS));
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.appium_android_automation.marker;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * ScreenWaiter 검증 - 녹화된 프레임 시퀀스 + 가짜 시계 (디바이스 불필요)
+ */
+public class ScreenWaiterTest {
+
+    private static final GrayImage LOBBY = pattern(0);
+    private static final GrayImage POPUP = pattern(1);
+    private static final GrayImage FADING = blend(LOBBY, POPUP);
+
+    @Test
+    public void stableScreenReturnsBeforeMaxWait() {
+        Recording rec = new Recording(LOBBY, LOBBY, LOBBY, LOBBY);
+
+        assertTrue(rec.waiter().waitUntilStable(1500));
+        assertTrue("고정 1500ms보다 빨리 반환되어야 함: " + rec.now, rec.now < 1500);
+    }
+
+    @Test
+    public void transitionWaitsForChangeThenSettle() throws Exception {
+        Recording rec = new Recording(LOBBY, LOBBY, LOBBY, FADING, POPUP, POPUP, POPUP, POPUP);
+        long baseline = PerceptualHash.dHash(LOBBY);
+
+        assertTrue(rec.waiter().awaitTransition(baseline, 3000));
+        assertEquals("전환 후 안정화 프레임까지 소비", 7, rec.frames);
+        assertTrue(rec.now < 3000);
+    }
+
+    @Test
+    public void noTransitionUsesWholeBudgetLikeOldSleep() {
+        Recording rec = new Recording(LOBBY);
+        long baseline = PerceptualHash.dHash(LOBBY);
+
+        assertFalse(rec.waiter().awaitTransition(baseline, 1500));
+        assertEquals(1500, rec.now);
+    }
+
+    @Test
+    public void withoutBaselineStillFramesBeforeTransitionDoNotCountAsSettled() {
+        // 동작 직후 아직 전환이 시작되지 않은 정지 화면 → 안정화로 오인하면 안 됨
+        Recording rec = new Recording(LOBBY, LOBBY, LOBBY, LOBBY, FADING, POPUP, POPUP, POPUP, POPUP);
+
+        assertTrue(rec.waiter().awaitTransition(3000));
+        assertEquals("첫 프레임 기준 → 전환 후 안정화 프레임까지 소비", 8, rec.frames);
+        assertTrue(rec.now < 3000);
+    }
+
+    @Test
+    public void withoutBaselineNoChangeIsCappedAtMaxWait() {
+        Recording rec = new Recording(LOBBY);
+
+        assertFalse(rec.waiter().awaitTransition(1500));
+        assertEquals(1500, rec.now);
+    }
+
+    @Test
+    public void animatingScreenNeverSettlesWithinBudget() {
+        Recording rec = new Recording(LOBBY, POPUP, LOBBY, POPUP, LOBBY, POPUP, LOBBY, POPUP, LOBBY, POPUP);
+
+        assertFalse(rec.waiter().waitUntilStable(1000));
+        assertEquals(1000, rec.now);
+    }
+
+    @Test
+    public void changeFromBaselineIsDetected() {
+        Recording rec = new Recording(LOBBY, LOBBY, POPUP);
+
+        assertTrue(rec.waiter().waitUntilChanged(PerceptualHash.dHash(LOBBY), 5000));
+        assertEquals(3, rec.frames);
+    }
+
+    @Test
+    public void hashIgnoresSmallNoiseButSeesScreenChange() {
+        GrayImage noisy = pattern(0);
+        noisy.raw()[10] += 3f;
+
+        assertTrue(PerceptualHash.distance(PerceptualHash.dHash(LOBBY), PerceptualHash.dHash(noisy)) <= 2);
+        assertTrue(PerceptualHash.distance(PerceptualHash.dHash(LOBBY), PerceptualHash.dHash(POPUP)) >= 5);
+    }
+
+    // 녹화 프레임 재생기 (끝나면 마지막 프레임 반복) + 가짜 시계
+    private static final class Recording {
+        private final List<GrayImage> sequence;
+        private long now = 0;
+        private int frames = 0;
+
+        Recording(GrayImage... frames) {
+            this.sequence = Arrays.asList(frames);
+        }
+
+        ScreenWaiter waiter() {
+            return new ScreenWaiter(
+                    () -> sequence.get(Math.min(frames++, sequence.size() - 1)),
+                    () -> now,
+                    ms -> now += ms);
+        }
+    }
+
+    // 가로 그라디언트(0) / 세로 줄무늬(1) 테스트 화면
+    private static GrayImage pattern(int kind) {
+        int w = 320;
+        int h = 180;
+        float[] px = new float[w * h];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                px[y * w + x] = (kind == 0)
+                        ? (x * 255f / w)
+                        : (((x / 20) % 2 == 0) ? 40f : 220f) - y * 0.2f;
+            }
+        }
+        return new GrayImage(w, h, px);
+    }
+
+    private static GrayImage blend(GrayImage a, GrayImage b) {
+        float[] px = new float[a.getWidth() * a.getHeight()];
+        for (int i = 0; i < px.length; i++) {
+            px[i] = (a.raw()[i] + b.raw()[i]) / 2f;
+        }
+        return new GrayImage(a.getWidth(), a.getHeight(), px);
+    }
+}
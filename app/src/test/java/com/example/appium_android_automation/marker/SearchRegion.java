@@ -0,0 +1,54 @@
+package com.example.appium_android_automation.marker;
+
+import org.openqa.selenium.Dimension;
+
+import java.awt.Rectangle;
+
+/**
+ * 템플릿 탐색 영역 힌트 (화면 크기에 대한 비율 0.0 ~ 1.0)
+ * - 해상도와 무관하게 선언하고, 실제 스크린샷 크기로 픽셀 영역 변환
+ * - 예: 우측 하단 1/4 → SearchRegion.of(0.5, 0.5, 0.5, 0.5)
+ */
+public final class SearchRegion {
+
+    private final double x;
+    private final double y;
+    private final double width;
+    private final double height;
+
+    private SearchRegion(double x, double y, double width, double height) {
+        if (x < 0 || y < 0 || width <= 0 || height <= 0 || x + width > 1.0 + 1e-9 || y + height > 1.0 + 1e-9) {
+            throw new IllegalArgumentException("탐색 영역은 0.0~1.0 비율이어야 합니다: "
+                    + x + "," + y + "," + width + "," + height);
+        }
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public static SearchRegion of(double x, double y, double width, double height) {
+        return new SearchRegion(x, y, width, height);
+    }
+
+    // 스크린샷 크기 기준 픽셀 영역으로 변환
+    public Rectangle toPixels(Dimension screenSize) {
+        int sw = screenSize.getWidth();
+        int sh = screenSize.getHeight();
+        int px = (int) Math.floor(x * sw);
+        int py = (int) Math.floor(y * sh);
+        int pw = Math.min(sw - px, (int) Math.ceil(width * sw));
+        int ph = Math.min(sh - py, (int) Math.ceil(height * sh));
+        return new Rectangle(px, py, pw, ph);
+    }
+
+    // 화면 대비 면적 비율 (로그용)
+    public double areaRatio() {
+        return width * height;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[x=%.2f, y=%.2f, w=%.2f, h=%.2f]", x, y, width, height);
+    }
+}
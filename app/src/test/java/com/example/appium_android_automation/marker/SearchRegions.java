@@ -0,0 +1,95 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import org.openqa.selenium.Dimension;
+
+import java.awt.Rectangle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 템플릿별 탐색 영역 관리
+ * - 선언 영역: AppiumConfig.TEMPLATE_SEARCH_REGIONS (없으면 전체 화면)
+ * - 학습 영역: 과거 매칭 위치들의 외곽 사각형 + 여백 (같은 해상도에서 REGION_LEARN_MIN_SAMPLES회 이상 성공 시)
+ * - 학습 후 미스는 대부분 마커가 뜨기 전 폴링이므로 학습 영역만 탐색, REGION_WIDEN_AFTER_MISSES회 연속일 때만 넓게 탐색
+ */
+public final class SearchRegions {
+
+    // (템플릿@해상도) → 지금까지 매칭된 위치의 외곽 사각형과 성공 횟수
+    private static final Map<String, Learned> LEARNED = new ConcurrentHashMap<>();
+    // (템플릿@해상도) → 학습 영역 연속 미스 횟수
+    private static final Map<String, Integer> MISSES = new ConcurrentHashMap<>();
+
+    private SearchRegions() {
+    }
+
+    private static final class Learned {
+        private final Rectangle bounds;
+        private final int samples;
+
+        private Learned(Rectangle bounds, int samples) {
+            this.bounds = bounds;
+            this.samples = samples;
+        }
+    }
+
+    // 선언된 탐색 영역 (픽셀, 미선언 시 null = 전체 화면)
+    public static Rectangle declared(String resourcePath, Dimension screenSize) {
+        double[] r = AppiumConfig.TEMPLATE_SEARCH_REGIONS.get(resourcePath);
+        return r == null ? null : SearchRegion.of(r[0], r[1], r[2], r[3]).toPixels(screenSize);
+    }
+
+    /**
+     * 학습된 탐색 영역 (픽셀)
+     * - 충분한 표본이 없으면 null
+     * - 매칭 위치 외곽 사각형을 템플릿 크기의 REGION_LEARN_MARGIN 비율만큼 확장
+     */
+    public static Rectangle learned(String resourcePath, Dimension screenSize) {
+        Learned learned = LEARNED.get(key(resourcePath, screenSize));
+        if (learned == null || learned.samples < AppiumConfig.REGION_LEARN_MIN_SAMPLES) {
+            return null;
+        }
+        Rectangle b = learned.bounds;
+        int marginX = (int) Math.ceil(b.width * AppiumConfig.REGION_LEARN_MARGIN);
+        int marginY = (int) Math.ceil(b.height * AppiumConfig.REGION_LEARN_MARGIN);
+        Rectangle expanded = new Rectangle(b.x - marginX, b.y - marginY, b.width + 2 * marginX, b.height + 2 * marginY);
+        return expanded.intersection(new Rectangle(0, 0, screenSize.getWidth(), screenSize.getHeight()));
+    }
+
+    // 매칭 성공 위치(스크린샷 픽셀) 기록 - 학습 영역 밖에서 찾았으면 영역이 그 위치까지 넓어짐
+    public static void learn(String resourcePath, Dimension screenSize, ImageMatch match) {
+        String key = key(resourcePath, screenSize);
+        Rectangle hit = new Rectangle(match.getX(), match.getY(), match.getWidth(), match.getHeight());
+        LEARNED.merge(key, new Learned(hit, 1),
+                (old, add) -> new Learned(old.bounds.union(add.bounds), old.samples + 1));
+        MISSES.remove(key);
+    }
+
+    // 학습 영역 안에서 다시 찾음 → 연속 미스 초기화
+    public static void hit(String resourcePath, Dimension screenSize) {
+        MISSES.remove(key(resourcePath, screenSize));
+    }
+
+    /**
+     * 학습 영역 미스 기록
+     *
+     * @return 연속 미스가 REGION_WIDEN_AFTER_MISSES회에 도달해 이번에 넓게 탐색해야 하면 true (횟수 초기화)
+     */
+    public static boolean missed(String resourcePath, Dimension screenSize) {
+        String key = key(resourcePath, screenSize);
+        if (MISSES.merge(key, 1, Integer::sum) < AppiumConfig.REGION_WIDEN_AFTER_MISSES) {
+            return false;
+        }
+        MISSES.remove(key);
+        return true;
+    }
+
+    public static void clear() {
+        LEARNED.clear();
+        MISSES.clear();
+    }
+
+    private static String key(String resourcePath, Dimension screenSize) {
+        return resourcePath + "@" + screenSize.getWidth() + "x" + screenSize.getHeight();
+    }
+}
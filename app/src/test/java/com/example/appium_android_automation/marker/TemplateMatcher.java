@@ -0,0 +1,296 @@
+package com.example.appium_android_automation.marker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM 내부 템플릿 매칭 엔진 (Appium 서버 왕복 없음)
+ * - 흑백 이미지 정규화 교차상관(ZNCC, OpenCV TM_CCOEFF_NORMED와 동일한 점수)
+ * - 피라미드 coarse-to-fine 탐색: 축소 레벨에서 전체 탐색 → 후보 주변만 원본 해상도까지 정밀화
+ * - 다중 배율(matchMultiScale): 템플릿 촬영 해상도와 다른 디바이스 대응
+ *
+ * 점수 범위: -1.0 ~ 1.0 (1.0 = 완전 일치)
+ */
+public final class TemplateMatcher {
+
+    // 축소 레벨 선택 기준: 템플릿이 이 이상 크기를 유지하는 가장 깊은 레벨에서 전체 탐색
+    private static final int MIN_COARSE_AREA = 256;
+    private static final int MIN_COARSE_SIDE = 8;
+    private static final int MAX_PYRAMID_LEVEL = 4;
+
+    // 축소 레벨에서 정밀화할 후보 수 / 레벨당 정밀화 탐색 반경(px)
+    private static final int COARSE_CANDIDATES = 5;
+    private static final int REFINE_RADIUS = 2;
+
+    // 다중 배율 탐색 시 원본 해상도까지 정밀화할 배율 수
+    private static final int REFINED_SCALES = 2;
+
+    // 분산이 거의 없는(단색) 영역은 상관계수를 정의할 수 없으므로 0점 처리
+    private static final double FLAT_EPSILON = 1e-6;
+
+    private TemplateMatcher() {
+    }
+
+    /**
+     * 화면에서 템플릿을 찾아 임계값 이상이면 결과를 반환합니다.
+     *
+     * @return 매칭 성공 시 ImageMatch (스크린샷 픽셀 좌표), 실패 시 null
+     */
+    public static ImageMatch match(GrayImage screen, GrayImage template, double threshold) {
+        ImageMatch best = bestMatch(screen, template);
+        return (best != null && best.getScore() >= threshold) ? best : null;
+    }
+
+    /**
+     * 임계값과 관계없이 가장 점수가 높은 위치를 반환합니다.
+     * 템플릿이 화면보다 크거나 화면 전체가 단색이면 null.
+     */
+    public static ImageMatch bestMatch(GrayImage screen, GrayImage template) {
+        if (!fits(screen, template)) {
+            return null;
+        }
+
+        // [Step 1] 가장 축소된 레벨에서 전체 탐색 → 상위 후보 수집
+        int level = chooseLevel(screen, template);
+        List<double[]> candidates = coarseSearch(screen.level(level), template.level(level));
+
+        // [Step 2] 후보 주변만 원본 해상도까지 정밀 탐색
+        return refine(screen, template, level, candidates, 1.0);
+    }
+
+    /**
+     * 여러 배율로 템플릿을 찾습니다. (해상도가 다른 디바이스 대응)
+     * - 모든 배율을 축소 레벨에서만 빠르게 평가 → 상위 배율만 원본 해상도로 정밀화
+     * - 결과의 getTemplateScale()로 채택된 배율 확인
+     *
+     * @param scaledTemplates 배율별 템플릿 (scales와 같은 순서)
+     * @return 임계값 이상인 최고 점수 결과, 없으면 null
+     */
+    public static ImageMatch matchMultiScale(GrayImage screen, GrayImage[] scaledTemplates, double[] scales,
+                                             double threshold) {
+        // [Step 1] 배율별 coarse 탐색 (축소 레벨이라 배율 수만큼 돌려도 저렴)
+        List<double[]> ranking = new ArrayList<>();   // {scaleIndex, level, bestCoarseScore}
+        List<List<double[]>> candidatesByScale = new ArrayList<>();
+        for (int i = 0; i < scales.length; i++) {
+            GrayImage template = scaledTemplates[i];
+            if (!fits(screen, template)) {
+                candidatesByScale.add(new ArrayList<>());
+                continue;
+            }
+            int level = chooseLevel(screen, template);
+            List<double[]> candidates = coarseSearch(screen.level(level), template.level(level));
+            candidatesByScale.add(candidates);
+            if (!candidates.isEmpty()) {
+                ranking.add(new double[]{i, level, candidates.get(0)[2]});
+            }
+        }
+        ranking.sort((a, b) -> Double.compare(b[2], a[2]));
+
+        // [Step 2] coarse 점수 상위 배율만 정밀화
+        ImageMatch best = null;
+        for (int r = 0; r < Math.min(REFINED_SCALES, ranking.size()); r++) {
+            int i = (int) ranking.get(r)[0];
+            int level = (int) ranking.get(r)[1];
+            ImageMatch match = refine(screen, scaledTemplates[i], level, candidatesByScale.get(i), scales[i]);
+            if (match != null && (best == null || match.getScore() > best.getScore())) {
+                best = match;
+            }
+        }
+        return (best != null && best.getScore() >= threshold) ? best : null;
+    }
+
+    private static boolean fits(GrayImage screen, GrayImage template) {
+        return template.getWidth() <= screen.getWidth() && template.getHeight() <= screen.getHeight();
+    }
+
+    // 축소 레벨 후보를 한 레벨씩 2배 확대하며 주변(±REFINE_RADIUS)만 정밀 탐색
+    private static ImageMatch refine(GrayImage screen, GrayImage template, int level,
+                                     List<double[]> candidates, double templateScale) {
+        // 레벨별 템플릿 전처리는 후보 간 공유
+        PreparedTemplate[] prepared = new PreparedTemplate[level];
+        for (int lv = 0; lv < level; lv++) {
+            prepared[lv] = new PreparedTemplate(template.level(lv));
+        }
+
+        ImageMatch best = null;
+        for (double[] candidate : candidates) {
+            int cx = (int) candidate[0];
+            int cy = (int) candidate[1];
+            double score = candidate[2];
+
+            for (int lv = level - 1; lv >= 0; lv--) {
+                GrayImage s = screen.level(lv);
+                PreparedTemplate pt = prepared[lv];
+                int baseX = cx * 2;
+                int baseY = cy * 2;
+
+                score = Double.NEGATIVE_INFINITY;
+                for (int y = baseY - REFINE_RADIUS; y <= baseY + REFINE_RADIUS; y++) {
+                    for (int x = baseX - REFINE_RADIUS; x <= baseX + REFINE_RADIUS; x++) {
+                        if (x < 0 || y < 0 || x + pt.width > s.getWidth() || y + pt.height > s.getHeight()) {
+                            continue;
+                        }
+                        double sc = nccDirect(s, pt, x, y);
+                        if (sc > score) {
+                            score = sc;
+                            cx = x;
+                            cy = y;
+                        }
+                    }
+                }
+            }
+
+            if (best == null || score > best.getScore()) {
+                best = new ImageMatch(null, cx, cy, template.getWidth(), template.getHeight(), score, templateScale);
+            }
+        }
+        return best;
+    }
+
+    // 템플릿 크기 기준으로 전체 탐색할 피라미드 레벨 결정
+    static int chooseLevel(GrayImage screen, GrayImage template) {
+        int level = 0;
+        int tw = template.getWidth();
+        int th = template.getHeight();
+        int sw = screen.getWidth();
+        int sh = screen.getHeight();
+        while (level < MAX_PYRAMID_LEVEL) {
+            int nw = tw / 2;
+            int nh = th / 2;
+            if (nw * nh < MIN_COARSE_AREA || Math.min(nw, nh) < MIN_COARSE_SIDE
+                    || nw > sw / 2 || nh > sh / 2) {
+                break;
+            }
+            tw = nw;
+            th = nh;
+            sw /= 2;
+            sh /= 2;
+            level++;
+        }
+        return level;
+    }
+
+    // 축소 레벨 전체 탐색 (적분 영상으로 창 평균/분산 O(1) 계산)
+    private static List<double[]> coarseSearch(GrayImage screen, GrayImage template) {
+        PreparedTemplate pt = new PreparedTemplate(template);
+        int maxX = screen.getWidth() - template.getWidth();
+        int maxY = screen.getHeight() - template.getHeight();
+
+        double[][] integrals = screen.integrals();
+        int stride = screen.getWidth() + 1;
+        double n = pt.count;
+
+        // 상위 후보 (x, y, score) - 서로 템플릿 절반 거리 이상 떨어진 것만 유지
+        List<double[]> top = new ArrayList<>();
+        int minDistX = Math.max(1, template.getWidth() / 2);
+        int minDistY = Math.max(1, template.getHeight() / 2);
+
+        float[] s = screen.raw();
+        int sw = screen.getWidth();
+        for (int y = 0; y <= maxY; y++) {
+            for (int x = 0; x <= maxX; x++) {
+                double sum = rectSum(integrals[0], stride, x, y, pt.width, pt.height);
+                double sumSq = rectSum(integrals[1], stride, x, y, pt.width, pt.height);
+                double var = sumSq - (sum * sum) / n;
+                if (var <= FLAT_EPSILON || pt.norm <= FLAT_EPSILON) {
+                    continue;
+                }
+                double cross = 0;
+                for (int ty = 0; ty < pt.height; ty++) {
+                    int sRow = (y + ty) * sw + x;
+                    int tRow = ty * pt.width;
+                    for (int tx = 0; tx < pt.width; tx++) {
+                        cross += pt.zeroMean[tRow + tx] * s[sRow + tx];
+                    }
+                }
+                double score = cross / (pt.norm * Math.sqrt(var));
+                offerCandidate(top, x, y, score, minDistX, minDistY);
+            }
+        }
+
+        return top;
+    }
+
+    // 후보 목록 갱신 (가까운 후보는 점수가 높은 쪽만 남김)
+    private static void offerCandidate(List<double[]> top, int x, int y, double score, int minDistX, int minDistY) {
+        for (int i = 0; i < top.size(); i++) {
+            double[] c = top.get(i);
+            if (Math.abs(c[0] - x) < minDistX && Math.abs(c[1] - y) < minDistY) {
+                if (score > c[2]) {
+                    top.set(i, new double[]{x, y, score});
+                    top.sort((a, b) -> Double.compare(b[2], a[2]));
+                }
+                return;
+            }
+        }
+        if (top.size() < COARSE_CANDIDATES) {
+            top.add(new double[]{x, y, score});
+            top.sort((a, b) -> Double.compare(b[2], a[2]));
+        } else if (score > top.get(top.size() - 1)[2]) {
+            top.set(top.size() - 1, new double[]{x, y, score});
+            top.sort((a, b) -> Double.compare(b[2], a[2]));
+        }
+    }
+
+    // 한 위치의 ZNCC를 직접 계산 (정밀화 단계용, 적분 영상 없이 한 번에 합산)
+    static double nccDirect(GrayImage screen, PreparedTemplate pt, int x, int y) {
+        float[] s = screen.raw();
+        int sw = screen.getWidth();
+        double cross = 0;
+        double sum = 0;
+        double sumSq = 0;
+        for (int ty = 0; ty < pt.height; ty++) {
+            int sRow = (y + ty) * sw + x;
+            int tRow = ty * pt.width;
+            for (int tx = 0; tx < pt.width; tx++) {
+                double v = s[sRow + tx];
+                cross += pt.zeroMean[tRow + tx] * v;
+                sum += v;
+                sumSq += v * v;
+            }
+        }
+        double var = sumSq - (sum * sum) / pt.count;
+        if (var <= FLAT_EPSILON || pt.norm <= FLAT_EPSILON) {
+            return 0.0;
+        }
+        return cross / (pt.norm * Math.sqrt(var));
+    }
+
+    private static double rectSum(double[] integral, int stride, int x, int y, int w, int h) {
+        return integral[(y + h) * stride + (x + w)] - integral[y * stride + (x + w)]
+                - integral[(y + h) * stride + x] + integral[y * stride + x];
+    }
+
+    /**
+     * 평균을 뺀 템플릿 픽셀과 노름(norm)을 미리 계산해 둔 형태
+     */
+    static final class PreparedTemplate {
+        final int width;
+        final int height;
+        final int count;
+        final float[] zeroMean;
+        final double norm;
+
+        PreparedTemplate(GrayImage template) {
+            this.width = template.getWidth();
+            this.height = template.getHeight();
+            this.count = width * height;
+            float[] px = template.raw();
+
+            double mean = 0;
+            for (float v : px) {
+                mean += v;
+            }
+            mean /= count;
+
+            this.zeroMean = new float[count];
+            double sq = 0;
+            for (int i = 0; i < count; i++) {
+                float d = (float) (px[i] - mean);
+                zeroMean[i] = d;
+                sq += (double) d * d;
+            }
+            this.norm = Math.sqrt(sq);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import org.junit.Assume;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebElement;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * TemplateMatcher 오프라인 검증 (디바이스/Appium 서버 불필요)
+ * - src/test/resources/images 템플릿을 합성 화면에 붙여넣고 중앙 좌표 일치 확인
+ * - 해상도가 다른 단말(0.8배)에서 다중 배율 탐색 + 배율 캐시 확인, 원본 크기(1.0) 후보 포함
+ * - 반복 매칭으로 탐색 영역 학습 확인, 학습 후 미스는 연속 미스가 쌓여야 넓게 탐색
+ * - 다중 템플릿 판별: 스크린샷 1장으로 전체 판별, 타임아웃 시 빈 리스트 (가짜 스크린샷 드라이버)
+ * - build/reports/evidence 스크린샷이 있으면 잘라낸 영역을 다시 찾는지 확인
+ */
+public class TemplateMatcherTest {
+
+    private static final int SCREEN_WIDTH = 2400;
+    private static final int SCREEN_HEIGHT = 1080;
+    private static final String POPUP_MARKER = "images/settings_popup_marker.png";  // 선언 영역 없음
+    private static final String ETC_BUTTON = "images/etc_button.png";               // 선언 영역 없음
+    private static final String LOGO = "images/target_logo.png";
+
+    /**
+     * 같은 PNG를 반복 반환하는 가짜 스크린샷 드라이버 (명령 횟수 기록)
+     */
+    private static final class FakeScreenshots implements TakesScreenshot, SearchContext {
+        final List<String> commands = new ArrayList<>();
+        final byte[] png;
+        long now;
+
+        FakeScreenshots(byte[] png) {
+            this.png = png;
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            commands.add("screenshot");
+            return target.convertFromPngBytes(png);
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            commands.add("findElements");
+            return List.of();
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            throw new AssertionError("판별은 findElement(암시적 대기 적용)를 쓰지 않음");
+        }
+
+        ImageProbe probe(boolean local) {
+            return new ImageProbe(this, this, null, local, () -> now, ms -> now += ms);
+        }
+    }
+
+    @Test
+    public void findsEveryTemplateAtPastedLocation() throws Exception {
+        Random random = new Random(42);
+
+        for (String resourcePath : TemplateRegistry.declaredResources()) {
+            BufferedImage template = ImageIO.read(new ByteArrayInputStream(
+                    TemplateRegistry.get(resourcePath).getBytes()));
+
+            int x = random.nextInt(SCREEN_WIDTH - template.getWidth());
+            int y = random.nextInt(SCREEN_HEIGHT - template.getHeight());
+            BufferedImage screen = noiseScreen(random);
+            paste(screen, template, x, y);
+
+            ImageMatch match = TemplateMatcher.match(
+                    GrayImage.fromBufferedImage(screen), TemplateRegistry.gray(resourcePath), 0.9);
+
+            assertNotNull("템플릿 미발견: " + resourcePath, match);
+            Point expected = new Point(x + template.getWidth() / 2, y + template.getHeight() / 2);
+            assertEquals("중앙 좌표 불일치: " + resourcePath, expected, match.getCenter());
+            assertTrue("점수 부족: " + match, match.getScore() > 0.99);
+        }
+    }
+
+    @Test
+    public void rejectsTemplateThatIsNotOnScreen() {
+        GrayImage screen = GrayImage.fromBufferedImage(noiseScreen(new Random(7)));
+        GrayImage template = TemplateRegistry.gray("images/target_logo.png");
+
+        assertNull(TemplateMatcher.match(screen, template, 0.4));
+    }
+
+    @Test
+    public void windowScaleMapsCenterLikeAppium() {
+        // 스크린샷 1200x540, 화면 2400x1080 → 좌표 2배
+        ImageMatch raw = new ImageMatch("images/etc_button.png", 100, 50, 40, 20, 0.95);
+        ScreenFrame frame = new ScreenFrame(new GrayImage(1200, 540, new float[1200 * 540]),
+                new Dimension(2400, 1080));
+
+        assertEquals(new Point(240, 120), frame.toWindow(raw).getCenter());
+    }
+
+    @Test
+    public void locateFindsTemplateOnSmallerDeviceAndCachesScale() throws Exception {
+        // 기준(3120px) 대비 0.8배 해상도 단말: 2496x1152 화면에 0.8배 템플릿 배치
+        String resourcePath = "images/download_complete_button.png";
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(
+                TemplateRegistry.get(resourcePath).getBytes()));
+        BufferedImage shrunk = resize(original, 0.8);
+
+        BufferedImage screen = noiseScreen(new Random(3), 2496, 1152);
+        paste(screen, shrunk, 1900, 950);
+        ScreenFrame frame = new ScreenFrame(GrayImage.fromBufferedImage(screen), new Dimension(2496, 1152));
+
+        MatchScaleCache.clear();
+        ImageMatch first = ImageAssert.locate(frame, resourcePath);
+        assertNotNull(first);
+        assertEquals(0.8, first.getTemplateScale(), 1e-9);
+        assertEquals(0.8, MatchScaleCache.get(resourcePath, new Dimension(2496, 1152)), 1e-9);
+
+        // 두 번째 탐색은 캐시 배율 하나만 사용해도 같은 중앙 좌표
+        ImageMatch second = ImageAssert.locate(frame, resourcePath);
+        assertNotNull(second);
+        assertEquals(first.getCenter(), second.getCenter());
+        assertEquals(new Point(1900 + shrunk.getWidth() / 2, 950 + shrunk.getHeight() / 2), second.getCenter());
+    }
+
+    @Test
+    public void nativeSizeIsAlwaysTriedOnNonReferenceDevice() throws Exception {
+        // 2400px 단말(기준 배율 0.77)에서 캡처한 템플릿 = 화면에 원본 크기로 존재
+        String resourcePath = "images/settings_button.png";
+        BufferedImage template = ImageIO.read(new ByteArrayInputStream(
+                TemplateRegistry.get(resourcePath).getBytes()));
+        BufferedImage screen = noiseScreen(new Random(9));
+        paste(screen, template, 1000, 500);
+        ScreenFrame frame = new ScreenFrame(GrayImage.fromBufferedImage(screen), new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT));
+
+        double[] scales = MatchScaleCache.candidateScales(resourcePath, frame.getImageSize());
+        assertEquals("기준 배율 후보 + 원본 크기", AppiumConfig.TEMPLATE_SCALE_STEPS.length + 1, scales.length);
+        assertEquals(1.0, scales[scales.length - 1], 1e-9);
+
+        MatchScaleCache.clear();
+        SearchRegions.clear();
+        ImageMatch match = ImageAssert.locate(frame, resourcePath);
+        assertNotNull(match);
+        assertEquals(1.0, match.getTemplateScale(), 1e-9);
+        assertEquals(new Point(1000 + template.getWidth() / 2, 500 + template.getHeight() / 2), match.getCenter());
+
+        // 기준 해상도 단말에서는 기준 배율이 곧 1.0 → 중복 없음
+        assertEquals(AppiumConfig.TEMPLATE_SCALE_STEPS.length,
+                MatchScaleCache.candidateScales(resourcePath, new Dimension(3120, 1440)).length);
+    }
+
+    @Test
+    public void learnsSearchRegionFromRepeatedMatches() throws Exception {
+        String resourcePath = "images/settings_popup_marker.png";  // 선언 영역 없음 → 전체 화면 탐색
+        BufferedImage template = ImageIO.read(new ByteArrayInputStream(
+                TemplateRegistry.get(resourcePath).getBytes()));
+        BufferedImage screen = noiseScreen(new Random(5), 3120, 1440);
+        paste(screen, template, 600, 300);
+        ScreenFrame frame = new ScreenFrame(GrayImage.fromBufferedImage(screen), new Dimension(3120, 1440));
+        Dimension size = frame.getImageSize();
+
+        SearchRegions.clear();
+        for (int i = 0; i < 3; i++) {
+            assertNull("표본 부족 시 학습 영역 없음", SearchRegions.learned(resourcePath, size));
+            assertNotNull(ImageAssert.locate(frame, resourcePath));
+        }
+
+        Rectangle learned = SearchRegions.learned(resourcePath, size);
+        assertNotNull(learned);
+        assertTrue("학습 영역이 매칭 위치를 포함해야 함", learned.contains(600, 300, template.getWidth(), template.getHeight()));
+        assertTrue("학습 영역은 화면의 10% 미만", learned.width * learned.height < 0.1 * 3120 * 1440);
+
+        ImageMatch match = ImageAssert.locate(frame, resourcePath);
+        assertEquals(new Point(600 + template.getWidth() / 2, 300 + template.getHeight() / 2), match.getCenter());
+    }
+
+    @Test
+    public void learnedRegionMissWidensOnlyAfterRepeatedMisses() throws Exception {
+        String resourcePath = "images/settings_popup_marker.png";
+        BufferedImage template = ImageIO.read(new ByteArrayInputStream(
+                TemplateRegistry.get(resourcePath).getBytes()));
+        BufferedImage before = noiseScreen(new Random(5), 3120, 1440);
+        paste(before, template, 600, 300);
+        BufferedImage moved = noiseScreen(new Random(6), 3120, 1440);
+        paste(moved, template, 2200, 1100);
+        ScreenFrame learnFrame = new ScreenFrame(GrayImage.fromBufferedImage(before), new Dimension(3120, 1440));
+        ScreenFrame movedFrame = new ScreenFrame(GrayImage.fromBufferedImage(moved), new Dimension(3120, 1440));
+        Dimension size = movedFrame.getImageSize();
+
+        SearchRegions.clear();
+        for (int i = 0; i < AppiumConfig.REGION_LEARN_MIN_SAMPLES; i++) {
+            assertNotNull(ImageAssert.locate(learnFrame, resourcePath));
+        }
+
+        // 학습 영역 밖으로 이동: 연속 미스가 쌓이기 전까지는 학습 영역만 탐색
+        for (int i = 1; i < AppiumConfig.REGION_WIDEN_AFTER_MISSES; i++) {
+            assertNull("미스 " + i + "회차는 전체 화면을 탐색하지 않음", ImageAssert.locate(movedFrame, resourcePath));
+        }
+        ImageMatch widened = ImageAssert.locate(movedFrame, resourcePath);
+        assertNotNull("연속 미스 후 1회 넓게 탐색", widened);
+        assertEquals(new Point(2200 + template.getWidth() / 2, 1100 + template.getHeight() / 2), widened.getCenter());
+
+        // 새 위치까지 학습 → 다음 폴링은 학습 영역에서 바로 발견
+        assertTrue(SearchRegions.learned(resourcePath, size).contains(2200, 1100, template.getWidth(), template.getHeight()));
+        assertNotNull(ImageAssert.locate(movedFrame, resourcePath));
+    }
+
+    @Test
+    public void detectsEveryVisibleTemplateFromOneScreenshot() throws Exception {
+        BufferedImage screen = noiseScreen(new Random(21), 3120, 1440);
+        BufferedImage marker = ImageIO.read(new ByteArrayInputStream(TemplateRegistry.get(POPUP_MARKER).getBytes()));
+        BufferedImage etc = ImageIO.read(new ByteArrayInputStream(TemplateRegistry.get(ETC_BUTTON).getBytes()));
+        paste(screen, marker, 600, 300);
+        paste(screen, etc, 2200, 1000);
+        FakeScreenshots driver = new FakeScreenshots(png(screen));
+
+        MatchScaleCache.clear();
+        SearchRegions.clear();
+        List<ImageMatch> matches = driver.probe(true).detect(List.of(POPUP_MARKER, LOGO, ETC_BUTTON));
+
+        assertEquals("후보 3개 = 스크린샷 1장", List.of("screenshot"), driver.commands);
+        assertEquals(2, matches.size());
+        assertTrue("점수 내림차순", matches.get(0).getScore() >= matches.get(1).getScore());
+        assertNull("화면에 없는 후보는 제외", ImageAssert.findIn(matches, LOGO));
+        assertEquals(new Point(600 + marker.getWidth() / 2, 300 + marker.getHeight() / 2),
+                ImageAssert.findIn(matches, POPUP_MARKER).getCenter());
+        assertEquals(new Point(2200 + etc.getWidth() / 2, 1000 + etc.getHeight() / 2),
+                ImageAssert.findIn(matches, ETC_BUTTON).getCenter());
+    }
+
+    @Test
+    public void waitForAnyTimesOutWithEmptyListWithinDeadline() throws Exception {
+        FakeScreenshots driver = new FakeScreenshots(png(noiseScreen(new Random(22), 3120, 1440)));
+        long timeoutMs = 2L * AppiumConfig.IMAGE_POLL_INTERVAL_MS + AppiumConfig.IMAGE_POLL_INTERVAL_MS / 2;
+
+        MatchScaleCache.clear();
+        SearchRegions.clear();
+        List<ImageMatch> matches = driver.probe(true).waitForAny(List.of(POPUP_MARKER, ETC_BUTTON), timeoutMs);
+
+        assertTrue(matches.isEmpty());
+        assertEquals("폴링마다 스크린샷 1장 (후보 수와 무관)", 3, driver.commands.size());
+        assertTrue("마감 초과 대기 없음: " + driver.now, driver.now <= timeoutMs);
+    }
+
+    @Test
+    public void serverModeDetectsWithOneFindElementsPerCandidate() throws Exception {
+        FakeScreenshots driver = new FakeScreenshots(null);
+
+        List<ImageMatch> matches = driver.probe(false).detect(List.of(POPUP_MARKER, ETC_BUTTON));
+
+        assertTrue(matches.isEmpty());
+        assertEquals("USE_LOCAL_IMAGE_MATCHING=false면 스크린샷 없이 서버 탐색",
+                List.of("findElements", "findElements"), driver.commands);
+    }
+
+    @Test
+    public void refindsRegionCroppedFromEvidenceScreenshots() throws Exception {
+        Path evidenceDir = Path.of("build", "reports", "evidence");
+        Assume.assumeTrue("저장된 증거 스크린샷 없음", Files.isDirectory(evidenceDir));
+
+        File[] shots = evidenceDir.toFile().listFiles((dir, name) -> name.endsWith(".png"));
+        Assume.assumeTrue(shots != null && shots.length > 0);
+
+        for (File shot : shots) {
+            GrayImage screen = GrayImage.decode(Files.readAllBytes(shot.toPath()));
+            int w = screen.getWidth() / 6;
+            int h = screen.getHeight() / 6;
+            int x = screen.getWidth() / 3;
+            int y = screen.getHeight() / 2;
+            GrayImage template = screen.crop(x, y, w, h);
+            if (new TemplateMatcher.PreparedTemplate(template).norm < 1.0) {
+                continue;  // 단색 영역은 위치를 특정할 수 없으므로 제외
+            }
+
+            ImageMatch match = TemplateMatcher.bestMatch(screen, template);
+            assertNotNull(shot.getName(), match);
+            assertTrue(shot.getName() + " 점수 부족: " + match, match.getScore() > 0.99);
+        }
+    }
+
+    // 무작위 잡음 배경 (실제 게임 화면처럼 단색 영역이 없는 최악 조건)
+    private static BufferedImage noiseScreen(Random random) {
+        return noiseScreen(random, SCREEN_WIDTH, SCREEN_HEIGHT);
+    }
+
+    private static BufferedImage noiseScreen(Random random, int width, int height) {
+        BufferedImage screen = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                row[x] = 0xFF000000 | random.nextInt(0x1000000);
+            }
+            screen.setRGB(0, y, width, 1, row, 0, width);
+        }
+        return screen;
+    }
+
+    private static BufferedImage resize(BufferedImage source, double scale) {
+        int w = (int) Math.round(source.getWidth() * scale);
+        int h = (int) Math.round(source.getHeight() * scale);
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = out.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, w, h, null);
+        g.dispose();
+        return out;
+    }
+
+    private static byte[] png(BufferedImage image) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    // 알파 합성 없이 픽셀 그대로 복사 (템플릿과 동일한 흑백 값 보장)
+    private static void paste(BufferedImage screen, BufferedImage template, int x, int y) {
+        int w = template.getWidth();
+        int h = template.getHeight();
+        int[] argb = template.getRGB(0, 0, w, h, null, 0, w);
+        screen.setRGB(x, y, w, h, argb, 0, w);
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.appium_android_automation.marker;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이미지 템플릿 메모리 캐시
+ * - AppiumConfig에 선언된 images/*.png를 한 번만 읽고 Base64로 인코딩해 보관
+ * - 로컬 매칭용 흑백 이미지도 최초 요청 시 한 번만 디코딩
+ * - 모든 Flow/스레드가 같은 인스턴스를 공유 (thread-safe)
+ * - 조회 hit/miss 횟수를 집계해 캐시 효율 확인
+ */
+public final class TemplateRegistry {
+
+    private static final String IMAGE_PREFIX = "images/";
+    private static final String IMAGE_SUFFIX = ".png";
+
+    private static final Map<String, Template> CACHE = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private static volatile boolean preloaded = false;
+
+    private TemplateRegistry() {
+    }
+
+    /**
+     * 캐시된 템플릿 한 건 (원본 PNG 바이트 + Base64 문자열)
+     */
+    public static final class Template {
+        private final String resourcePath;
+        private final byte[] bytes;
+        private final String base64;
+        private volatile GrayImage gray;
+        private final Map<Double, GrayImage> scaledGrays = new ConcurrentHashMap<>();
+
+        private Template(String resourcePath, byte[] bytes) {
+            this.resourcePath = resourcePath;
+            this.bytes = bytes;
+            this.base64 = Base64.getEncoder().encodeToString(bytes);
+        }
+
+        public String getResourcePath() {
+            return resourcePath;
+        }
+
+        // 원본 바이트는 공유 객체이므로 복사본 반환
+        public byte[] getBytes() {
+            return bytes.clone();
+        }
+
+        public String getBase64() {
+            return base64;
+        }
+
+        // 로컬 매칭용 흑백 이미지 (최초 요청 시 한 번만 디코딩)
+        public GrayImage getGray() {
+            GrayImage g = gray;
+            if (g == null) {
+                g = GrayImage.decode(bytes);
+                gray = g;
+            }
+            return g;
+        }
+
+        // 배율 적용된 흑백 템플릿 (배율별로 한 번만 생성)
+        public GrayImage getGray(double scale) {
+            if (Math.abs(scale - 1.0) < 1e-9) {
+                return getGray();
+            }
+            return scaledGrays.computeIfAbsent(scale, sc -> getGray().resize(sc));
+        }
+    }
+
+    // 템플릿 조회 (캐시에 없으면 로드 후 저장)
+    public static Template get(String resourcePath) {
+        ensurePreloaded();
+
+        Template cached = CACHE.get(resourcePath);
+        if (cached != null) {
+            HITS.increment();
+            return cached;
+        }
+
+        MISSES.increment();
+        return CACHE.computeIfAbsent(resourcePath, TemplateRegistry::load);
+    }
+
+    // Appium AppiumBy.image()에 넘길 Base64 문자열 반환
+    public static String base64(String resourcePath) {
+        return get(resourcePath).getBase64();
+    }
+
+    // 로컬 매칭용 흑백 템플릿 반환
+    public static GrayImage gray(String resourcePath) {
+        return get(resourcePath).getGray();
+    }
+
+    /**
+     * AppiumConfig에 선언된 모든 images/*.png 템플릿을 미리 로드합니다.
+     * - 최초 1회만 실행 (이후 호출은 무시)
+     * - 선언되었지만 파일이 없는 리소스는 경고만 출력하고 건너뜀
+     */
+    public static void preload() {
+        if (preloaded) {
+            return;
+        }
+        synchronized (TemplateRegistry.class) {
+            if (preloaded) {
+                return;
+            }
+            int loaded = 0;
+            for (String resourcePath : declaredResources()) {
+                try {
+                    CACHE.computeIfAbsent(resourcePath, TemplateRegistry::load);
+                    loaded++;
+                } catch (IllegalStateException e) {
+                    System.err.println("[IMG] 템플릿 사전 로드 실패: " + e.getMessage());
+                }
+            }
+            preloaded = true;
+            System.out.println("[IMG] 템플릿 사전 로드 완료: " + loaded + "개");
+        }
+    }
+
+    // AppiumConfig의 public static final String 중 images/*.png 경로만 수집 (중복 제거)
+    static TreeSet<String> declaredResources() {
+        TreeSet<String> resources = new TreeSet<>();
+        for (Field field : AppiumConfig.class.getFields()) {
+            int mod = field.getModifiers();
+            if (!Modifier.isStatic(mod) || field.getType() != String.class) {
+                continue;
+            }
+            try {
+                String value = (String) field.get(null);
+                if (value != null && value.startsWith(IMAGE_PREFIX) && value.endsWith(IMAGE_SUFFIX)) {
+                    resources.add(value);
+                }
+            } catch (IllegalAccessException ignored) {
+                // public 필드만 조회하므로 발생하지 않음
+            }
+        }
+        return resources;
+    }
+
+    public static long hitCount() {
+        return HITS.sum();
+    }
+
+    public static long missCount() {
+        return MISSES.sum();
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+
+    // 캐시 통계 콘솔 출력 (디버깅용)
+    public static void printStats() {
+        long hits = hitCount();
+        long misses = missCount();
+        long total = hits + misses;
+        double ratio = total == 0 ? 0.0 : hits * 100.0 / total;
+
+        System.out.println("[IMG] 템플릿 캐시: " + size() + "개 보관, hit=" + hits +
+                ", miss=" + misses + " (적중률 " + String.format("%.1f", ratio) + "%)");
+    }
+
+    private static void ensurePreloaded() {
+        if (!preloaded) {
+            preload();
+        }
+    }
+
+    // 클래스패스에서 리소스를 읽어 Template 생성 (스트림은 반드시 닫음)
+    private static Template load(String resourcePath) {
+        try (InputStream in = TemplateRegistry.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new IllegalStateException("이미지 리소스 없음: " + resourcePath);
+            }
+            return new Template(resourcePath, in.readAllBytes());
+        } catch (IOException e) {
+            throw new IllegalStateException("이미지 리소스 읽기 실패: " + resourcePath, e);
+        }
+    }
+}
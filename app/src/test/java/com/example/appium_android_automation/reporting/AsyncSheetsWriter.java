@@ -0,0 +1,202 @@
+package com.example.appium_android_automation.reporting;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import com.google.api.services.sheets.v4.model.ValueRange;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 일괄(batch) Sheets 기록기
+ * - 테스트 스레드는 큐에 넣고 즉시 반환 (네트워크 대기 없음)
+ * - 백그라운드 스레드가 여러 결과를 하나의 batchUpdate로 묶어 전송
+ *   (SHEETS_BATCH_MAX개가 모이거나 SHEETS_FLUSH_INTERVAL_MS가 지나면 전송)
+ * - 같은 셀에 여러 번 기록하면 마지막 값만 전송
+ * - 실패 시 지수 backoff로 재시도, JVM 종료 시 남은 결과 전송
+ */
+public class AsyncSheetsWriter implements AutoCloseable {
+
+    // 큐 항목: 셀 기록 요청 또는 flush 요청
+    private static final class Item {
+        final String range;
+        final Object value;
+        final CompletableFuture<Void> flushed;
+
+        Item(String range, Object value, CompletableFuture<Void> flushed) {
+            this.range = range;
+            this.value = value;
+            this.flushed = flushed;
+        }
+    }
+
+    private final SheetsTransport transport;
+    private final String spreadsheetId;
+    private final int batchMax;
+    private final long flushIntervalMs;
+    private final int maxRetries;
+    private final long backoffMs;
+
+    private final BlockingQueue<Item> queue = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    private final AtomicInteger batches = new AtomicInteger();
+    private final AtomicInteger cells = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public AsyncSheetsWriter(SheetsTransport transport, String spreadsheetId) {
+        this(transport, spreadsheetId, AppiumConfig.SHEETS_BATCH_MAX, AppiumConfig.SHEETS_FLUSH_INTERVAL_MS,
+                AppiumConfig.SHEETS_MAX_RETRIES, AppiumConfig.SHEETS_RETRY_BACKOFF_MS);
+    }
+
+    public AsyncSheetsWriter(SheetsTransport transport, String spreadsheetId, int batchMax,
+                             long flushIntervalMs, int maxRetries, long backoffMs) {
+        this.transport = transport;
+        this.spreadsheetId = spreadsheetId;
+        this.batchMax = batchMax;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxRetries = maxRetries;
+        this.backoffMs = backoffMs;
+        this.worker = new Thread(this::runWorker, "sheets-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    // 셀 기록 요청 (즉시 반환)
+    public void submit(String range, Object value) {
+        if (closed) {
+            throw new IllegalStateException("이미 종료된 기록기입니다");
+        }
+        queue.add(new Item(range, value, null));
+    }
+
+    /**
+     * 지금까지 요청된 기록이 전송될 때까지 대기
+     *
+     * @return 시간 내 전송 완료 시 true
+     */
+    public boolean flush(long timeoutMs) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Item(null, null, done));
+        try {
+            done.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            System.err.println("[Report] flush 대기 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 남은 결과 전송 후 종료
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush(AppiumConfig.SHEETS_SHUTDOWN_FLUSH_MS);
+        closed = true;
+        worker.interrupt();
+    }
+
+    public int getBatchCount() {
+        return batches.get();
+    }
+
+    public int getCellCount() {
+        return cells.get();
+    }
+
+    public int getFailureCount() {
+        return failures.get();
+    }
+
+    private void runWorker() {
+        Map<String, Object> pending = new LinkedHashMap<>();
+        List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        long deadline = 0;
+
+        while (!closed || !queue.isEmpty()) {
+            Item item;
+            try {
+                long wait = pending.isEmpty() ? flushIntervalMs : Math.max(0, deadline - System.currentTimeMillis());
+                item = queue.poll(wait, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                if (closed) {
+                    break;
+                }
+                continue;
+            }
+
+            if (item != null) {
+                if (item.flushed != null) {
+                    waiters.add(item.flushed);
+                } else {
+                    if (pending.isEmpty()) {
+                        deadline = System.currentTimeMillis() + flushIntervalMs;
+                    }
+                    pending.remove(item.range);  // 같은 셀은 마지막 값으로 (순서도 최신으로)
+                    pending.put(item.range, item.value);
+                }
+            }
+
+            boolean due = !pending.isEmpty() && System.currentTimeMillis() >= deadline;
+            if (pending.size() >= batchMax || due || !waiters.isEmpty()) {
+                sendWithRetry(pending);
+                pending.clear();
+                waiters.forEach(w -> w.complete(null));
+                waiters.clear();
+            }
+        }
+    }
+
+    private void sendWithRetry(Map<String, Object> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ValueRange> data = new ArrayList<>();
+        for (Map.Entry<String, Object> e : pending.entrySet()) {
+            data.add(new ValueRange().setRange(e.getKey()).setValues(List.of(List.of(e.getValue()))));
+        }
+
+        long delay = backoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long t0 = System.nanoTime();
+                try {
+                    transport.batchUpdate(spreadsheetId, data);
+                } finally {
+                    Metrics.recordNanos("sheets.batchUpdate", System.nanoTime() - t0);
+                }
+                batches.incrementAndGet();
+                cells.addAndGet(data.size());
+                System.out.println("[Report] batchUpdate " + data.size() + "개 셀 기록 완료" +
+                        (attempt > 1 ? " (재시도 " + (attempt - 1) + "회)" : ""));
+                return;
+            } catch (Exception e) {
+                if (attempt > maxRetries) {
+                    failures.incrementAndGet();
+                    System.err.println("[Report] batchUpdate 최종 실패 (" + data.size() + "개 셀 " +
+                            pending.keySet() + "): " + e.getMessage());
+                    return;
+                }
+                System.err.println("[Report] batchUpdate 실패 → " + delay + "ms 후 재시도: " + e.getMessage());
+                try {
+                    Metrics.sleep("sleep.sheetsBackoff", delay);
+                } catch (InterruptedException ie) {
+                    // 종료 중이어도 남은 재시도는 계속 (결과 유실 방지)
+                }
+                delay *= 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.appium_android_automation.reporting;
+
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * AsyncSheetsWriter 검증 - 로컬 가짜 Sheets 전송 계층 (네트워크 불필요)
+ */
+public class AsyncSheetsWriterTest {
+
+    // batchUpdate 호출 기록 + 지정 횟수만큼 실패 + 호출당 지연 (gate를 닫으면 열릴 때까지 전송이 멈춤, 성공 시 sent 감소)
+    private static final class FakeTransport implements SheetsTransport {
+        final List<List<ValueRange>> batches = new ArrayList<>();
+        final AtomicInteger failuresLeft;
+        final long latencyMs;
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch sent = new CountDownLatch(1);
+        volatile CountDownLatch gate = new CountDownLatch(0);
+
+        FakeTransport(int failures, long latencyMs) {
+            this.failuresLeft = new AtomicInteger(failures);
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public void batchUpdate(String spreadsheetId, List<ValueRange> data) throws Exception {
+            entered.countDown();
+            gate.await();
+            synchronized (this) {
+                Thread.sleep(latencyMs);
+                if (failuresLeft.getAndDecrement() > 0) {
+                    throw new IOException("503 Service Unavailable");
+                }
+                batches.add(new ArrayList<>(data));
+            }
+            sent.countDown();
+        }
+
+        synchronized int batchCount() {
+            return batches.size();
+        }
+
+        synchronized Map<String, Object> cells() {
+            Map<String, Object> cells = new TreeMap<>();
+            batches.forEach(b -> b.forEach(v -> cells.put(v.getRange(), v.getValues().get(0).get(0))));
+            return cells;
+        }
+    }
+
+    @Test
+    public void resultsAreCoalescedIntoOneBatchWithoutBlockingCaller() throws Exception {
+        FakeTransport transport = new FakeTransport(0, 0);
+        transport.gate = new CountDownLatch(1);
+        try (AsyncSheetsWriter writer = new AsyncSheetsWriter(transport, "sheet", 7, 60_000, 3, 10)) {
+            for (int tc = 1; tc <= 7; tc++) {
+                writer.submit("checklist!G" + (tc + 3), "Pass");
+            }
+            assertTrue("7건이 모이면 전송 시작", transport.entered.await(5, TimeUnit.SECONDS));
+
+            // 전송이 멈춰 있는 동안에도 제출은 바로 반환
+            writer.submit("checklist!G11", "Block");
+            assertEquals("아직 전송 완료 전", 0, transport.batchCount());
+
+            transport.gate.countDown();
+            assertTrue(writer.flush(5000));
+            assertEquals(2, transport.batchCount());
+            assertEquals(7, transport.batches.get(0).size());
+        }
+    }
+
+    @Test
+    public void sameCellKeepsLastValue() {
+        FakeTransport transport = new FakeTransport(0, 0);
+        try (AsyncSheetsWriter writer = new AsyncSheetsWriter(transport, "sheet", 20, 200, 3, 10)) {
+            writer.submit("checklist!G10", "Fail");
+            writer.submit("checklist!G10", "Pass");
+            writer.flush(5000);
+
+            assertEquals(1, writer.getCellCount());
+            assertEquals("Pass", transport.cells().get("checklist!G10"));
+        }
+    }
+
+    @Test
+    public void sizeThresholdSplitsBatches() {
+        FakeTransport transport = new FakeTransport(0, 0);
+        try (AsyncSheetsWriter writer = new AsyncSheetsWriter(transport, "sheet", 3, 60_000, 3, 10)) {
+            for (int i = 0; i < 7; i++) {
+                writer.submit("checklist!G" + (i + 4), "Pass");
+            }
+            writer.flush(5000);
+
+            assertEquals(7, transport.cells().size());
+            assertEquals(3, transport.batches.size());   // 3 + 3 + flush 시 1
+        }
+    }
+
+    @Test
+    public void timeThresholdSendsWithoutFlush() throws Exception {
+        FakeTransport transport = new FakeTransport(0, 0);
+        try (AsyncSheetsWriter writer = new AsyncSheetsWriter(transport, "sheet", 20, 100, 3, 10)) {
+            writer.submit("checklist!G4", "Pass");
+
+            assertTrue("flush 없이 시간 임계값으로 전송", transport.sent.await(5, TimeUnit.SECONDS));
+            assertEquals(1, transport.batchCount());
+            assertEquals("Pass", transport.cells().get("checklist!G4"));
+        }
+    }
+
+    @Test
+    public void transientFailuresAreRetriedWithBackoff() {
+        FakeTransport transport = new FakeTransport(2, 0);
+        try (AsyncSheetsWriter writer = new AsyncSheetsWriter(transport, "sheet", 20, 100, 3, 10)) {
+            writer.submit("checklist!G4", "Pass");
+            writer.flush(5000);
+
+            assertEquals("Pass", transport.cells().get("checklist!G4"));
+            assertEquals(0, writer.getFailureCount());
+        }
+    }
+
+    @Test
+    public void closeFlushesPendingResults() {
+        FakeTransport transport = new FakeTransport(0, 50);
+        AsyncSheetsWriter writer = new AsyncSheetsWriter(transport, "sheet", 20, 60_000, 3, 10);
+        writer.submit("checklist!G4", "Pass");
+        writer.submit("checklist!G5", "Block");
+
+        writer.close();
+
+        assertEquals(2, transport.cells().size());
+    }
+
+    @Test
+    public void reporterMapsTcNumberToResultCellAndBatchesSyncWrites() throws Exception {
+        FakeTransport transport = new FakeTransport(0, 0);
+        ChecklistReporter reporter = new ChecklistReporter(null, transport, "reporter-test", "checklist", true);
+        reporter.writeTCResult(1, "Pass");
+        reporter.writeTCResult(7, "Fail");
+        assertTrue(reporter.flush());
+        assertEquals("Pass", transport.cells().get("checklist!G4"));
+        assertEquals("Fail", transport.cells().get("checklist!G10"));
+
+        FakeTransport syncTransport = new FakeTransport(0, 0);
+        ChecklistReporter sync = new ChecklistReporter(null, syncTransport, "reporter-sync", "checklist", false);
+        sync.writeBatchResults(Map.of(2, "Pass", 3, "Pass", 4, "Fail"));
+        assertEquals("일괄 기록은 HTTP 1회", 1, syncTransport.batches.size());
+    }
+}
@@ -1,51 +1,108 @@
 package com.example.appium_android_automation.reporting;
 
+import com.example.appium_android_automation.infra.AppiumConfig;
 import com.google.api.services.sheets.v4.Sheets;
 import com.google.api.services.sheets.v4.model.ValueRange;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Google Sheets 테스트 결과 기록
  * - TC 번호 기반 동적 셀 주소 계산 및 결과 기록
+ * - SHEETS_ASYNC_REPORTING: 결과를 큐에 넣고 백그라운드에서 batchUpdate로 묶어 전송 (AsyncSheetsWriter)
  */
 public class ChecklistReporter {
 
+    // 스프레드시트별 비동기 기록기 (테스트마다 새 리포터가 생겨도 큐/스레드는 프로세스당 1개)
+    private static final Map<String, AsyncSheetsWriter> WRITERS = new ConcurrentHashMap<>();
+
     private final Sheets sheets;
+    private final SheetsTransport transport;
     private final String spreadsheetId;
     private final String sheetName;
+    private final AsyncSheetsWriter writer;
 
     // 스프레드시트 구조 상수
     private static final String RESULT_COLUMN = "G";  // Result 컬럼
     private static final int HEADER_ROWS = 3;         // 제목 + 헤더 행 수
 
     public ChecklistReporter(Sheets sheets, String spreadsheetId, String sheetName) {
+        this(sheets, SheetsTransport.of(sheets), spreadsheetId, sheetName, AppiumConfig.SHEETS_ASYNC_REPORTING);
+    }
+
+    // 전송 계층 지정 (테스트: 가짜 SheetsTransport)
+    ChecklistReporter(Sheets sheets, SheetsTransport transport, String spreadsheetId, String sheetName, boolean async) {
         this.sheets = sheets;
+        this.transport = transport;
         this.spreadsheetId = spreadsheetId;
         this.sheetName = sheetName;
+        this.writer = async ? sharedWriter(transport, spreadsheetId) : null;
     }
 
     // TC 번호 기반 결과 기록 (TC01 → G3, TC02 → G4)
     public void writeTCResult(int tcNo, String result) throws Exception {
-        int rowNumber = tcNo + HEADER_ROWS;
-        String cellAddress = RESULT_COLUMN + rowNumber;
+        String cellAddress = cellAddress(tcNo);
         String range = sheetName + "!" + cellAddress;
 
+        if (writer != null) {
+            writer.submit(range, result);
+            System.out.println("[Report] TC" + String.format("%02d", tcNo) +
+                    " → " + cellAddress + " 기록 예약: " + result);
+            return;
+        }
+
         ValueRange body = new ValueRange().setValues(List.of(List.of(result)));
 
-        sheets.spreadsheets().values()
+        Metrics.timeChecked("sheets.update", () -> sheets.spreadsheets().values()
                 .update(spreadsheetId, range, body)
                 .setValueInputOption("RAW")
-                .execute();
+                .execute());
 
         System.out.println("[Report] TC" + String.format("%02d", tcNo) +
                 " → " + cellAddress + " 기록 완료: " + result);
     }
 
-    // 여러 TC 결과 일괄 기록
-    public void writeBatchResults(java.util.Map<Integer, String> results) throws Exception {
+    // 여러 TC 결과 일괄 기록 (batchUpdate 1회)
+    public void writeBatchResults(Map<Integer, String> results) throws Exception {
+        if (writer != null) {
+            for (var entry : results.entrySet()) {
+                writeTCResult(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        List<ValueRange> data = new ArrayList<>();
         for (var entry : results.entrySet()) {
-            writeTCResult(entry.getKey(), entry.getValue());
+            data.add(new ValueRange()
+                    .setRange(sheetName + "!" + cellAddress(entry.getKey()))
+                    .setValues(List.of(List.of(entry.getValue()))));
         }
+        Metrics.timeChecked("sheets.batchUpdate", () -> {
+            transport.batchUpdate(spreadsheetId, data);
+            return null;
+        });
+        System.out.println("[Report] " + data.size() + "개 TC 일괄 기록 완료");
+    }
+
+    /**
+     * 예약된 결과가 모두 전송될 때까지 대기 (동기 모드에서는 즉시 true)
+     */
+    public boolean flush() {
+        return writer == null || writer.flush(AppiumConfig.SHEETS_SHUTDOWN_FLUSH_MS);
+    }
+
+    private String cellAddress(int tcNo) {
+        return RESULT_COLUMN + (tcNo + HEADER_ROWS);
+    }
+
+    // 스프레드시트별 공유 기록기 (JVM 종료 시 남은 결과 전송)
+    private static AsyncSheetsWriter sharedWriter(SheetsTransport transport, String spreadsheetId) {
+        return WRITERS.computeIfAbsent(spreadsheetId, id -> {
+            AsyncSheetsWriter w = new AsyncSheetsWriter(transport, id);
+            Runtime.getRuntime().addShutdownHook(new Thread(w::close, "sheets-writer-shutdown"));
+            return w;
+        });
     }
 
     // 편의 메서드 (하위 호환성, 선택적 사용)
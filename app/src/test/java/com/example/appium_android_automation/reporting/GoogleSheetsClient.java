@@ -15,6 +15,7 @@ import java.util.List;
 /**
  * Google Sheets API 클라이언트 생성
  * - Service Account 인증 기반 Sheets 서비스 생성
+ * - shared(): 프로세스 전체에서 1개만 생성해 재사용 (HTTP 연결 풀 + OAuth 토큰 캐시 공유, 스레드 안전)
  */
 public class GoogleSheetsClient {
 
@@ -27,24 +28,37 @@ public class GoogleSheetsClient {
      */
     private static final String SERVICE_ACCOUNT_RESOURCE = "credentials/google-service-account.json";
 
-    // Service Account 인증으로 Sheets 서비스 생성
+    private static volatile Sheets shared;
+
+    /**
+     * 공유 Sheets 서비스 (최초 호출 시 1회 생성)
+     * - 병렬 워커가 동시에 호출해도 한 번만 생성됨
+     * - 생성 실패 시 캐시하지 않음 (다음 호출에서 다시 시도)
+     */
+    public static Sheets shared() throws Exception {
+        Sheets sheets = shared;
+        if (sheets == null) {
+            synchronized (GoogleSheetsClient.class) {
+                sheets = shared;
+                if (sheets == null) {
+                    long t0 = System.currentTimeMillis();
+                    sheets = createSheetsService();
+                    shared = sheets;
+                    System.out.println("[Report] Sheets 클라이언트 생성 (" + (System.currentTimeMillis() - t0) + "ms, 이후 재사용)");
+                }
+            }
+        }
+        return sheets;
+    }
+
+    // Service Account 인증으로 Sheets 서비스 생성 (호출할 때마다 새 전송 계층/인증 - shared() 사용 권장)
     // 성공 시: 인증된 Sheets 객체, 실패 시: Exception
     public static Sheets createSheetsService() throws Exception {
         // 신뢰할 수 있는 HTTP 전송 계층 생성
-        final NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+        final NetHttpTransport httpTransport = newTransport();
 
         // Service Account 인증 키 파일 로드
-        InputStream in = GoogleSheetsClient.class.getClassLoader().getResourceAsStream(SERVICE_ACCOUNT_RESOURCE);
-        if (in == null) {
-            throw new IllegalStateException(
-                    "Service account json not found: " + SERVICE_ACCOUNT_RESOURCE +
-                            "\n확인 필요: app/src/test/resources/credentials/google-service-account.json"
-            );
-        }
-
-        // SPREADSHEETS 스코프로 읽기/쓰기 권한 설정
-        GoogleCredentials credentials = GoogleCredentials.fromStream(in)
-                .createScoped(List.of(SheetsScopes.SPREADSHEETS));
+        GoogleCredentials credentials = loadCredentials();
 
         HttpRequestInitializer requestInitializer = new HttpCredentialsAdapter(credentials);
 
@@ -53,4 +67,27 @@ public class GoogleSheetsClient {
                 .setApplicationName(APPLICATION_NAME)
                 .build();
     }
-}
\ No newline at end of file
+
+    // 신뢰 인증서 저장소를 로드한 HTTP 전송 계층 (생성 비용 측정: bench/SheetsClientBenchmark)
+    public static NetHttpTransport newTransport() throws Exception {
+        return GoogleNetHttpTransport.newTrustedTransport();
+    }
+
+    // SPREADSHEETS 스코프로 읽기/쓰기 권한 설정
+    static GoogleCredentials loadCredentials() throws Exception {
+        try (InputStream in = GoogleSheetsClient.class.getClassLoader().getResourceAsStream(SERVICE_ACCOUNT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(
+                        "Service account json not found: " + SERVICE_ACCOUNT_RESOURCE +
+                                "\n확인 필요: app/src/test/resources/credentials/google-service-account.json"
+                );
+            }
+            return GoogleCredentials.fromStream(in)
+                    .createScoped(List.of(SheetsScopes.SPREADSHEETS));
+        }
+    }
+
+    static boolean hasCredentials() {
+        return GoogleSheetsClient.class.getClassLoader().getResource(SERVICE_ACCOUNT_RESOURCE) != null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.appium_android_automation.reporting;
+
+import com.google.api.services.sheets.v4.Sheets;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * GoogleSheetsClient.shared() 검증 - 인증 키 파일이 있을 때만 실행 (없으면 건너뜀)
+ * - 생성 비용 비교(테스트마다 생성 vs 공유)는 bench/SheetsClientBenchmark
+ */
+public class GoogleSheetsClientTest {
+
+    @Test
+    public void concurrentWorkersGetSameInstance() throws Exception {
+        Assume.assumeTrue("인증 키 파일 없음 - 건너뜀", GoogleSheetsClient.hasCredentials());
+
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Sheets>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(workers.submit(GoogleSheetsClient::shared));
+            }
+            Sheets first = futures.get(0).get();
+            for (Future<Sheets> f : futures) {
+                assertSame(first, f.get());
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.appium_android_automation.reporting;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 고정 크기 로그-선형 지연시간 히스토그램 (HdrHistogram 방식, 마이크로초 단위)
+ * - 0~63µs: 1µs 단위, 이후 2배 구간마다 32칸 (상대 오차 약 3% 이하)
+ * - 최대 약 2^40µs(12일)까지 기록, 초과 값은 마지막 칸
+ * - 기록은 잠금 없이 원자 연산만 사용 (여러 스레드 동시 기록 가능)
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR = 64;          // 선형 구간 칸 수
+    private static final int SUB_BUCKETS = 32;     // 2배 구간당 칸 수
+    private static final int MAX_MAGNITUDE = 34;   // 64 << 34 ≈ 1.1e12µs
+    static final int BUCKETS = LINEAR + MAX_MAGNITUDE * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void recordNanos(long nanos) {
+        recordMicros(Math.max(0, nanos / 1000));
+    }
+
+    public void recordMicros(long micros) {
+        counts.incrementAndGet(index(micros));
+        count.increment();
+        sumMicros.add(micros);
+        max.accumulate(micros);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumMicros() {
+        return sumMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return max.get();
+    }
+
+    /**
+     * 백분위수 (µs) - 해당 칸의 상한값 (실제 값보다 작게 보고하지 않음), 최대값을 넘지 않음
+     */
+    public long percentileMicros(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    // 값 → 칸 번호
+    static int index(long micros) {
+        if (micros < LINEAR) {
+            return (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros) - 5;   // micros >> magnitude ∈ [32, 64)
+        if (magnitude > MAX_MAGNITUDE) {
+            return BUCKETS - 1;
+        }
+        return LINEAR + (magnitude - 1) * SUB_BUCKETS + (int) ((micros >> magnitude) - SUB_BUCKETS);
+    }
+
+    // 칸 번호 → 그 칸에 들어가는 최대값
+    static long upperBound(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int k = index - LINEAR;
+        int magnitude = k / SUB_BUCKETS + 1;
+        long sub = k % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << magnitude) - 1;
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.appium_android_automation.reporting;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 실행 단위 지연시간/횟수 측정 레지스트리
+ * - 타이머 이름 규칙: step.* (플로우 단계), appium.* (디바이스 왕복), match.* (이미지 매칭),
+ *   sleep.* (고정/폴링 대기), sheets.* (구글 시트 기록)
+ * - JVM 종료 시 build/reports/metrics/metrics.json, metrics.prom (Prometheus 텍스트) 저장
+ * - METRICS_ENABLED=false면 측정 없이 본문만 실행
+ */
+public final class Metrics {
+
+    private static final Map<String, LatencyHistogram> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Path OUTPUT_DIR = Path.of("build", "reports", "metrics");
+
+    static {
+        if (AppiumConfig.METRICS_ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                printSummary();
+                export(OUTPUT_DIR);
+            }, "metrics-export"));
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /** 예외를 던질 수 있는 측정 대상 */
+    @FunctionalInterface
+    public interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+
+    public static LatencyHistogram timer(String name) {
+        return TIMERS.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    public static void increment(String name) {
+        if (AppiumConfig.METRICS_ENABLED) {
+            COUNTERS.computeIfAbsent(name, n -> new LongAdder()).increment();
+        }
+    }
+
+    public static void recordNanos(String name, long nanos) {
+        if (AppiumConfig.METRICS_ENABLED) {
+            timer(name).recordNanos(nanos);
+        }
+    }
+
+    // 본문 실행 시간 기록 (예외가 나도 기록)
+    public static <T> T time(String name, Supplier<T> body) {
+        long t0 = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            recordNanos(name, System.nanoTime() - t0);
+        }
+    }
+
+    public static void time(String name, Runnable body) {
+        long t0 = System.nanoTime();
+        try {
+            body.run();
+        } finally {
+            recordNanos(name, System.nanoTime() - t0);
+        }
+    }
+
+    public static <T> T timeChecked(String name, ThrowingSupplier<T> body) throws Exception {
+        long t0 = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            recordNanos(name, System.nanoTime() - t0);
+        }
+    }
+
+    // 성공/실패 단계 (실패는 {name}.fail 카운터도 증가)
+    public static boolean timed(String name, BooleanSupplier body) {
+        long t0 = System.nanoTime();
+        boolean success = false;
+        try {
+            success = body.getAsBoolean();
+            return success;
+        } finally {
+            recordNanos(name, System.nanoTime() - t0);
+            if (!success) {
+                increment(name + ".fail");
+            }
+        }
+    }
+
+    // 측정되는 대기 (어디서 얼마나 자는지 집계)
+    public static void sleep(String name, long millis) throws InterruptedException {
+        long t0 = System.nanoTime();
+        try {
+            Thread.sleep(millis);
+        } finally {
+            recordNanos(name, System.nanoTime() - t0);
+        }
+    }
+
+    // 테스트용 초기화
+    static void reset() {
+        TIMERS.clear();
+        COUNTERS.clear();
+    }
+
+    /**
+     * 이름 접두사(step/appium/match/sleep/sheets)별 총 시간 요약 출력
+     */
+    public static void printSummary() {
+        if (TIMERS.isEmpty()) {
+            return;
+        }
+        Map<String, Long> byGroup = new TreeMap<>();
+        TIMERS.forEach((name, h) -> byGroup.merge(group(name), h.getSumMicros(), Long::sum));
+        System.out.println("[Metrics] 시간 분포: " + byGroup.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue() / 1000 + "ms")
+                .reduce((a, b) -> a + ", " + b).orElse(""));
+        new TreeMap<>(TIMERS).forEach((name, h) -> System.out.println(String.format(
+                "[Metrics] %-40s n=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms", name, h.getCount(),
+                h.percentileMicros(50) / 1000.0, h.percentileMicros(95) / 1000.0,
+                h.percentileMicros(99) / 1000.0, h.getMaxMicros() / 1000.0)));
+    }
+
+    // JSON + Prometheus 텍스트 저장
+    public static void export(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("metrics.json"), toJson(), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("metrics.prom"), toPrometheus(), StandardCharsets.UTF_8);
+            System.out.println("[Metrics] 저장: " + dir.resolve("metrics.json") + ", metrics.prom");
+        } catch (IOException e) {
+            System.err.println("[Metrics] 저장 실패: " + e.getMessage());
+        }
+    }
+
+    static String toJson() {
+        StringBuilder sb = new StringBuilder("{\n  \"generatedAtMs\": ").append(System.currentTimeMillis());
+        sb.append(",\n  \"timers\": {");
+        String sep = "\n";
+        for (Map.Entry<String, LatencyHistogram> e : new TreeMap<>(TIMERS).entrySet()) {
+            LatencyHistogram h = e.getValue();
+            sb.append(sep).append("    \"").append(escape(e.getKey())).append("\": {")
+                    .append("\"count\": ").append(h.getCount())
+                    .append(", \"sumMs\": ").append(ms(h.getSumMicros()))
+                    .append(", \"p50Ms\": ").append(ms(h.percentileMicros(50)))
+                    .append(", \"p90Ms\": ").append(ms(h.percentileMicros(90)))
+                    .append(", \"p95Ms\": ").append(ms(h.percentileMicros(95)))
+                    .append(", \"p99Ms\": ").append(ms(h.percentileMicros(99)))
+                    .append(", \"maxMs\": ").append(ms(h.getMaxMicros()))
+                    .append("}");
+            sep = ",\n";
+        }
+        sb.append("\n  },\n  \"counters\": {");
+        sep = "\n";
+        for (Map.Entry<String, LongAdder> e : new TreeMap<>(COUNTERS).entrySet()) {
+            sb.append(sep).append("    \"").append(escape(e.getKey())).append("\": ").append(e.getValue().sum());
+            sep = ",\n";
+        }
+        return sb.append("\n  }\n}\n").toString();
+    }
+
+    static String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# HELP automation_latency_seconds Latency of flow steps, Appium commands, matching, sleeps and Sheets writes\n");
+        sb.append("# TYPE automation_latency_seconds summary\n");
+        for (Map.Entry<String, LatencyHistogram> e : new TreeMap<>(TIMERS).entrySet()) {
+            String label = "name=\"" + escape(e.getKey()) + "\"";
+            LatencyHistogram h = e.getValue();
+            for (double q : new double[]{0.5, 0.9, 0.95, 0.99}) {
+                sb.append("automation_latency_seconds{").append(label).append(",quantile=\"").append(q).append("\"} ")
+                        .append(seconds(h.percentileMicros(q * 100))).append('\n');
+            }
+            sb.append("automation_latency_seconds_sum{").append(label).append("} ").append(seconds(h.getSumMicros())).append('\n');
+            sb.append("automation_latency_seconds_count{").append(label).append("} ").append(h.getCount()).append('\n');
+        }
+        sb.append("# HELP automation_events_total Event counters\n");
+        sb.append("# TYPE automation_events_total counter\n");
+        for (Map.Entry<String, LongAdder> e : new TreeMap<>(COUNTERS).entrySet()) {
+            sb.append("automation_events_total{name=\"").append(escape(e.getKey())).append("\"} ")
+                    .append(e.getValue().sum()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String group(String name) {
+        int dot = name.indexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static String ms(long micros) {
+        return String.format(java.util.Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+
+    private static String seconds(long micros) {
+        return String.format(java.util.Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.appium_android_automation.reporting;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * LatencyHistogram/Metrics 검증 - 백분위 정확도, 내보내기 형식 (디바이스 불필요)
+ */
+public class MetricsTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        Metrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.reset();
+    }
+
+    @Test
+    public void bucketsCoverValuesWithBoundedRelativeError() {
+        for (long v : new long[]{0, 1, 63, 64, 65, 127, 128, 1000, 123_456, 9_999_999, 3_600_000_000L}) {
+            int index = LatencyHistogram.index(v);
+            long upper = LatencyHistogram.upperBound(index);
+            assertTrue(v + " ≤ 상한 " + upper, v <= upper);
+            assertTrue(v + " 상대 오차 " + upper, upper - v <= Math.max(0, v / 32));
+            assertTrue(index == 0 || LatencyHistogram.upperBound(index - 1) < v);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentilesMatchUniformDistribution() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int ms = 1; ms <= 1000; ms++) {
+            h.recordMicros(ms * 1000L);
+        }
+
+        assertEquals(1000, h.getCount());
+        assertEquals(1_000_000L, h.getMaxMicros());
+        assertEquals(500_000, h.percentileMicros(50), 500_000 * 0.04);
+        assertEquals(990_000, h.percentileMicros(99), 990_000 * 0.04);
+        assertEquals(1_000_000L, h.percentileMicros(100));
+        assertEquals(0, new LatencyHistogram().percentileMicros(50));
+    }
+
+    @Test
+    public void concurrentRecordingLosesNothing() throws Exception {
+        LatencyHistogram h = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    h.recordMicros(i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(80_000, h.getCount());
+        assertEquals(8L * (9_999L * 10_000 / 2), h.getSumMicros());
+    }
+
+    @Test
+    public void timedStepRecordsFailureCounter() {
+        assertFalse(Metrics.timed("step.login", () -> false));
+        assertTrue(Metrics.timed("step.login", () -> true));
+        assertThrows(IllegalStateException.class, () -> Metrics.time("appium.perform", () -> {
+            throw new IllegalStateException("device gone");
+        }));
+
+        assertEquals(2, Metrics.timer("step.login").getCount());
+        assertEquals("예외가 나도 기록", 1, Metrics.timer("appium.perform").getCount());
+        assertTrue(Metrics.toJson().contains("\"step.login.fail\": 1"));
+    }
+
+    @Test
+    public void exportWritesJsonAndPrometheusSummary() throws Exception {
+        Metrics.recordNanos("appium.getScreenshotAs", 250_000_000L);
+        Metrics.sleep("sleep.fixed", 5);
+        Metrics.increment("sheets.retry");
+
+        Path dir = tmp.getRoot().toPath();
+        Metrics.export(dir);
+
+        String json = Files.readString(dir.resolve("metrics.json"), StandardCharsets.UTF_8);
+        assertTrue(json, json.contains("\"appium.getScreenshotAs\": {\"count\": 1, \"sumMs\": 250.000"));
+        assertTrue(json, json.contains("\"sleep.fixed\""));
+
+        String prom = Files.readString(dir.resolve("metrics.prom"), StandardCharsets.UTF_8);
+        assertTrue(prom, prom.contains("# TYPE automation_latency_seconds summary"));
+        assertTrue(prom, prom.contains("automation_latency_seconds{name=\"appium.getScreenshotAs\",quantile=\"0.5\"} 0.250000"));
+        assertTrue(prom, prom.contains("automation_latency_seconds_count{name=\"appium.getScreenshotAs\"} 1"));
+        assertTrue(prom, prom.contains("automation_events_total{name=\"sheets.retry\"} 1"));
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.appium_android_automation.reporting;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import io.appium.java_client.android.AndroidDriver;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 플로우 단계별 소요시간/결과 이력 저장소 (디바이스별)
+ * - build/reports/history/steps.csv 에 한 줄씩 추가 기록 (append-only)
+ *   형식: 기록시각(ms),디바이스,단계,소요시간(ms),PASS|FAIL
+ * - 성공 이력의 p50/p95/p99로 단계별 타임아웃을 산출 (추측값 상수 대체)
+ * - 이력이 부족하거나 직전 실행이 실패했으면 AppiumConfig의 기존 타임아웃을 그대로 사용
+ *   (단축된 타임아웃으로 실패하면 성공 이력이 쌓이지 않아 영영 회복되지 않는 것을 방지)
+ */
+public class RunHistoryStore {
+
+    private static final ThreadLocal<String> DEVICE = ThreadLocal.withInitial(() -> "default");
+
+    private static Path file = Path.of("build", "reports", "history", "steps.csv");
+    private static Map<String, Deque<Long>> successes;
+    private static Map<String, Integer> failures;
+    private static Map<String, Boolean> lastFailed;
+
+    /** 단계 통계 (성공 이력 기준 백분위수, ms) */
+    public static final class StepStats {
+        public final int samples;
+        public final int failures;
+        public final long p50;
+        public final long p95;
+        public final long p99;
+
+        StepStats(int samples, int failures, long p50, long p95, long p99) {
+            this.samples = samples;
+            this.failures = failures;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+        }
+
+        @Override
+        public String toString() {
+            return "n=" + samples + " fail=" + failures +
+                    " p50=" + p50 + "ms p95=" + p95 + "ms p99=" + p99 + "ms";
+        }
+    }
+
+    // 현재 스레드의 디바이스 지정 (드라이버 생성 직후)
+    public static void setDevice(AndroidDriver driver) {
+        Object udid = driver.getCapabilities().getCapability("deviceUDID");
+        if (udid == null) {
+            udid = driver.getCapabilities().getCapability("udid");
+        }
+        setDevice(udid != null ? udid.toString() : "default");
+    }
+
+    public static void setDevice(String deviceId) {
+        DEVICE.set(deviceId.replaceAll("[,\\s]", "_"));
+    }
+
+    public static String getDevice() {
+        return DEVICE.get();
+    }
+
+    /**
+     * 단계를 실행하고 소요시간/결과를 기록합니다.
+     *
+     * @return 단계 실행 결과 그대로
+     */
+    public static boolean timed(String step, BooleanSupplier body) {
+        long start = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            success = body.getAsBoolean();
+            return success;
+        } finally {
+            Metrics.recordNanos("step." + step, System.nanoTime() - startNanos);
+            record(step, System.currentTimeMillis() - start, success);
+        }
+    }
+
+    // 단계 결과 1건 기록 (메모리 + 파일)
+    public static synchronized void record(String step, long durationMs, boolean success) {
+        ensureLoaded();
+        String device = getDevice();
+        add(device, step, durationMs, success);
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(System.currentTimeMillis() + "," + device + "," + step + "," +
+                        durationMs + "," + (success ? "PASS" : "FAIL"));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("[History] 기록 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 디바이스의 단계 통계
+     *
+     * @return 성공 이력이 없으면 null
+     */
+    public static synchronized StepStats stats(String step) {
+        ensureLoaded();
+        String key = key(getDevice(), step);
+        Deque<Long> samples = successes.get(key);
+        if (samples == null || samples.isEmpty()) {
+            return null;
+        }
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return new StepStats(sorted.size(), failures.getOrDefault(key, 0),
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99));
+    }
+
+    // 성공 이력 백분위수 (이력이 없으면 fallbackMs)
+    public static long percentileMs(String step, int percentile, long fallbackMs) {
+        StepStats s = stats(step);
+        if (s == null) {
+            return fallbackMs;
+        }
+        return percentile >= 99 ? s.p99 : percentile >= 95 ? s.p95 : s.p50;
+    }
+
+    /**
+     * 이력 기반 단계 타임아웃(초)
+     * - 성공 이력 HISTORY_MIN_SAMPLES건 이상: p99 × HISTORY_TIMEOUT_MARGIN (최소 HISTORY_MIN_TIMEOUT_SEC)
+     * - 기존 설정값보다 길어지지는 않음 (이력은 "더 빨리 포기"하는 용도)
+     * - 직전 실행이 실패했으면 설정값으로 복귀 (느려진 환경의 성공 이력을 다시 쌓기 위함)
+     */
+    public static int timeoutSec(String step, int configuredSec) {
+        StepStats s = stats(step);
+        if (s == null || s.samples < AppiumConfig.HISTORY_MIN_SAMPLES) {
+            return configuredSec;
+        }
+        if (lastFailed(step)) {
+            System.out.println("   📈 [History] " + step + " 직전 실패 → 설정 타임아웃 " + configuredSec + "초 사용");
+            return configuredSec;
+        }
+        int derived = (int) Math.ceil(s.p99 * AppiumConfig.HISTORY_TIMEOUT_MARGIN / 1000.0);
+        derived = Math.max(AppiumConfig.HISTORY_MIN_TIMEOUT_SEC, derived);
+        if (derived < configuredSec) {
+            System.out.println("   📉 [History] " + step + " 타임아웃 " + configuredSec + "초 → " + derived + "초 (" + s + ")");
+            return derived;
+        }
+        return configuredSec;
+    }
+
+    private static synchronized boolean lastFailed(String step) {
+        ensureLoaded();
+        return lastFailed.getOrDefault(key(getDevice(), step), false);
+    }
+
+    // 현재 디바이스의 전체 단계 통계 출력
+    public static synchronized void printStats() {
+        ensureLoaded();
+        String prefix = getDevice() + "|";
+        successes.keySet().stream()
+                .filter(k -> k.startsWith(prefix))
+                .sorted()
+                .forEach(k -> System.out.println("[History] " + k.substring(prefix.length()) + " " +
+                        stats(k.substring(prefix.length()))));
+    }
+
+    // 이력 파일 교체 (테스트용, 메모리 캐시 초기화)
+    static synchronized void useFile(Path path) {
+        file = path;
+        successes = null;
+        failures = null;
+        lastFailed = null;
+    }
+
+    private static double rank(int percentile, int n) {
+        return Math.ceil(percentile / 100.0 * n) - 1;
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int idx = (int) Math.max(0, rank(percentile, sorted.size()));
+        return sorted.get(Math.min(idx, sorted.size() - 1));
+    }
+
+    private static void ensureLoaded() {
+        if (successes != null) {
+            return;
+        }
+        successes = new HashMap<>();
+        failures = new HashMap<>();
+        lastFailed = new HashMap<>();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] cols = line.split(",");
+                if (cols.length != 5) {
+                    continue;
+                }
+                try {
+                    add(cols[1], cols[2], Long.parseLong(cols[3]), "PASS".equals(cols[4]));
+                } catch (NumberFormatException ignored) {
+                    // 손상된 줄은 건너뜀
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[History] 이력 읽기 실패: " + e.getMessage());
+        }
+    }
+
+    // 최근 HISTORY_WINDOW_SIZE건의 성공 이력만 유지 (실패는 횟수와 마지막 결과만)
+    private static void add(String device, String step, long durationMs, boolean success) {
+        String key = key(device, step);
+        lastFailed.put(key, !success);
+        if (!success) {
+            failures.merge(key, 1, Integer::sum);
+            return;
+        }
+        Deque<Long> samples = successes.computeIfAbsent(key, k -> new ArrayDeque<>());
+        samples.addLast(durationMs);
+        while (samples.size() > AppiumConfig.HISTORY_WINDOW_SIZE) {
+            samples.removeFirst();
+        }
+    }
+
+    private static String key(String device, String step) {
+        return device + "|" + step;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.appium_android_automation.reporting;
+
+import com.example.appium_android_automation.infra.AppiumConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * RunHistoryStore 검증 - 임시 이력 파일 사용 (디바이스 불필요)
+ */
+public class RunHistoryStoreTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private Path file;
+
+    @Before
+    public void setUp() {
+        file = tmp.getRoot().toPath().resolve("steps.csv");
+        RunHistoryStore.useFile(file);
+        RunHistoryStore.setDevice("emulator-5554");
+    }
+
+    @After
+    public void tearDown() {
+        RunHistoryStore.useFile(Path.of("build", "reports", "history", "steps.csv"));
+        RunHistoryStore.setDevice("default");
+    }
+
+    @Test
+    public void percentilesUseSuccessfulSamplesOnly() {
+        for (int i = 1; i <= 100; i++) {
+            RunHistoryStore.record("LogoutFlow.step3", i * 10L, true);
+        }
+        RunHistoryStore.record("LogoutFlow.step3", 30_000, false);
+
+        RunHistoryStore.StepStats s = RunHistoryStore.stats("LogoutFlow.step3");
+        int window = AppiumConfig.HISTORY_WINDOW_SIZE;
+        assertEquals(window, s.samples);
+        assertEquals(1, s.failures);
+        // 최근 window건(510~1000ms)만 유지
+        assertEquals(1000 - (window - (int) Math.ceil(window * 0.5)) * 10L, s.p50);
+        assertEquals(1000, s.p99);
+    }
+
+    @Test
+    public void timeoutShrinksOnlyWithEnoughHistory() {
+        String step = "LogoutFlow.step5";
+        for (int i = 0; i < AppiumConfig.HISTORY_MIN_SAMPLES - 1; i++) {
+            RunHistoryStore.record(step, 2_000, true);
+        }
+        assertEquals("이력 부족 시 설정값 유지", 10, RunHistoryStore.timeoutSec(step, 10));
+
+        RunHistoryStore.record(step, 4_000, true);
+        // p99 4초 × 1.5 = 6초
+        assertEquals(6, RunHistoryStore.timeoutSec(step, 10));
+        assertEquals("설정값보다 길어지지 않음", 5, RunHistoryStore.timeoutSec(step, 5));
+    }
+
+    @Test
+    public void failureRestoresConfiguredTimeoutUntilNextSuccess() {
+        String step = "LogoutFlow.step6";
+        for (int i = 0; i < AppiumConfig.HISTORY_MIN_SAMPLES; i++) {
+            RunHistoryStore.record(step, 2_000, true);
+        }
+        assertEquals(3, RunHistoryStore.timeoutSec(step, 30));
+
+        // 단축된 타임아웃(3초)으로 실패 → 다음 실행은 설정값
+        RunHistoryStore.record(step, 3_000, false);
+        assertEquals(30, RunHistoryStore.timeoutSec(step, 30));
+
+        // 설정값으로 느린 성공이 기록되면 다시 이력 기반 (p99 반영)
+        RunHistoryStore.record(step, 12_000, true);
+        assertEquals(18, RunHistoryStore.timeoutSec(step, 30));
+
+        // 파일에서 다시 로드해도 마지막 결과 유지
+        RunHistoryStore.record(step, 18_000, false);
+        RunHistoryStore.useFile(file);
+        assertEquals(30, RunHistoryStore.timeoutSec(step, 30));
+    }
+
+    @Test
+    public void timeoutHasLowerBound() {
+        String step = "LoginFlow.tapGoogleLoginButton";
+        for (int i = 0; i < AppiumConfig.HISTORY_MIN_SAMPLES; i++) {
+            RunHistoryStore.record(step, 100, true);
+        }
+        assertEquals(AppiumConfig.HISTORY_MIN_TIMEOUT_SEC, RunHistoryStore.timeoutSec(step, 30));
+    }
+
+    @Test
+    public void historyIsPersistedAndKeptPerDevice() {
+        RunHistoryStore.timed("FirstLaunchFlow.handleTermsAgreement", () -> true);
+        RunHistoryStore.record("FirstLaunchFlow.waitForDownloadCompletion", 120_000, true);
+
+        // 파일에서 다시 로드
+        RunHistoryStore.useFile(file);
+        assertEquals(120_000, RunHistoryStore.percentileMs("FirstLaunchFlow.waitForDownloadCompletion", 50, -1));
+        assertNotNull(RunHistoryStore.stats("FirstLaunchFlow.handleTermsAgreement"));
+
+        RunHistoryStore.setDevice("R3CT30ABCDE");
+        assertNull(RunHistoryStore.stats("FirstLaunchFlow.handleTermsAgreement"));
+        assertEquals(-1, RunHistoryStore.percentileMs("FirstLaunchFlow.waitForDownloadCompletion", 50, -1));
+    }
+
+    @Test
+    public void failedStepIsRecordedAsFailure() {
+        assertFalse(RunHistoryStore.timed("LogoutFlow.step9", () -> false));
+        assertNull(RunHistoryStore.stats("LogoutFlow.step9"));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.appium_android_automation.reporting;
+
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
+import com.google.api.services.sheets.v4.model.ValueRange;
+
+import java.util.List;
+
+/**
+ * 여러 셀 범위를 한 번의 HTTP 호출로 기록하는 Sheets 전송 계층
+ * - 실제 구현: values().batchUpdate
+ * - 테스트: 로컬 가짜 구현으로 교체 (네트워크 불필요)
+ */
+@FunctionalInterface
+public interface SheetsTransport {
+
+    void batchUpdate(String spreadsheetId, List<ValueRange> data) throws Exception;
+
+    // Google Sheets API 기반 구현
+    static SheetsTransport of(Sheets sheets) {
+        return (spreadsheetId, data) -> sheets.spreadsheets().values()
+                .batchUpdate(spreadsheetId, new BatchUpdateValuesRequest()
+                        .setValueInputOption("RAW")
+                        .setData(data))
+                .execute();
+    }
+}
@@ -3,50 +3,72 @@ package com.example.appium_android_automation.testcase;
 import com.example.appium_android_automation.flow.FirstLaunchFlow;
 import com.example.appium_android_automation.flow.LoginFlow;
 import com.example.appium_android_automation.flow.LogoutFlow;
+import com.example.appium_android_automation.flow.ScreenNavigator;
+import com.example.appium_android_automation.flow.ScreenState;
 import com.example.appium_android_automation.flow.StartAppFlow;
 import com.example.appium_android_automation.infra.AppiumConfig;
 import com.example.appium_android_automation.infra.ScreenHelper;
 import com.example.appium_android_automation.infra.TouchActionHelper;
 import com.example.appium_android_automation.main.BaseTestCase;
+import com.example.appium_android_automation.main.DependencyOrderRunner;
+import com.example.appium_android_automation.main.DependsOn;
 import com.example.appium_android_automation.marker.ImageAssert;
-import org.junit.FixMethodOrder;
+import com.example.appium_android_automation.reporting.Metrics;
 import org.junit.Test;
-import org.junit.runners.MethodSorters;
+import org.junit.runner.RunWith;
 import org.openqa.selenium.Point;
 
 import static org.junit.Assert.*;
 
 import io.appium.java_client.appmanagement.ApplicationState;
 
-@FixMethodOrder(MethodSorters.NAME_ASCENDING)  // TC01, TC02 순서 보장
+// 실행 순서 = @DependsOn 그래프 (체인: TC01 → TC02/TC03 → TC04, 나머지는 독립)
+// 선행 TC 실패 시 후행 TC는 실행 없이 Block, 병렬 실행은 ParallelSuiteRunner
+// @DependsOn은 이전 TC가 남긴 상태가 꼭 필요할 때만 선언 (ScreenNavigator로 스스로 전제 화면에 갈 수 있으면 독립)
+@RunWith(DependencyOrderRunner.class)
 
 public class SmokeTestSuite extends BaseTestCase {
     /**
      * TC07: 로그아웃 플로우
      *
-     * 전제조건: TC06 완료 (로그인 상태)
+     * 선행: 없음 (로그인 세션이 없으면 ScreenNavigator가 재로그인 경로로 로비까지 이동)
+     * 전제조건: 로비 화면 (로그인 상태) - 현재 화면에서 최단 경로로 이동
      */
     @Test
     public void TC07_LogoutFlow() throws Exception {
         System.out.println("=== TC07: 로그아웃 플로우 ===");
 
+        if (!StartAppFlow.run(driver) || !new ScreenNavigator(driver).goTo(ScreenState.LOBBY)) {
+            recordBlock(7, "LogoutFlow", "로비 화면 진입 불가");
+            fail("TC07 실행 불가: 로비 화면으로 이동하지 못함");
+            return;
+        }
+
         LogoutFlow logoutFlow = new LogoutFlow(driver);
         boolean success = logoutFlow.run();
 
         recordResult(7, "LogoutFlow", success);
-        assertTrue("로그아웃 실패. 9단계 중 실패 지점을 로그에서 확인하세요.", success);
+        assertTrue("로그아웃 실패. 실패 단계를 로그에서 확인하세요.", success);
 
         System.out.println("✅ TC07 완료: 로그아웃 성공");
     }
     /**
      * TC06: 구글 계정 최초 로그인
      *
-     * 전제조건: TC05 완료 (이용약관 동의 후 타이틀 화면)
+     * 선행: 없음 (리소스가 이미 받아진 디바이스면 TC05 없이도 실행 가능)
+     * 전제조건: 타이틀 화면 (이용약관 동의 후, 로그인 전) - 현재 화면에서 최단 경로로 이동
+     *           이동 불가(리소스 미다운로드 등)면 Block 기록
      */
-    //@Test
+    @Test
     public void TC06_GoogleFirstLogin() throws Exception {
         System.out.println("=== TC06: 구글 계정 최초 로그인 ===");
 
+        if (!StartAppFlow.run(driver) || !new ScreenNavigator(driver).goTo(ScreenState.TITLE)) {
+            recordBlock(6, "GoogleFirstLogin", "타이틀 화면 진입 불가");
+            fail("TC06 실행 불가: 타이틀 화면으로 이동하지 못함");
+            return;
+        }
+
         // 로그인 플로우 실행
         LoginFlow loginFlow = new LoginFlow(driver);
         boolean success = loginFlow.runFirstLogin(AppiumConfig.TARGET_GOOGLE_EMAIL);
@@ -58,7 +80,7 @@ public class SmokeTestSuite extends BaseTestCase {
         System.out.println("✅ TC06 완료: 구글 로그인 성공");
     }
 
-    //@Test
+    @Test
     public void TC05_FirstLaunchAndSetup() throws Exception {
         System.out.println("=== TC05: 최초 앱 실행 및 초기 설정 ===");
 
@@ -70,7 +92,7 @@ public class SmokeTestSuite extends BaseTestCase {
         assertTrue("FirstLaunchFlow 실행 실패", success);
     }
 
-    //@Test
+    @Test
     public void TC01_App_start_verification() throws Exception {
         System.out.println("=== TC01: 앱 실행 검증 시작 ===");
 
@@ -89,7 +111,8 @@ public class SmokeTestSuite extends BaseTestCase {
         System.out.println("=== TC01 완료 ===\n");
     }
 
-    //@Test
+    @Test
+    @DependsOn("TC01_App_start_verification")
     public void TC02_Main_screen_logo_verification() throws Exception {
         System.out.println("=== TC02: 메인 화면 로고 검증 시작 ===");
 
@@ -123,7 +146,8 @@ public class SmokeTestSuite extends BaseTestCase {
         System.out.println("=== TC02 완료 ===\n");
     }
 
-    //@Test
+    @Test
+    @DependsOn("TC01_App_start_verification")
     public void TC03_game_start_after_drag() throws Exception {
         System.out.println("=== TC03: 드래그 이후 게임시작 검증 시작 ===");
 
@@ -137,14 +161,11 @@ public class SmokeTestSuite extends BaseTestCase {
             return;
         }
 
-        boolean onMainScreen = ImageAssert.waitUntilImageVisible(
-                driver,
-                AppiumConfig.TARGET_LOGO_RESOURCE,
-                10
-        );
+        // 메인 로고 화면으로 이동 (이미 메인 화면이면 판별 1회로 통과)
+        boolean onMainScreen = new ScreenNavigator(driver).goTo(ScreenState.MAIN);
 
         if (!onMainScreen) {
-            recordBlock(3, "CheekDragStart", "메인 화면 미진입 (TC02 선행 필요)");
+            recordBlock(3, "CheekDragStart", "메인 화면 진입 불가");
             fail("TC03 실행 불가: 메인 화면이 아님");
             return;
         }
@@ -162,7 +183,7 @@ public class SmokeTestSuite extends BaseTestCase {
 
         // [Step 4] 게임 시작 로딩 대기
         System.out.println("[4/5] 게임 시작 로딩 대기 중...");
-        Thread.sleep(3000);
+        Metrics.sleep("sleep.fixed", 3000);
 
         // [Step 5] 게임 시작 확인
         System.out.println("[5/5] 게임 시작 확인 중...");
@@ -181,7 +202,8 @@ public class SmokeTestSuite extends BaseTestCase {
         System.out.println("=== TC03 완료 ===\n");
     }
 
-    //@Test
+    @Test
+    @DependsOn("TC03_game_start_after_drag")
     public void TC04_game_exit_verification() throws Exception {
         System.out.println("=== TC04: 게임 종료 검증 시작 ===");
 
@@ -202,7 +224,7 @@ public class SmokeTestSuite extends BaseTestCase {
         System.out.println("→ Back 버튼 입력 완료 ✓");
 
         // 팝업 애니메이션 대기
-        Thread.sleep(1500);
+        Metrics.sleep("sleep.fixed", 1500);
 
         // [Step 3] 종료 버튼 이미지 탐지 및 좌표 추출
         System.out.println("[3/5] 종료 확인 팝업의 '종료' 버튼 탐지 중...");
@@ -226,7 +248,7 @@ public class SmokeTestSuite extends BaseTestCase {
         System.out.println("→ 터치 완료 ✓");
 
         // 앱 종료 처리 대기
-        Thread.sleep(AppiumConfig.EXIT_VERIFICATION_WAIT_MS);
+        Metrics.sleep("sleep.fixed", AppiumConfig.EXIT_VERIFICATION_WAIT_MS);
 
         // [Step 5] 앱 종료 검증
         System.out.println("[5/5] 앱 종료 확인 중...");